@@ -0,0 +1,65 @@
+package com.demo.flightbooking.benchmarks;
+
+/**
+ * Generates deterministic passenger test data in the same shape as the files under testdata/.
+ */
+final class BenchmarkData {
+
+    private static final String CSV_HEADER =
+            "origin,destination,firstName,lastName,address,city,state,zipCode,cardType,cardNumber,month,year,cardName,age,gender";
+
+    private static final String[] ORIGINS = {"Paris", "Philadelphia", "Boston", "Portland", "San Diego", "Mexico City"};
+    private static final String[] DESTINATIONS = {"Buenos Aires", "Rome", "London", "Berlin", "New York", "Dublin"};
+    private static final String[] CARD_TYPES = {"Visa", "American Express", "Diner's Club"};
+
+    private BenchmarkData() {
+    }
+
+    static String csv(int rows) {
+        StringBuilder sb = new StringBuilder(rows * 150);
+        sb.append(CSV_HEADER).append('\n');
+        for (int i = 0; i < rows; i++) {
+            sb.append(ORIGINS[i % ORIGINS.length]).append(',')
+              .append(DESTINATIONS[i % DESTINATIONS.length]).append(',')
+              .append("First").append(i).append(',')
+              .append("Last").append(i).append(',')
+              .append(i).append(" Main St,")
+              .append("Springfield,")
+              .append("IL,")
+              .append(10000 + i % 90000).append(',')
+              .append(CARD_TYPES[i % CARD_TYPES.length]).append(',')
+              .append(4111111111111111L + i).append(',')
+              .append(String.format("%02d", i % 12 + 1)).append(',')
+              .append(2027 + i % 5).append(',')
+              .append("First").append(i).append(" Last").append(i).append(',')
+              .append(18 + i % 60).append(',')
+              .append(i % 2 == 0 ? "Female" : "Male").append('\n');
+        }
+        return sb.toString();
+    }
+
+    static String json(int rows) {
+        StringBuilder sb = new StringBuilder(rows * 350);
+        sb.append('[');
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"origin\":\"").append(ORIGINS[i % ORIGINS.length])
+              .append("\",\"destination\":\"").append(DESTINATIONS[i % DESTINATIONS.length])
+              .append("\",\"firstName\":\"First").append(i)
+              .append("\",\"lastName\":\"Last").append(i)
+              .append("\",\"address\":\"").append(i).append(" Main St")
+              .append("\",\"city\":\"Springfield\",\"state\":\"IL\",\"zipCode\":\"").append(10000 + i % 90000)
+              .append("\",\"cardType\":\"").append(CARD_TYPES[i % CARD_TYPES.length])
+              .append("\",\"cardNumber\":\"").append(4111111111111111L + i)
+              .append("\",\"month\":\"").append(String.format("%02d", i % 12 + 1))
+              .append("\",\"year\":\"").append(2027 + i % 5)
+              .append("\",\"cardName\":\"First").append(i).append(" Last").append(i)
+              .append("\",\"age\":").append(18 + i % 60)
+              .append(",\"gender\":\"").append(i % 2 == 0 ? "Female" : "Male").append("\"}");
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.demo.flightbooking.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.demo.flightbooking.utils.ConfigReader;
+
+/**
+ * Measures configuration lookups as they happen on the hot path (page constructors, getDriver()),
+ * with several threads reading concurrently the way parallel tests do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ConfigReaderBenchmark {
+
+    @Benchmark
+    public String getProperty() {
+        return ConfigReader.getProperty("browser.headless");
+    }
+
+    @Benchmark
+    public int getPropertyAsInt() {
+        return ConfigReader.getPropertyAsInt("test.timeout");
+    }
+
+    @Benchmark
+    public int configSnapshot() {
+        return ConfigReader.config().timeoutSeconds();
+    }
+}
@@ -0,0 +1,58 @@
+package com.demo.flightbooking.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.utils.CsvDataProvider;
+import com.demo.flightbooking.utils.JsonDataProvider;
+
+/**
+ * Measures how long the CSV and JSON data providers take to turn raw test data into Passenger records.
+ * The content is generated in memory so that file-system caching does not skew the numbers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class DataProviderBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private String csv;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void generateContent() {
+        csv = BenchmarkData.csv(rows);
+        json = BenchmarkData.json(rows);
+    }
+
+    @Benchmark
+    public List<Passenger> parseCsv() throws IOException {
+        return CsvDataProvider.parse(new StringReader(csv));
+    }
+
+    @Benchmark
+    public Passenger[] parseJson() {
+        return JsonDataProvider.parse(new StringReader(json));
+    }
+}
@@ -0,0 +1,50 @@
+package com.demo.flightbooking.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import com.demo.flightbooking.utils.EventLog;
+
+/**
+ * Compares the cost of a disabled per-element log call made the old way (an INFO/DEBUG call with
+ * eagerly built arguments) with a disabled {@link EventLog} event.
+ * Run with {@code -prof gc} to see the allocation rate; the event path should allocate nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog.level.framework=info")
+@State(Scope.Benchmark)
+public class EventLogBenchmark {
+
+    private static final Logger logger = LogManager.getLogger("com.demo.flightbooking.benchmarks.EventLogBenchmark");
+    private static final EventLog.Event KEYS_SENT = EventLog.forClass(EventLogBenchmark.class)
+            .event(Level.DEBUG, "element.keys", "Sent keys '{}' to element: {}");
+
+    private final By locator = By.id("inputName");
+    private final String text = "John Smith";
+
+    @Benchmark
+    public void eagerMessage() {
+        logger.debug("Sent keys '" + text + "' to element: " + locator);
+    }
+
+    @Benchmark
+    public void eventDisabled() {
+        KEYS_SENT.log(text, locator);
+    }
+}
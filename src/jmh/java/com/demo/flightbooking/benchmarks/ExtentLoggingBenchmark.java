@@ -0,0 +1,45 @@
+package com.demo.flightbooking.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+
+/**
+ * Measures the throughput of logging steps into an ExtentTest, as TestListener and the tests do
+ * for every event. A fresh report is created per iteration so the in-memory log list stays bounded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExtentLoggingBenchmark {
+
+    private ExtentTest test;
+
+    @Setup(Level.Iteration)
+    public void createTest() {
+        ExtentReports reports = new ExtentReports();
+        test = reports.createTest("benchmarkTest - CHROME");
+    }
+
+    @Benchmark
+    public ExtentTest logInfo() {
+        return test.log(Status.INFO, "Navigated to: https://blazedemo.com/");
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.flightbooking.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import com.demo.flightbooking.utils.ScreenshotUtils;
+
+/**
+ * Measures the framework's own share of screenshot capture: file naming and copying the
+ * image into reports/screenshots. The browser is replaced by a stub that hands back a
+ * pre-rendered PNG, so no WebDriver round trip is included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScreenshotUtilsBenchmark {
+
+    private static final int SCREENSHOT_BYTES = 200 * 1024; // typical 1920x1080 PNG
+
+    private File sourceImage;
+    private WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void createStubDriver() throws IOException {
+        sourceImage = File.createTempFile("benchmark-screenshot", ".png");
+        Files.write(sourceImage.toPath(), new byte[SCREENSHOT_BYTES]);
+        driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, TakesScreenshot.class},
+                (proxy, method, args) -> {
+                    if ("getScreenshotAs".equals(method.getName()) && args[0] == OutputType.FILE) {
+                        return sourceImage;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanScreenshots() throws IOException {
+        FileUtils.cleanDirectory(new File("reports/screenshots"));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSourceImage() {
+        sourceImage.delete();
+    }
+
+    @Benchmark
+    public String captureScreenshot() {
+        return ScreenshotUtils.captureScreenshot(driver, "benchmarkTest");
+    }
+}
@@ -0,0 +1,33 @@
+package com.demo.flightbooking.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the MDC churn DriverManager causes: the suite/browser keys are written on every
+ * driver creation and the whole map is cleared again on every quit.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ThreadContextBenchmark {
+
+    @Benchmark
+    public void putAndClear() {
+        ThreadContext.put("suite", "REGRESSION");
+        ThreadContext.put("browser", "CHROME");
+        ThreadContext.clearMap();
+    }
+}
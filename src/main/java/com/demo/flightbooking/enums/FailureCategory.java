@@ -0,0 +1,21 @@
+package com.demo.flightbooking.enums;
+
+/**
+ * An enumeration of the broad causes a test can fail for.
+ * The category decides whether a failure is worth retrying and how:
+ * infrastructure and timing problems are usually transient, while assertion
+ * failures point at a real product defect and broken locators at a page object
+ * that no longer matches the page, so neither should be re-run.
+ */
+public enum FailureCategory {
+    /** Session creation, Grid/browser connectivity or network problems. */
+    INFRA,
+    /** Waits timing out, stale or intercepted elements. */
+    TIMING,
+    /** A test assertion did not hold. */
+    ASSERTION,
+    /** An element lookup failed outright, outside any wait: a broken or outdated locator. */
+    LOCATOR,
+    /** Anything that could not be classified. */
+    UNKNOWN;
+}
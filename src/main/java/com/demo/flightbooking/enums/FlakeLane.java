@@ -0,0 +1,14 @@
+package com.demo.flightbooking.enums;
+
+/**
+ * Which data rows a run executes, depending on whether they are quarantined as flaky
+ * ({@code flake.lane} in config.properties).
+ */
+public enum FlakeLane {
+    /** Everything except quarantined rows (the default). */
+    MAIN,
+    /** Only quarantined rows. */
+    QUARANTINE,
+    /** Every row; quarantine is ignored. */
+    ALL;
+}
@@ -0,0 +1,13 @@
+package com.demo.flightbooking.enums;
+
+/**
+ * What pre-flight data validation does with invalid data rows ({@code data.validation.mode} in config.properties).
+ */
+public enum ValidationMode {
+    /** Invalid rows are not run (the default). */
+    DROP,
+    /** Invalid rows are logged but still run. */
+    FLAG,
+    /** Rows are not validated. */
+    OFF;
+}
@@ -0,0 +1,44 @@
+package com.demo.flightbooking.factory;
+
+import java.io.IOException;
+import java.net.URL;
+
+import com.demo.flightbooking.enums.BrowserType;
+
+/**
+ * Starts and stops standalone browser containers for the {@link com.demo.flightbooking.utils.BrowserPool}.
+ * Each container runs one browser and accepts one WebDriver session at a time, directly on its own
+ * port, so sessions need no hub in between.
+ * <p>
+ * The default implementation talks to the local Docker daemon ({@link DockerContainerProvider}).
+ * Any other implementation with a public no-argument constructor can be selected with
+ * {@code browser.pool.provider=<fully qualified class name>}, e.g. a fake for testing the pool without Docker.
+ */
+public interface BrowserContainerProvider {
+
+    /**
+     * A running browser container.
+     *
+     * @param id           Provider-specific container id.
+     * @param browser      The browser the container runs.
+     * @param webDriverUrl The URL to create RemoteWebDriver sessions against.
+     */
+    record BrowserContainer(String id, BrowserType browser, URL webDriverUrl) {
+    }
+
+    /**
+     * Starts a new container and returns once it accepts WebDriver sessions.
+     *
+     * @param browser The browser to run.
+     * @return The ready container.
+     * @throws IOException if the container could not be started or did not become ready in time.
+     */
+    BrowserContainer start(BrowserType browser) throws IOException;
+
+    /**
+     * Stops and removes a container. Must not throw; failures are only logged.
+     *
+     * @param container The container to stop.
+     */
+    void stop(BrowserContainer container);
+}
@@ -38,8 +38,8 @@ public class BrowserOptionsFactory {
 //        isHeadless = Boolean.parseBoolean(ConfigReader.getProperty("browser.headless"));
         logger.info("Headless mode for {}: {}", browserType, isHeadless);
         
-        // ✅ Read the grid configuration setting
-        boolean useGrid = Boolean.parseBoolean(ConfigReader.getProperty("selenium.grid.enabled"));
+        // ✅ Read the grid configuration setting (pooled containers are remote too)
+        boolean useGrid = ConfigReader.config().gridEnabled() || ConfigReader.config().browserPoolEnabled();
         
         switch (browserType) {
             case CHROME:
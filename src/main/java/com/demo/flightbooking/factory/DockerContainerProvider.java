@@ -0,0 +1,285 @@
+package com.demo.flightbooking.factory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.net.UnixDomainSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.demo.flightbooking.enums.BrowserType;
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.FrameworkConfig;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Runs Selenium standalone browser containers through the Docker Engine API.
+ * <p>
+ * The daemon is reached at {@code DOCKER_HOST} (or {@code browser.pool.docker.host}), either a
+ * {@code unix://} socket or a {@code tcp://host:port} endpoint, using plain HTTP/1.0 requests so no Docker
+ * client library is needed. A call fails when the daemon sends nothing for
+ * {@code browser.pool.docker.read.timeout.seconds}, so a hung daemon cannot block a test forever.
+ * Each container publishes port 4444 on a random host port, is labelled
+ * {@code flightbooking.pool=true} and is started with AutoRemove, so stopping it also removes it.
+ * Missing images are pulled on first use.
+ */
+public class DockerContainerProvider implements BrowserContainerProvider {
+
+    private static final Logger logger = LogManager.getLogger(DockerContainerProvider.class);
+    private static final String API = "/v1.41";
+    private static final String WEBDRIVER_PORT = "4444/tcp";
+
+    private final String dockerHost;
+    private final String containerHost;
+    private final Duration startTimeout;
+    private final int readTimeoutMillis;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    public DockerContainerProvider() {
+        String configured = System.getenv("DOCKER_HOST");
+        if (configured == null || configured.isBlank()) {
+            configured = ConfigReader.getProperty("browser.pool.docker.host");
+        }
+        this.dockerHost = configured == null || configured.isBlank() ? "unix:///var/run/docker.sock" : configured.trim();
+        // Published ports are reachable on localhost for a local daemon, or on the daemon's host otherwise
+        this.containerHost = dockerHost.startsWith("tcp://") ? URI.create(dockerHost.replace("tcp://", "http://")).getHost() : "localhost";
+        FrameworkConfig.Pool config = ConfigReader.config().pool();
+        this.startTimeout = Duration.ofSeconds(config.startTimeoutSeconds());
+        this.readTimeoutMillis = (int) Duration.ofSeconds(config.dockerReadTimeoutSeconds()).toMillis();
+    }
+
+    @Override
+    public BrowserContainer start(BrowserType browser) throws IOException {
+        String image = ConfigReader.getProperty("browser.pool.image." + browser.name().toLowerCase());
+        if (image == null || image.isBlank()) {
+            throw new IOException("No container image configured for " + browser + " (browser.pool.image."
+                    + browser.name().toLowerCase() + ")");
+        }
+
+        Response created = call("POST", API + "/containers/create", createBody(image.trim()));
+        if (created.status == 404) {
+            pull(image.trim());
+            created = call("POST", API + "/containers/create", createBody(image.trim()));
+        }
+        created.expect(201, "create container from " + image);
+        String id = JsonParser.parseString(created.body).getAsJsonObject().get("Id").getAsString();
+
+        try {
+            call("POST", API + "/containers/" + id + "/start", null).expect(204, "start container " + id);
+            JsonObject ports = JsonParser.parseString(call("GET", API + "/containers/" + id + "/json", null).body)
+                    .getAsJsonObject().getAsJsonObject("NetworkSettings").getAsJsonObject("Ports");
+            String hostPort = ports.getAsJsonArray(WEBDRIVER_PORT).get(0).getAsJsonObject().get("HostPort").getAsString();
+            URL url = URI.create("http://" + containerHost + ":" + hostPort).toURL();
+
+            BrowserContainer container = new BrowserContainer(id.substring(0, 12), browser, url);
+            awaitReady(container);
+            logger.info("🐳 Started {} container {} at {}", browser, container.id(), url);
+            return container;
+        } catch (IOException | RuntimeException e) {
+            remove(id);
+            throw e instanceof IOException io ? io : new IOException("Failed to start " + browser + " container", e);
+        }
+    }
+
+    @Override
+    public void stop(BrowserContainer container) {
+        try {
+            Response stopped = call("POST", API + "/containers/" + container.id() + "/stop?t=5", null);
+            if (stopped.status != 204 && stopped.status != 304 && stopped.status != 404) {
+                remove(container.id());
+            }
+            logger.info("🐳 Stopped {} container {}", container.browser(), container.id());
+        } catch (IOException e) {
+            logger.warn("Failed to stop container {}: {}", container.id(), e.getMessage());
+        }
+    }
+
+    private String createBody(String image) {
+        JsonObject labels = new JsonObject();
+        labels.addProperty("flightbooking.pool", "true");
+
+        JsonArray env = new JsonArray();
+        env.add("SE_NODE_MAX_SESSIONS=1");
+        env.add("SE_NODE_OVERRIDE_MAX_SESSIONS=true");
+
+        JsonObject exposed = new JsonObject();
+        exposed.add(WEBDRIVER_PORT, new JsonObject());
+
+        JsonObject binding = new JsonObject();
+        binding.addProperty("HostIp", dockerHost.startsWith("unix://") ? "127.0.0.1" : "0.0.0.0");
+        binding.addProperty("HostPort", ""); // random free port
+        JsonArray bindings = new JsonArray();
+        bindings.add(binding);
+        JsonObject portBindings = new JsonObject();
+        portBindings.add(WEBDRIVER_PORT, bindings);
+
+        JsonObject hostConfig = new JsonObject();
+        hostConfig.addProperty("AutoRemove", true);
+        hostConfig.addProperty("ShmSize", 2L * 1024 * 1024 * 1024); // prevents browser crashes, as in docker-compose-grid.yml
+        hostConfig.add("PortBindings", portBindings);
+
+        JsonObject body = new JsonObject();
+        body.addProperty("Image", image);
+        body.add("Labels", labels);
+        body.add("Env", env);
+        body.add("ExposedPorts", exposed);
+        body.add("HostConfig", hostConfig);
+        return body.toString();
+    }
+
+    private void pull(String image) throws IOException {
+        int colon = image.lastIndexOf(':');
+        boolean tagged = colon > image.lastIndexOf('/');
+        String name = tagged ? image.substring(0, colon) : image;
+        String tag = tagged ? image.substring(colon + 1) : "latest";
+        logger.info("🐳 Pulling image {}:{} ...", name, tag);
+        call("POST", API + "/images/create?fromImage=" + URLEncoder.encode(name, StandardCharsets.UTF_8)
+                + "&tag=" + URLEncoder.encode(tag, StandardCharsets.UTF_8), null).expect(200, "pull image " + image);
+    }
+
+    private void remove(String id) {
+        try {
+            call("DELETE", API + "/containers/" + id + "?force=true", null);
+        } catch (IOException e) {
+            logger.warn("Failed to remove container {}: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * Polls the container's Selenium status endpoint until it reports ready.
+     */
+    private void awaitReady(BrowserContainer container) throws IOException {
+        URI status = URI.create(container.webDriverUrl() + "/status");
+        long deadline = System.nanoTime() + startTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = http.send(
+                        HttpRequest.newBuilder(status).timeout(Duration.ofSeconds(2)).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && JsonParser.parseString(response.body()).getAsJsonObject()
+                        .getAsJsonObject("value").get("ready").getAsBoolean()) {
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                // Not accepting connections yet
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for container " + container.id(), e);
+            }
+            try {
+                Thread.sleep(250);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for container " + container.id(), e);
+            }
+        }
+        throw new IOException("Container " + container.id() + " did not become ready within " + startTimeout.toSeconds() + "s");
+    }
+
+    /**
+     * Sends one HTTP/1.0 request to the daemon and reads the whole response; the daemon closes the
+     * connection after responding, so neither keep-alive nor chunked decoding is needed.
+     */
+    private Response call(String method, String path, String jsonBody) throws IOException {
+        byte[] body = jsonBody == null ? new byte[0] : jsonBody.getBytes(StandardCharsets.UTF_8);
+        String head = method + " " + path + " HTTP/1.0\r\n"
+                + "Host: docker\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + body.length + "\r\n\r\n";
+
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        if (dockerHost.startsWith("unix://")) {
+            try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(dockerHost.substring("unix://".length())))) {
+                OutputStream out = Channels.newOutputStream(channel);
+                out.write(head.getBytes(StandardCharsets.US_ASCII));
+                out.write(body);
+                out.flush();
+                readWithTimeout(channel, received, method + " " + path);
+            }
+        } else {
+            URI uri = URI.create(dockerHost.replace("tcp://", "http://"));
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort() > 0 ? uri.getPort() : 2375), 5000);
+                socket.setSoTimeout(readTimeoutMillis);
+                exchange(socket.getOutputStream(), socket.getInputStream(), head, body, received);
+            } catch (SocketTimeoutException e) {
+                throw timedOut(method + " " + path);
+            }
+        }
+
+        String response = received.toString(StandardCharsets.UTF_8);
+        int split = response.indexOf("\r\n\r\n");
+        if (!response.startsWith("HTTP/") || split < 0) {
+            throw new IOException("Malformed response from Docker daemon for " + method + " " + path);
+        }
+        int status = Integer.parseInt(response.substring(response.indexOf(' ') + 1, response.indexOf(' ') + 4));
+        return new Response(method + " " + path, status, response.substring(split + 4));
+    }
+
+    private static void exchange(OutputStream out, InputStream in, String head, byte[] body,
+                                 ByteArrayOutputStream received) throws IOException {
+        out.write(head.getBytes(StandardCharsets.US_ASCII));
+        out.write(body);
+        out.flush();
+        in.transferTo(received);
+    }
+
+    /**
+     * Reads a unix socket until the daemon closes it. Channel streams ignore socket timeouts, so the
+     * channel is read in non-blocking mode and each wait for data is bounded by the read timeout.
+     */
+    private void readWithTimeout(SocketChannel channel, ByteArrayOutputStream received, String request) throws IOException {
+        channel.configureBlocking(false);
+        try (Selector selector = Selector.open()) {
+            channel.register(selector, SelectionKey.OP_READ);
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            while (true) {
+                if (selector.select(readTimeoutMillis) == 0) {
+                    throw timedOut(request);
+                }
+                selector.selectedKeys().clear();
+                int read;
+                while ((read = channel.read(buffer)) > 0) {
+                    received.write(buffer.array(), 0, read);
+                    buffer.clear();
+                }
+                if (read < 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private IOException timedOut(String request) {
+        return new SocketTimeoutException("Docker daemon sent nothing for " + readTimeoutMillis / 1000
+                + "s in response to " + request + " (browser.pool.docker.read.timeout.seconds)");
+    }
+
+    private record Response(String request, int status, String body) {
+        void expect(int expected, String action) throws IOException {
+            if (status != expected) {
+                throw new IOException("Docker failed to " + action + " (HTTP " + status + "): " + body.trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.demo.flightbooking.factory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.net.http.HttpClient.Version;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+import org.openqa.selenium.remote.http.jdk.JdkHttpClient;
+
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.FrameworkConfig;
+import com.demo.flightbooking.utils.SuiteMetrics;
+
+/**
+ * Creates the HTTP clients RemoteWebDriver uses to talk to the Grid or to pooled browser containers.
+ * <p>
+ * Selenium's default factory gives every session its own JDK HTTP client, and with it its own connection
+ * pool, so each new session opens fresh TCP (and TLS) connections. This factory hands every session a thin
+ * client over one shared {@link java.net.http.HttpClient}, so idle keep-alive connections to the same
+ * endpoint are reused across sessions. Connect and read timeouts and the protocol ({@code HTTP_1_1}, or
+ * {@code HTTP_2}, which multiplexes all sessions over one connection where the server supports it) are set
+ * with the {@code remote.http.*} keys in config.properties. The keep-alive time and pool size apply to every
+ * JDK HTTP client in the JVM and are read once, when the JDK loads its client classes, so they are passed as
+ * JVM flags ({@code -Djdk.httpclient.keepalive.timeout}, {@code -Djdk.httpclient.connectionPoolSize}; see pom.xml).
+ * WebSocket connections (BiDi, CDP) are still opened by Selenium's own client.
+ * <p>
+ * Requests are counted per negotiated protocol version; comparing them with the connections a server
+ * accepted gives the reuse rate (see {@code RemoteTransportBenchmark}).
+ */
+public class RemoteHttpClientFactory implements HttpClient.Factory {
+
+    private static final Logger logger = LogManager.getLogger(RemoteHttpClientFactory.class);
+    // Headers the JDK client sets itself and refuses to take from callers
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private static RemoteHttpClientFactory instance;
+
+    private final java.net.http.HttpClient shared;
+    private final Duration readTimeout;
+    private final HttpClient.Factory webSockets = new JdkHttpClient.Factory();
+
+    RemoteHttpClientFactory(Version version, Duration connectTimeout, Duration readTimeout) {
+        this.readTimeout = readTimeout;
+        this.shared = java.net.http.HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .followRedirects(java.net.http.HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Returns the suite's shared factory, creating it from config.properties on first use.
+     *
+     * @return The factory.
+     */
+    public static synchronized RemoteHttpClientFactory get() {
+        if (instance == null) {
+            FrameworkConfig.RemoteHttp config = ConfigReader.config().remoteHttp();
+            instance = new RemoteHttpClientFactory(config.version(),
+                    Duration.ofSeconds(config.connectTimeoutSeconds()), Duration.ofSeconds(config.readTimeoutSeconds()));
+            logger.info("🔌 Shared WebDriver HTTP client created: {}", instance.shared.version());
+        }
+        return instance;
+    }
+
+    /**
+     * @return true unless {@code remote.http.pooled=false}.
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.config().remoteHttp().pooled();
+    }
+
+    /**
+     * Builds a command executor for a remote session that sends its commands through the shared client.
+     *
+     * @param remoteAddress The Grid or container URL.
+     * @return The executor to create the RemoteWebDriver with.
+     */
+    public CommandExecutor commandExecutor(URL remoteAddress) {
+        return new HttpCommandExecutor(Map.of(), ClientConfig.defaultConfig().baseUrl(remoteAddress).readTimeout(readTimeout), this);
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        SuiteMetrics.WEBDRIVER_HTTP_CLIENTS.inc();
+        return new SharedClient(config);
+    }
+
+    /**
+     * A per-session view of the shared client, bound to one base URL.
+     */
+    private final class SharedClient implements HttpClient {
+        private final ClientConfig config;
+        private final String baseUri;
+        private HttpClient webSocketClient;
+
+        SharedClient(ClientConfig config) {
+            this.config = config;
+            this.baseUri = config.baseUri().toString().replaceAll("/+$", "");
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            try {
+                return toSelenium(shared.send(toJdk(request), java.net.http.HttpResponse.BodyHandlers.ofByteArray()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new IOException("Interrupted while sending " + request.getUri(), e));
+            }
+        }
+
+        // Sends without blocking a thread, unlike the interface's default which wraps execute()
+        @Override
+        public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+            return shared.sendAsync(toJdk(request), java.net.http.HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(this::toSelenium);
+        }
+
+        @Override
+        public synchronized WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            if (webSocketClient == null) {
+                webSocketClient = webSockets.createClient(config);
+            }
+            return webSocketClient.openSocket(request, listener);
+        }
+
+        @Override
+        public synchronized void close() {
+            // The shared client stays open for other sessions; only this session's WebSocket client is closed
+            if (webSocketClient != null) {
+                webSocketClient.close();
+                webSocketClient = null;
+            }
+        }
+
+        private java.net.http.HttpRequest toJdk(HttpRequest request) {
+            String path = request.getUri();
+            StringBuilder uri = new StringBuilder(path.startsWith("http") ? path : baseUri + path);
+            char separator = uri.indexOf("?") < 0 ? '?' : '&';
+            for (String name : request.getQueryParameterNames()) {
+                for (String value : request.getQueryParameters(name)) {
+                    uri.append(separator).append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+                            .append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                    separator = '&';
+                }
+            }
+
+            java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(URI.create(uri.toString()))
+                    .timeout(readTimeout);
+            request.forEachHeader((name, value) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                    builder.header(name, value);
+                }
+            });
+            HttpMethod method = request.getMethod();
+            if (method == HttpMethod.POST || method == HttpMethod.PUT) {
+                builder.method(method.name(), java.net.http.HttpRequest.BodyPublishers.ofByteArray(Contents.bytes(request.getContent())));
+            } else {
+                builder.method(method.name(), java.net.http.HttpRequest.BodyPublishers.noBody());
+            }
+            return builder.build();
+        }
+
+        private HttpResponse toSelenium(java.net.http.HttpResponse<byte[]> response) {
+            SuiteMetrics.WEBDRIVER_HTTP_REQUESTS.inc(response.version().name());
+            HttpResponse converted = new HttpResponse().setStatus(response.statusCode());
+            response.headers().map().forEach((name, values) -> values.forEach(value -> converted.addHeader(name, value)));
+            converted.setContent(Contents.bytes(response.body()));
+            return converted;
+        }
+    }
+}
@@ -20,8 +20,6 @@ public abstract class BasePage {
     protected WebDriverWait wait;
     protected final Logger logger; // Logger for each page object
 
-    private static final int DEFAULT_TIMEOUT = 10; // Default timeout if not specified in config
-    
     /**
      * Constructor for the BasePage.
      * It initializes the WebDriver and WebDriverWait for the page, and it also
@@ -34,14 +32,9 @@ public abstract class BasePage {
         this.driver = driver;
         // Initialize logger with the specific class name of the concrete page object
         this.logger = LogManager.getLogger(this.getClass());
-        // Initialize WebDriverWait using the timeout from config.properties
-        // If "test.timeout" is not found or invalid, it will default to 10 seconds.
-        int timeoutSeconds = ConfigReader.getPropertyAsInt("test.timeout");
-        if (timeoutSeconds <= 0) {
-            timeoutSeconds = DEFAULT_TIMEOUT; // Use default if config value is invalid or not found
-            logger.warn("Invalid or missing 'test.timeout' in config.properties. Using default timeout: {} seconds.", DEFAULT_TIMEOUT);
-        }
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        // Initialize WebDriverWait using the validated timeout from the configuration snapshot
+        // (defaults to 10 seconds if "test.timeout" is not configured).
+        this.wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.config().timeoutSeconds()));
 
         // Initialize PageFactory elements (if using @FindBy annotations)
         // PageFactory.initElements(driver, this); // Uncomment if you plan to use @FindBy
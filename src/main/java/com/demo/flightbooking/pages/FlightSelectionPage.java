@@ -5,8 +5,12 @@ import java.util.Optional;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 
+import com.demo.flightbooking.utils.CompositeWait;
 import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.EventLog;
+import com.demo.flightbooking.utils.JourneyCheckpoints;
 import com.demo.flightbooking.utils.WebDriverUtils;
 
 /**
@@ -23,6 +27,9 @@ public class FlightSelectionPage extends BasePage {
     // Locator for the price cell within a flight row (it's the 6th column: <td>)
     private final By priceCell = By.xpath("./td[6]");
 
+    private static final EventLog.Event PRICE_READ = EventLog.forClass(FlightSelectionPage.class)
+            .debug("flight.price", "Read flight price: {}").sampled(10);
+
     // WebDriverUtils instance for robust interactions
     private final WebDriverUtils webDriverUtils;
 
@@ -32,7 +39,7 @@ public class FlightSelectionPage extends BasePage {
      */
     public FlightSelectionPage(WebDriver driver) {
         super(driver); // Call BasePage constructor
-        this.webDriverUtils = new WebDriverUtils(driver, ConfigReader.getPropertyAsInt("test.timeout"));
+        this.webDriverUtils = new WebDriverUtils(driver, ConfigReader.config().timeoutSeconds());
         logger.info("FlightSelectionPage initialized.");
     }
 
@@ -49,26 +56,36 @@ public class FlightSelectionPage extends BasePage {
 
     /**
      * Clicks the "Choose This Flight" button to select the first available flight.
-     * Uses resilient helpers: wait for page load, ensure rows are present,
-     * then click with JS fallback if intercepted.
+     * Waits for the page load and the button in a single composite wait,
+     * then clicks with JS fallback if intercepted.
      */
     public void clickChooseFlightButton() {
         logger.info("Clicking Choose This Flight button.");
 
-        // ADDED: Ensure the page has fully loaded (document.readyState === 'complete')
-        WebDriverUtils.waitForPageLoad(driver, Duration.ofSeconds(10));
-
-        // ADDED: Optionally wait for results to be listed (at least one row)
-        // If you prefer explicit wait here instead of a util, uncomment below:
-        // new WebDriverWait(driver, Duration.ofSeconds(10))
-        //     .until(ExpectedConditions.numberOfElementsToBeMoreThan(flightRows, 0));
+        // Page loaded (document.readyState === 'complete') and button clickable, checked together in one script per poll
+        WebElement button = CompositeWait.on(driver)
+                .documentReady()
+                .clickable(chooseFlightButton)
+                .until(Duration.ofSeconds(10));
 
-        // ADDED: Resilient click with element-to-be-clickable + JS fallback
-        WebDriverUtils.click(driver, chooseFlightButton, Duration.ofSeconds(10));
+        // Resilient click with JS fallback
+        WebDriverUtils.click(driver, button);
 
         logger.info("Choose Flight button clicked.");
     }
 
+    /**
+     * Saves a checkpoint of the purchase step (the first flight's form and the browser state),
+     * so later tests for the same route can restore it instead of searching again.
+     * Call it before {@link #clickChooseFlightButton()}.
+     *
+     * @param key The checkpoint key, see {@link JourneyCheckpoints#key(String, Object...)}.
+     */
+    public void saveCheckpoint(String key) {
+        WebDriverUtils.waitForPageLoad(driver, Duration.ofSeconds(10));
+        JourneyCheckpoints.capture(driver, key, chooseFlightButton);
+    }
+
     // --- NEW STREAM-BASED DATA PROCESSING METHOD ---
 
     /**
@@ -82,6 +99,7 @@ public class FlightSelectionPage extends BasePage {
         return driver.findElements(flightRows).stream()       // 1. Get a stream of all flight row <tr> WebElements.
             .map(row -> row.findElement(priceCell).getText())  // 2. For each row, find its price cell and get the text (e.g., "$472.56").
             .map(priceText -> priceText.replace("$", ""))     // 3. For each price string, remove the '$' character.
+            .peek(PRICE_READ::log)                             //    Record the price (a sampled DEBUG event, one in ten rows).
             .map(Double::parseDouble)                          // 4. Convert the clean string (e.g., "472.56") into a Double.
             .min(Double::compare);                             // 5. Use the min() terminal operation to find the smallest Double in the stream.
     }
@@ -2,14 +2,13 @@ package com.demo.flightbooking.pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.Select; // Keep Select for direct dropdown interaction if needed for options retrieval
 
 import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.RouteMetadataCache;
+import com.demo.flightbooking.utils.RouteMetadataCache.RouteMetadata;
 import com.demo.flightbooking.utils.WebDriverUtils; // Import WebDriverUtils
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Represents the Home Page of the BlazeDemo application.
@@ -36,22 +35,19 @@ public class HomePage extends BasePage { // Extend BasePage
     public HomePage(WebDriver driver) {
         super(driver); // Call BasePage constructor
         // Initialize WebDriverUtils with the driver and the same timeout from ConfigReader
-        this.webDriverUtils = new WebDriverUtils(driver, ConfigReader.getPropertyAsInt("test.timeout"));
+        this.webDriverUtils = new WebDriverUtils(driver, ConfigReader.config().timeoutSeconds());
         logger.info("HomePage initialized."); // Use the logger from BasePage
     }
 
     /**
-     * Retrieves a list of available departure cities from the dropdown.
+     * Retrieves a list of available departure cities, from the {@link RouteMetadataCache} if it holds
+     * a fresh copy for this environment, otherwise from the dropdown.
      *
      * @return A list of strings representing the available departure cities.
      */
     public List<String> getAvailableDepartCities() {
         logger.debug("Getting available departure cities.");
-        WebElement departFromElement = webDriverUtils.findElement(departFromDropdown); // Use WebDriverUtils
-        Select select = new Select(departFromElement);
-        return select.getOptions().stream()
-                    .map(WebElement::getText)
-                    .collect(Collectors.toList());
+        return routeOptions().departCities();
     }
 
     /**
@@ -66,17 +62,24 @@ public class HomePage extends BasePage { // Extend BasePage
     }
 
     /**
-     * Retrieves a list of available arrival cities from the dropdown.
+     * Retrieves a list of available arrival cities, from the {@link RouteMetadataCache} if it holds
+     * a fresh copy for this environment, otherwise from the dropdown.
      *
      * @return A list of strings representing the available arrival cities.
      */
     public List<String> getAvailableArriveCities() {
         logger.debug("Getting available arrival cities.");
-        WebElement arriveAtElement = webDriverUtils.findElement(arriveAtDropdown); // Use WebDriverUtils
-        Select select = new Select(arriveAtElement);
-        return select.getOptions().stream()
-                    .map(WebElement::getText)
-                    .collect(Collectors.toList());
+        return routeOptions().arriveCities();
+    }
+
+    /**
+     * Returns the cached route options, or reads both dropdowns (all option texts of each in one script
+     * execution) and caches them; options whose hash differs from the cached ones replace them.
+     */
+    private RouteMetadata routeOptions() {
+        return RouteMetadataCache.get().orElseGet(() -> RouteMetadataCache.observe(
+                webDriverUtils.getDropdownOptions(departFromDropdown),
+                webDriverUtils.getDropdownOptions(arriveAtDropdown)));
     }
 
     /**
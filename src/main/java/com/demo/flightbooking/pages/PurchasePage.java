@@ -1,9 +1,12 @@
 package com.demo.flightbooking.pages;
 
 import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.PageStep;
+import com.demo.flightbooking.utils.WebDriverUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.Select;
+import org.openqa.selenium.WebElement;
 
 /**
  * Represents the Purchase Page of the BlazeDemo application.
@@ -26,12 +29,16 @@ public class PurchasePage extends BasePage {
     private final By rememberMeCheckbox = By.id("rememberMe");
     private final By purchaseFlightButton = By.xpath("//input[@value='Purchase Flight']");
 
+    // Elements are located through waits, so a slow page fails as a timing problem and is retried in place
+    private final WebDriverUtils webDriverUtils;
+
     /**
      * Constructor for the PurchasePage.
      * @param driver The WebDriver instance.
      */
     public PurchasePage(WebDriver driver) {
         super(driver);
+        this.webDriverUtils = new WebDriverUtils(driver, ConfigReader.config().timeoutSeconds());
     }
 
     // --- High-Level Service Method ---
@@ -46,74 +53,85 @@ public class PurchasePage extends BasePage {
         // --- CHANGE: From Getters to Record Accessors ---
         // We now use the direct accessor methods provided by the record.
         logger.info("Filling purchase form for passenger: {}", passenger.firstName());
-        enterFirstName(passenger.firstName());
-        enterAddress(passenger.address());
-        enterCity(passenger.city());
-        enterState(passenger.state());
-        enterZipCode(passenger.zipCode());
-        selectCardType(passenger.cardType());
-        enterCardNumber(passenger.cardNumber());
-        enterMonth(passenger.month());
-        enterYear(passenger.year());
-        enterNameOnCard(passenger.cardName());
-        tickRememberMeCheckbox();
+        // Every field is cleared or set to a state, so a timing glitch is retried in place
+        PageStep.run("Fill purchase form", () -> {
+            enterFirstName(passenger.firstName());
+            enterAddress(passenger.address());
+            enterCity(passenger.city());
+            enterState(passenger.state());
+            enterZipCode(passenger.zipCode());
+            selectCardType(passenger.cardType());
+            enterCardNumber(passenger.cardNumber());
+            enterMonth(passenger.month());
+            enterYear(passenger.year());
+            enterNameOnCard(passenger.cardName());
+            tickRememberMeCheckbox();
+        });
     }
 
 
     // --- Low-Level Action Methods ---
 
     public void enterFirstName(String firstName) {
-        driver.findElement(firstNameInput).sendKeys(firstName);
+        enter(firstNameInput, firstName);
     }
 
     public void enterAddress(String address) {
-        driver.findElement(addressInput).sendKeys(address);
+        enter(addressInput, address);
     }
 
     public void enterCity(String city) {
-        driver.findElement(cityInput).sendKeys(city);
+        enter(cityInput, city);
     }
 
     public void enterState(String state) {
-        driver.findElement(stateInput).sendKeys(state);
+        enter(stateInput, state);
     }
 
     public void enterZipCode(String zipCode) {
-        driver.findElement(zipCodeInput).sendKeys(zipCode);
+        enter(zipCodeInput, zipCode);
     }
 
     public void selectCardType(String cardType) {
-        Select select = new Select(driver.findElement(cardTypeSelect));
-        select.selectByVisibleText(cardType);
+        webDriverUtils.selectByVisibleText(cardTypeSelect, cardType);
     }
 
     public void enterCardNumber(String cardNumber) {
-        driver.findElement(creditCardNumberInput).sendKeys(cardNumber);
+        enter(creditCardNumberInput, cardNumber);
     }
 
     public void enterMonth(String month) {
-        driver.findElement(creditCardMonthInput).clear();
-        driver.findElement(creditCardMonthInput).sendKeys(month);
+        enter(creditCardMonthInput, month);
     }
 
     public void enterYear(String year) {
-        driver.findElement(creditCardYearInput).clear();
-        driver.findElement(creditCardYearInput).sendKeys(year);
+        enter(creditCardYearInput, year);
     }
 
     public void enterNameOnCard(String name) {
-        driver.findElement(nameOnCardInput).sendKeys(name);
+        enter(nameOnCardInput, name);
     }
 
     public void tickRememberMeCheckbox() {
-        driver.findElement(rememberMeCheckbox).click();
+        WebElement checkbox = webDriverUtils.findElement(rememberMeCheckbox);
+        if (!checkbox.isSelected()) {
+            checkbox.click();
+        }
     }
 
     /**
      * Clicks the "Purchase Flight" button to submit the form and complete the booking.
+     * A timing failure is retried in place, unless the form was in fact submitted.
      */
     public void clickPurchaseFlightButton() {
         logger.info("Clicking on 'Purchase Flight' button");
-        driver.findElement(purchaseFlightButton).click();
+        PageStep.run("Purchase flight",
+                () -> webDriverUtils.click(purchaseFlightButton),
+                () -> driver.getCurrentUrl().contains("/confirmation.php"));
+    }
+
+    // Clears the field first, so entering a value twice leaves it unchanged
+    private void enter(By field, String value) {
+        webDriverUtils.sendKeys(field, value);
     }
 }
\ No newline at end of file
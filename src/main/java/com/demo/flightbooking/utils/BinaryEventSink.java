@@ -0,0 +1,121 @@
+package com.demo.flightbooking.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Appends {@link EventLog} events to a compact binary file ({@code log.events.file}).
+ * <p>
+ * Layout: the header {@link #MAGIC} and {@link #VERSION}, followed by records.
+ * An event is described once, the first time it is written, by a DEFINE record (event id, name, pattern);
+ * each occurrence is then an EVENT record (event id, epoch millis, thread id, argument count,
+ * arguments as strings). Strings use {@link DataOutputStream#writeUTF(String)} and arguments are
+ * truncated to {@link #MAX_ARG_LENGTH} characters. Read it back with {@link EventLogDecoder}.
+ */
+final class BinaryEventSink {
+
+    private static final Logger logger = LogManager.getLogger(BinaryEventSink.class);
+
+    static final int MAGIC = 0x46424556; // "FBEV"
+    static final short VERSION = 1;
+    static final byte DEFINE = 0;
+    static final byte EVENT = 1;
+    static final int MAX_ARG_LENGTH = 1024;
+
+    /** The sink of {@code log.events.file}, or null when none is configured. */
+    private static final BinaryEventSink configured = open();
+
+    private final DataOutputStream out;
+    private final BitSet defined = new BitSet();
+
+    /**
+     * Starts an event log on the given stream by writing its header.
+     *
+     * @param stream Where the records go.
+     * @throws IOException if the header cannot be written.
+     */
+    BinaryEventSink(OutputStream stream) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+    }
+
+    /**
+     * @return The sink of {@code log.events.file}, or null when none is configured.
+     */
+    static BinaryEventSink configured() {
+        return configured;
+    }
+
+    void write(EventLog.Event event, Object a, Object b, boolean two) {
+        synchronized (out) {
+            try {
+                if (!defined.get(event.id())) {
+                    out.writeByte(DEFINE);
+                    out.writeShort(event.id());
+                    out.writeUTF(event.name());
+                    out.writeUTF(event.pattern());
+                    defined.set(event.id());
+                }
+                out.writeByte(EVENT);
+                out.writeShort(event.id());
+                out.writeLong(System.currentTimeMillis());
+                out.writeLong(Thread.currentThread().threadId());
+                out.writeByte(two ? 2 : 1);
+                writeArg(a);
+                if (two) {
+                    writeArg(b);
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to write event {} to the binary event log: {}", event.name(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes the log.
+     */
+    void close() {
+        synchronized (out) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close the binary event log: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void writeArg(Object arg) throws IOException {
+        String value = String.valueOf(arg);
+        out.writeUTF(value.length() > MAX_ARG_LENGTH ? value.substring(0, MAX_ARG_LENGTH) : value);
+    }
+
+    private static BinaryEventSink open() {
+        String file = ConfigReader.getProperty("log.events.file");
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        try {
+            Path path = Paths.get(file.trim());
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            BinaryEventSink sink = new BinaryEventSink(Files.newOutputStream(path));
+            Runtime.getRuntime().addShutdownHook(new Thread(sink::close, "event-log-close"));
+            logger.info("Binary event log: {} (decode with EventLogDecoder)", path);
+            return sink;
+        } catch (IOException e) {
+            logger.error("❌ Could not open binary event log {}; events will not be recorded", file, e);
+            return null;
+        }
+    }
+}
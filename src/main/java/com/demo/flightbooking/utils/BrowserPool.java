@@ -0,0 +1,285 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.demo.flightbooking.enums.BrowserType;
+import com.demo.flightbooking.factory.BrowserContainerProvider;
+import com.demo.flightbooking.factory.BrowserContainerProvider.BrowserContainer;
+import com.demo.flightbooking.factory.DockerContainerProvider;
+
+/**
+ * An elastic pool of standalone browser containers owned by the test JVM.
+ * <p>
+ * Containers are started on demand when a test asks for a browser and none of that type is idle,
+ * up to {@code browser.pool.max.containers} in total. A released container goes back to the pool and is
+ * handed to the next test for the same browser; when the pool is full and a different browser is
+ * waiting, the longest-idle container is stopped to make room. Containers idle for longer than
+ * {@code browser.pool.idle.timeout.seconds} are stopped in the background, so the pool shrinks as the
+ * queue drains. Every container is stopped when the suite ends (or the JVM exits).
+ */
+public class BrowserPool {
+
+    private static final Logger logger = LogManager.getLogger(BrowserPool.class);
+
+    private static BrowserPool instance;
+
+    private final BrowserContainerProvider provider;
+    private final int maxContainers;
+    private final long idleTimeoutNanos;
+    private final long acquireTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<BrowserType, Deque<Idle>> idle = new EnumMap<>(BrowserType.class);
+    private final List<BrowserContainer> leased = new ArrayList<>();
+    private int total; // idle + leased + starting
+    private boolean closed;
+
+    private final ExecutorService stopper = Executors.newCachedThreadPool(daemon("browser-pool-stop"));
+    private final ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(daemon("browser-pool-reaper"));
+
+    private record Idle(BrowserContainer container, long sinceNanos) {
+    }
+
+    BrowserPool(BrowserContainerProvider provider, int maxContainers, int idleTimeoutSeconds, int acquireTimeoutSeconds) {
+        this.provider = provider;
+        this.maxContainers = Math.max(1, maxContainers);
+        this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(Math.max(1, idleTimeoutSeconds));
+        this.acquireTimeoutNanos = TimeUnit.SECONDS.toNanos(Math.max(1, acquireTimeoutSeconds));
+        for (BrowserType browser : BrowserType.values()) {
+            idle.put(browser, new ArrayDeque<>());
+        }
+        reaper.scheduleWithFixedDelay(this::stopExpired, 5, 5, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "browser-pool-shutdown"));
+    }
+
+    /**
+     * Returns the suite's pool, creating it from config.properties on first use.
+     *
+     * @return The shared pool.
+     */
+    public static synchronized BrowserPool get() {
+        if (instance == null) {
+            FrameworkConfig.Pool config = ConfigReader.config().pool();
+            instance = new BrowserPool(createProvider(config.provider()), config.maxContainers(),
+                    config.idleTimeoutSeconds(), config.acquireTimeoutSeconds());
+            logger.info("🐳 Browser pool created: provider={}, max containers={}",
+                    instance.provider.getClass().getSimpleName(), instance.maxContainers);
+        }
+        return instance;
+    }
+
+    /**
+     * Stops the shared pool if it was ever created.
+     */
+    public static synchronized void shutdownIfStarted() {
+        if (instance != null) {
+            instance.shutdown();
+        }
+    }
+
+    /**
+     * Leases a ready container for the given browser, reusing an idle one or starting a new one.
+     * Blocks while the pool is full.
+     *
+     * @param browser The browser needed.
+     * @return A container that no other thread is using.
+     * @throws IOException          if a new container could not be started.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public BrowserContainer acquire(BrowserType browser) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + acquireTimeoutNanos;
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new IOException("Browser pool is shut down");
+                }
+                Idle reusable = idle.get(browser).pollFirst();
+                if (reusable != null) {
+                    leased.add(reusable.container());
+                    return reusable.container();
+                }
+                if (total < maxContainers) {
+                    total++; // reserve the slot, start outside the lock
+                    break;
+                }
+                Idle victim = longestIdle();
+                if (victim != null) {
+                    // Full, but another browser has spare capacity: trade it for the browser in demand
+                    idle.get(victim.container().browser()).remove(victim);
+                    stopAsync(victim.container());
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IOException("No " + browser + " container became available within "
+                            + TimeUnit.NANOSECONDS.toSeconds(acquireTimeoutNanos) + "s (pool of " + maxContainers + " is busy)");
+                }
+                changed.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            BrowserContainer container = provider.start(browser);
+            SuiteMetrics.POOL_CONTAINERS.inc(browser.name().toLowerCase());
+            lock.lock();
+            try {
+                leased.add(container);
+            } finally {
+                lock.unlock();
+            }
+            return container;
+        } catch (IOException | RuntimeException e) {
+            lock.lock();
+            try {
+                total--;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a leased container to the pool.
+     *
+     * @param container The container.
+     * @param healthy   False if the session on it failed in a way that may have broken the browser;
+     *                  the container is then stopped instead of reused.
+     */
+    public void release(BrowserContainer container, boolean healthy) {
+        lock.lock();
+        try {
+            if (!leased.remove(container)) {
+                return;
+            }
+            if (healthy && !closed) {
+                // Most recently used first: it is the warmest, and older ones are left to expire
+                idle.get(container.browser()).addFirst(new Idle(container, System.nanoTime()));
+            } else {
+                stopAsync(container);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops all idle containers and refuses new leases; leased containers are stopped when released.
+     */
+    public void shutdown() {
+        List<BrowserContainer> toStop = new ArrayList<>();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            idle.values().forEach(queue -> {
+                queue.forEach(entry -> toStop.add(entry.container()));
+                queue.clear();
+            });
+            toStop.addAll(leased);
+            leased.clear();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        reaper.shutdownNow();
+        toStop.forEach(this::stopNow);
+        stopper.shutdown();
+        try {
+            stopper.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("🐳 Browser pool shut down; {} container(s) stopped at exit.", toStop.size());
+    }
+
+    /** Stops the containers idle for longer than the idle timeout; run periodically by the reaper thread. */
+    void stopExpired() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            for (Deque<Idle> queue : idle.values()) {
+                for (Iterator<Idle> it = queue.iterator(); it.hasNext(); ) {
+                    Idle entry = it.next();
+                    if (now - entry.sinceNanos() > idleTimeoutNanos) {
+                        it.remove();
+                        logger.info("🐳 Scaling down: {} container {} idle too long", entry.container().browser(), entry.container().id());
+                        stopAsync(entry.container());
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Idle longestIdle() {
+        Idle oldest = null;
+        for (Deque<Idle> queue : idle.values()) {
+            Idle last = queue.peekLast();
+            if (last != null && (oldest == null || last.sinceNanos() < oldest.sinceNanos())) {
+                oldest = last;
+            }
+        }
+        return oldest;
+    }
+
+    /** Must be called with the lock held; frees the slot immediately and stops the container in the background. */
+    private void stopAsync(BrowserContainer container) {
+        total--;
+        if (!stopper.isShutdown()) {
+            stopper.execute(() -> stopNow(container));
+        } else {
+            stopNow(container);
+        }
+    }
+
+    private void stopNow(BrowserContainer container) {
+        provider.stop(container);
+        SuiteMetrics.POOL_CONTAINERS.dec(container.browser().name().toLowerCase());
+    }
+
+    private static BrowserContainerProvider createProvider(String name) {
+        if (name.equalsIgnoreCase("docker")) {
+            return new DockerContainerProvider();
+        }
+        try {
+            return (BrowserContainerProvider) Class.forName(name).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Invalid browser.pool.provider: " + name, e);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
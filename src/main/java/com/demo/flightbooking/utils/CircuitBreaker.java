@@ -0,0 +1,190 @@
+package com.demo.flightbooking.utils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.demo.flightbooking.enums.FailureCategory;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * A suite-wide circuit breaker that stops a run from grinding through every test when the
+ * target environment or the Selenium Grid is down.
+ * <p>
+ * The circuit opens when either:
+ * <ul>
+ *   <li>the health probe run at suite start cannot reach the application (or the Grid is not ready), or</li>
+ *   <li>{@code circuit.breaker.threshold} infrastructure failures (see {@link FailureClassifier})
+ *       happen in a row, across all threads, without a passing test in between.</li>
+ * </ul>
+ * While it is open, {@link #openCause()} returns the reason and tests are skipped before a browser is
+ * launched. If {@code circuit.breaker.recovery.probe.seconds} is set, the probe is re-run at most that
+ * often and the circuit closes again as soon as the environment is healthy.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LogManager.getLogger(CircuitBreaker.class);
+
+    private static final FrameworkConfig.Breaker CONFIG = ConfigReader.config().breaker();
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(CONFIG.probeTimeoutSeconds());
+
+    private static final AtomicInteger consecutiveInfraFailures = new AtomicInteger();
+    private static volatile String openCause;
+    private static long lastProbeNanos;
+
+    private CircuitBreaker() {
+    }
+
+    /**
+     * Probes the application and (if enabled) the Grid once, before any test runs,
+     * and opens the circuit straight away if they are unreachable.
+     */
+    public static synchronized void probeSuiteHealth() {
+        if (!enabled()) {
+            return;
+        }
+        String problem = probe();
+        if (problem != null) {
+            trip("Pre-suite health check failed: " + problem);
+        } else {
+            logger.info("💚 Environment health check passed: {}", ConfigReader.getApplicationUrl());
+        }
+    }
+
+    /**
+     * Records a failed test. Only infrastructure failures count towards tripping the circuit.
+     *
+     * @param failure The throwable the test failed with.
+     */
+    public static void recordFailure(Throwable failure) {
+        if (!enabled() || FailureClassifier.classify(failure) != FailureCategory.INFRA) {
+            return;
+        }
+        int failures = consecutiveInfraFailures.incrementAndGet();
+        if (failures >= CONFIG.threshold() && openCause == null) {
+            String message = failure.getMessage() == null ? failure.getClass().getSimpleName()
+                    : failure.getMessage().split("\n")[0];
+            synchronized (CircuitBreaker.class) {
+                if (openCause == null) {
+                    trip(failures + " consecutive infrastructure failures; last: " + message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a passing test, which resets the consecutive failure count.
+     */
+    public static void recordSuccess() {
+        consecutiveInfraFailures.set(0);
+    }
+
+    /**
+     * Returns why the circuit is open, or null if tests may run.
+     * When recovery probing is configured and due, the probe is run first and may close the circuit.
+     *
+     * @return The cause of the outage, or null when the circuit is closed.
+     */
+    public static String openCause() {
+        if (openCause != null) {
+            tryRecover();
+        }
+        return openCause;
+    }
+
+    /**
+     * @return true if the circuit is open. Unlike {@link #openCause()}, this never probes.
+     */
+    public static boolean isOpen() {
+        return openCause != null;
+    }
+
+    private static void trip(String cause) {
+        openCause = cause;
+        lastProbeNanos = System.nanoTime();
+        SuiteMetrics.CIRCUIT_BREAKER_TRIPS.inc();
+        logger.error("⚡ Circuit breaker OPEN - remaining tests will be skipped: {}", cause);
+    }
+
+    private static synchronized void tryRecover() {
+        int interval = CONFIG.recoveryProbeSeconds();
+        if (openCause == null || interval <= 0
+                || System.nanoTime() - lastProbeNanos < TimeUnit.SECONDS.toNanos(interval)) {
+            return;
+        }
+        lastProbeNanos = System.nanoTime();
+        String problem = probe();
+        if (problem == null) {
+            logger.info("💚 Circuit breaker CLOSED - environment recovered after: {}", openCause);
+            consecutiveInfraFailures.set(0);
+            openCause = null;
+        } else {
+            logger.warn("⚡ Circuit breaker still open, recovery probe failed: {}", problem);
+        }
+    }
+
+    /**
+     * Checks that the application answers and, when the Grid is enabled, that the Grid reports ready.
+     *
+     * @return A description of the problem, or null if everything is healthy.
+     */
+    private static String probe() {
+        HttpClient client = ProbeClient.INSTANCE;
+        String appUrl = ConfigReader.getApplicationUrl();
+        try {
+            HttpResponse<Void> response = client.send(
+                    HttpRequest.newBuilder(URI.create(appUrl)).timeout(PROBE_TIMEOUT).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 500) {
+                return "application " + appUrl + " returned HTTP " + response.statusCode();
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return "application " + appUrl + " is unreachable (" + e + ")";
+        }
+
+        FrameworkConfig config = ConfigReader.config();
+        if (config.gridEnabled()) {
+            String statusUrl = config.gridUrl().toString().replaceAll("/+$", "") + "/status";
+            try {
+                HttpResponse<String> response = client.send(
+                        HttpRequest.newBuilder(URI.create(statusUrl)).timeout(PROBE_TIMEOUT).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                JsonObject value = JsonParser.parseString(response.body()).getAsJsonObject().getAsJsonObject("value");
+                if (response.statusCode() != 200 || value == null || !value.get("ready").getAsBoolean()) {
+                    return "Selenium Grid at " + statusUrl + " is not ready (HTTP " + response.statusCode() + ")";
+                }
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                return "Selenium Grid at " + statusUrl + " is unreachable (" + e + ")";
+            }
+        }
+        return null;
+    }
+
+    private static boolean enabled() {
+        return CONFIG.enabled();
+    }
+
+    /**
+     * The HTTP client shared by every probe, built on first use (never when the breaker is disabled).
+     */
+    private static final class ProbeClient {
+        static final HttpClient INSTANCE = HttpClient.newBuilder()
+                .connectTimeout(PROBE_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
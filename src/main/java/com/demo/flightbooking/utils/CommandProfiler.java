@@ -0,0 +1,246 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * A WebDriver listener that profiles every command sent over the wire.
+ * Each call made through a decorated driver (findElement, getText, executeScript, click, ...)
+ * is counted together with its latency and an approximate payload size, and attributed to the
+ * page-object method that issued it. The result is a per-test call tree that makes
+ * round-trip hot spots (e.g. per-row lookups in a results table) easy to spot.
+ * Accessors answered by the client alone, such as {@code manage()}, {@code switchTo()} or
+ * {@code timeouts()}, are not commands and are not counted.
+ *
+ * Profiling is opt-in via {@code profiler.enabled=true} in config.properties.
+ */
+public class CommandProfiler implements WebDriverListener {
+
+    private static final Logger logger = LogManager.getLogger(CommandProfiler.class);
+    private static final CommandProfiler INSTANCE = new CommandProfiler();
+
+    private static final String PAGES_PACKAGE = "com.demo.flightbooking.pages.";
+    private static final String TESTS_PACKAGE = "com.demo.flightbooking.tests.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    /**
+     * Decorated methods that return a client-side object or value without a round trip to the driver.
+     */
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "switchTo", "navigate", "timeouts", "window", "logs",
+            "getCapabilities", "getSessionId", "getWrappedDriver", "getWrappedElement",
+            "equals", "hashCode", "toString");
+
+    /**
+     * The profile of the test currently running on each thread.
+     */
+    private static final ThreadLocal<Profile> currentProfile = new ThreadLocal<>();
+
+    private CommandProfiler() {
+    }
+
+    /**
+     * Wraps the given driver so that every command it executes is recorded by the profiler.
+     *
+     * @param driver The raw WebDriver instance.
+     * @return A decorated WebDriver exposing the same interfaces as the original.
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        logger.info("Command profiler enabled; decorating driver for thread: {}", Thread.currentThread().threadId());
+        return new EventFiringDecorator<WebDriver>(INSTANCE).decorate(driver);
+    }
+
+    /**
+     * Starts a fresh profile for the test running on the current thread.
+     *
+     * @param testName The name used to label the root of the call tree.
+     */
+    public static void startTest(String testName) {
+        currentProfile.set(new Profile(testName));
+    }
+
+    /**
+     * Stops profiling the current thread's test and renders its call tree.
+     *
+     * @param chattyThreshold Page methods issuing at least this many commands are flagged as chatty.
+     * @return The rendered report, or null if no profile was started on this thread.
+     */
+    public static String finishTest(int chattyThreshold) {
+        Profile profile = currentProfile.get();
+        currentProfile.remove();
+        return profile == null ? null : profile.render(chattyThreshold);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        Profile profile = currentProfile.get();
+        if (profile != null && isCommand(method)) {
+            profile.pending.push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method, args, result);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method, args, null);
+    }
+
+    private void record(Method method, Object[] args, Object result) {
+        Profile profile = currentProfile.get();
+        if (profile == null || profile.pending.isEmpty() || !isCommand(method)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - profile.pending.pop();
+        long payload = payloadSize(args) + payloadSize(result);
+        profile.record(callerPath(), method.getName(), elapsed, payload);
+    }
+
+    private static boolean isCommand(Method method) {
+        return !LOCAL_METHODS.contains(method.getName());
+    }
+
+    /**
+     * Resolves the chain of test and page-object methods (outermost first) that led to the current command.
+     */
+    private static List<Frame> callerPath() {
+        List<Frame> frames = STACK_WALKER.walk(s -> s
+                .filter(f -> f.getClassName().startsWith(PAGES_PACKAGE) || f.getClassName().startsWith(TESTS_PACKAGE))
+                .filter(f -> !f.getMethodName().startsWith("lambda$")) // attribute stream lambdas to their enclosing method
+                .map(f -> new Frame(
+                        f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName(),
+                        f.getClassName().startsWith(PAGES_PACKAGE)))
+                .collect(Collectors.toList()));
+        List<Frame> path = new ArrayList<>(frames.size());
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            path.add(frames.get(i));
+        }
+        return path;
+    }
+
+    /**
+     * Approximates the number of characters/bytes travelling over the wire for an argument or result.
+     */
+    private static long payloadSize(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence cs) {
+            return cs.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof Object[] array) {
+            long total = 0;
+            for (Object o : array) {
+                total += payloadSize(o);
+            }
+            return total;
+        }
+        if (value instanceof Collection<?> collection) {
+            long total = 0;
+            for (Object o : collection) {
+                total += payloadSize(o);
+            }
+            return total;
+        }
+        if (value instanceof Map<?, ?> map) {
+            return payloadSize(map.keySet()) + payloadSize(map.values());
+        }
+        // Element references, locators, numbers: count their textual form once.
+        return String.valueOf(value).length();
+    }
+
+    /**
+     * A test or page-object method on the path to a command.
+     */
+    private record Frame(String label, boolean pageMethod) {
+    }
+
+    /**
+     * Per-test accumulation of commands, organised as a call tree.
+     */
+    private static final class Profile {
+        private final Node root;
+        private final Deque<Long> pending = new ArrayDeque<>();
+
+        private Profile(String testName) {
+            this.root = new Node(testName, false);
+        }
+
+        private void record(List<Frame> path, String command, long nanos, long payload) {
+            Node node = root;
+            node.add(nanos, payload);
+            for (Frame frame : path) {
+                node = node.child(frame.label(), frame.pageMethod());
+                node.add(nanos, payload);
+            }
+            node.child(command, false).add(nanos, payload);
+        }
+
+        private String render(int chattyThreshold) {
+            StringBuilder sb = new StringBuilder();
+            root.render(sb, 0, chattyThreshold);
+            return sb.toString();
+        }
+    }
+
+    /**
+     * A node of the call tree: either a test/page method or a leaf WebDriver command.
+     */
+    private static final class Node {
+        private final String name;
+        private final boolean pageMethod;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private int calls;
+        private long nanos;
+        private long payload;
+
+        private Node(String name, boolean pageMethod) {
+            this.name = name;
+            this.pageMethod = pageMethod;
+        }
+
+        private Node child(String childName, boolean isPageMethod) {
+            return children.computeIfAbsent(childName, n -> new Node(n, isPageMethod));
+        }
+
+        private void add(long elapsedNanos, long payloadSize) {
+            calls++;
+            nanos += elapsedNanos;
+            payload += payloadSize;
+        }
+
+        private void render(StringBuilder sb, int depth, int chattyThreshold) {
+            sb.append("  ".repeat(depth))
+              .append(name)
+              .append(String.format(" [calls=%d, time=%.1f ms, payload=%d]", calls, nanos / 1_000_000.0, payload));
+            if (pageMethod && calls >= chattyThreshold) {
+                sb.append(" <-- CHATTY");
+            }
+            sb.append(System.lineSeparator());
+            for (Node child : children.values()) {
+                child.render(sb, depth + 1, chattyThreshold);
+            }
+        }
+    }
+}
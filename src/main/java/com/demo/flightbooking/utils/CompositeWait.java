@@ -0,0 +1,228 @@
+package com.demo.flightbooking.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Waits for several page conditions at once, checking all of them in a single {@code executeScript}
+ * call per poll instead of one polling loop (and one or more round trips per poll) per condition.
+ * <pre>
+ * WebElement button = CompositeWait.on(driver)
+ *         .documentReady()
+ *         .clickable(chooseFlightButton)
+ *         .until(Duration.ofSeconds(10));
+ * </pre>
+ * Each poll reports which sub-conditions passed; when the wait times out, the ones that never passed are
+ * named in the exception (or in {@link Result#toString()} when using {@link #check(Duration)}).
+ * A poll whose script fails, e.g. because the page navigated while it ran, is retried like one that did not pass.
+ * Element conditions accept locators that Selenium sends to the browser as CSS, XPath, tag name or link text,
+ * which covers every built-in {@link By}.
+ */
+public class CompositeWait {
+
+    private static final Logger logger = LogManager.getLogger(CompositeWait.class);
+
+    // Evaluates every condition and returns which passed, plus the element of the last element condition that passed
+    private static final String SCRIPT = """
+            var conditions = arguments[0], passed = [], element = null;
+            function locate(using, value) {
+              if (using === 'xpath') {
+                return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+              }
+              if (using === 'tag name') return document.getElementsByTagName(value)[0] || null;
+              if (using === 'link text' || using === 'partial link text') {
+                var links = document.getElementsByTagName('a');
+                for (var i = 0; i < links.length; i++) {
+                  var text = links[i].textContent.trim();
+                  if (using === 'link text' ? text === value : text.indexOf(value) >= 0) return links[i];
+                }
+                return null;
+              }
+              return document.querySelector(value);
+            }
+            function visible(e) {
+              if (!e) return false;
+              var style = window.getComputedStyle(e);
+              return style.display !== 'none' && style.visibility !== 'hidden'
+                  && (e.offsetWidth > 0 || e.offsetHeight > 0 || e.getClientRects().length > 0);
+            }
+            for (var i = 0; i < conditions.length; i++) {
+              var c = conditions[i], ok = false;
+              try {
+                switch (c.type) {
+                  case 'url': ok = window.location.href.indexOf(c.text) >= 0; break;
+                  case 'title': ok = document.title.indexOf(c.text) >= 0; break;
+                  case 'ready': ok = document.readyState === 'complete'; break;
+                  case 'ajax': ok = typeof jQuery === 'undefined' || jQuery.active === 0; break;
+                  case 'visible':
+                  case 'clickable':
+                    var e = locate(c.using, c.value);
+                    ok = visible(e) && (c.type === 'visible' || !e.disabled);
+                    if (ok) element = e;
+                    break;
+                }
+              } catch (err) {
+                ok = false;
+              }
+              passed.push(ok);
+            }
+            return { passed: passed, element: element };
+            """;
+
+    private final WebDriver driver;
+    private final List<String> names = new ArrayList<>();
+    private final List<Map<String, String>> conditions = new ArrayList<>();
+
+    /**
+     * The outcome of the last poll.
+     *
+     * @param conditions Each sub-condition, in the order added, and whether it passed.
+     * @param element    The element matched by the last element condition that passed, or null if none passed.
+     */
+    public record Result(Map<String, Boolean> conditions, WebElement element) {
+        /**
+         * @return true if every sub-condition passed.
+         */
+        public boolean satisfied() {
+            return !conditions.containsValue(false);
+        }
+
+        @Override
+        public String toString() {
+            return conditions.entrySet().stream()
+                    .map(c -> (c.getValue() ? "✅ " : "❌ ") + c.getKey())
+                    .collect(Collectors.joining(", "));
+        }
+    }
+
+    private CompositeWait(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Starts a composite wait on the given driver.
+     *
+     * @param driver The WebDriver instance.
+     * @return An empty composite wait; add conditions, then call {@link #until(Duration)} or {@link #check(Duration)}.
+     */
+    public static CompositeWait on(WebDriver driver) {
+        return new CompositeWait(driver);
+    }
+
+    /** The current URL contains {@code text}. */
+    public CompositeWait urlContains(String text) {
+        return add("url contains '" + text + "'", Map.of("type", "url", "text", text));
+    }
+
+    /** The page title contains {@code text}. */
+    public CompositeWait titleContains(String text) {
+        return add("title contains '" + text + "'", Map.of("type", "title", "text", text));
+    }
+
+    /** {@code document.readyState} is {@code complete}. */
+    public CompositeWait documentReady() {
+        return add("document ready", Map.of("type", "ready"));
+    }
+
+    /** jQuery has no requests in flight (or the page does not use jQuery). */
+    public CompositeWait ajaxIdle() {
+        return add("ajax idle", Map.of("type", "ajax"));
+    }
+
+    /** The first element matching {@code locator} is displayed. */
+    public CompositeWait visible(By locator) {
+        return add(locator + " visible", element("visible", locator));
+    }
+
+    /** The first element matching {@code locator} is displayed and enabled. */
+    public CompositeWait clickable(By locator) {
+        return add(locator + " clickable", element("clickable", locator));
+    }
+
+    /**
+     * Waits until every condition holds.
+     *
+     * @param timeout How long to wait.
+     * @return The element matched by the last element condition, or null if there is none.
+     * @throws TimeoutException naming the sub-conditions that did not pass, if the timeout expires.
+     */
+    public WebElement until(Duration timeout) {
+        Result result = check(timeout);
+        if (!result.satisfied()) {
+            throw new TimeoutException("Timed out after " + timeout.toSeconds() + "s waiting for: " + result);
+        }
+        return result.element();
+    }
+
+    /**
+     * Waits until every condition holds or the timeout expires, without throwing.
+     *
+     * @param timeout How long to wait.
+     * @return The last poll's result; check {@link Result#satisfied()}.
+     */
+    public Result check(Duration timeout) {
+        Result[] last = {null};
+        long start = System.nanoTime();
+        try {
+            return new WebDriverWait(driver, timeout)
+                    .ignoring(JavascriptException.class, StaleElementReferenceException.class)
+                    .until(d -> {
+                        last[0] = evaluate();
+                        return last[0].satisfied() ? last[0] : null;
+                    });
+        } catch (TimeoutException e) {
+            Result result = last[0] != null ? last[0] : nonePassed();
+            logger.warn("⏳ Composite wait timed out after {}s: {}", timeout.toSeconds(), result);
+            return result;
+        } finally {
+            SuiteMetrics.WAIT_SECONDS.observeSince("composite", start);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Result evaluate() {
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SCRIPT, conditions);
+        List<Boolean> passed = (List<Boolean>) raw.get("passed");
+        Map<String, Boolean> byName = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            byName.put(names.get(i), Boolean.TRUE.equals(passed.get(i)));
+        }
+        return new Result(byName, (WebElement) raw.get("element"));
+    }
+
+    /** The result reported when no poll completed. */
+    private Result nonePassed() {
+        Map<String, Boolean> byName = new LinkedHashMap<>();
+        names.forEach(name -> byName.put(name, false));
+        return new Result(byName, null);
+    }
+
+    private CompositeWait add(String name, Map<String, String> condition) {
+        names.add(name);
+        conditions.add(condition);
+        return this;
+    }
+
+    private static Map<String, String> element(String type, By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            throw new IllegalArgumentException("Composite waits need a locator the browser can evaluate: " + locator);
+        }
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        return Map.of("type", type, "using", parameters.using(), "value", String.valueOf(parameters.value()));
+    }
+}
@@ -2,38 +2,99 @@ package com.demo.flightbooking.utils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import com.demo.flightbooking.enums.EnvironmentType;
 
 /**
- * A utility class to read configuration settings from the config.properties file.
- * It uses a static block to load the properties once, making it efficient.
- * This class centralizes all configuration management.
+ * A utility class to read configuration settings.
+ * Settings are layered once, at class initialization, from lowest to highest precedence:
+ * <ol>
+ *   <li>the base file (config/config.properties, or -DconfigFile=...)</li>
+ *   <li>an optional profile file config/config-&lt;profile&gt;.properties selected with -Dconfig.profile=...</li>
+ *   <li>environment variables named FLIGHTBOOKING_&lt;KEY&gt; (e.g. FLIGHTBOOKING_BROWSER_HEADLESS)</li>
+ *   <li>system properties with the same key (e.g. -Dbrowser.headless=true, -Denv=QA)</li>
+ * </ol>
+ * The merged result is immutable, and the settings used on hot paths are exposed as a validated,
+ * typed {@link FrameworkConfig} snapshot via {@link #config()}.
  */
 public class ConfigReader {
 
     private static final Logger logger = LogManager.getLogger(ConfigReader.class);
-    private static final Properties properties = new Properties();
     private static final String CONFIG_FILE = System.getProperty("configFile", "config/config.properties");
-    
+    private static final String PROFILE = System.getProperty("config.profile");
+    private static final String ENV_PREFIX = "FLIGHTBOOKING_";
+
+    private static final Map<String, String> properties;
+    private static final FrameworkConfig config;
+
     /**
-     * Static block to load the properties file when the class is initialized.
-     * This ensures the properties are loaded only once during the test execution.
+     * Static block to load and merge the configuration layers when the class is initialized.
+     * This ensures the configuration is read and validated only once during the test execution.
      */
     static {
-        try (InputStream stream = ConfigReader.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+        Map<String, String> merged = new HashMap<>(load(CONFIG_FILE));
+        if (PROFILE != null && !PROFILE.isBlank()) {
+            merged.putAll(load("config/config-" + PROFILE.trim() + ".properties"));
+        }
+
+        // Environment variables override known keys (plus 'env'); system properties override any key
+        Map<String, String> overrides = new HashMap<>();
+        Set<String> envKeys = new HashSet<>(merged.keySet());
+        envKeys.add("env");
+        envKeys.forEach(key -> {
+            String value = System.getenv(envName(key));
+            if (value != null) {
+                overrides.put(key, value);
+            }
+        });
+        System.getProperties().stringPropertyNames().forEach(key -> overrides.put(key, System.getProperty(key)));
+        overrides.forEach((key, value) -> {
+            if (merged.containsKey(key) && !value.equals(merged.get(key))) {
+                logger.info("Configuration '{}' overridden to '{}'", key, value);
+            }
+        });
+        merged.putAll(overrides);
+
+        properties = Map.copyOf(merged);
+        config = FrameworkConfig.from(properties);
+        logger.info("Configuration resolved: {}", config);
+    }
+
+    private static Map<String, String> load(String resource) {
+        Properties props = new Properties();
+        try (InputStream stream = ConfigReader.class.getClassLoader().getResourceAsStream(resource)) {
             if (stream == null) {
-                logger.error("Configuration file not found: {}", CONFIG_FILE);
-                throw new RuntimeException("Configuration file not found: " + CONFIG_FILE);
+                logger.error("Configuration file not found: {}", resource);
+                throw new RuntimeException("Configuration file not found: " + resource);
             }
-            properties.load(stream);
-            logger.info("Configuration successfully loaded from: {}", CONFIG_FILE);
+            props.load(stream);
+            logger.info("Configuration successfully loaded from: {}", resource);
         } catch (IOException e) {
-            logger.error("Failed to load configuration file: {}", CONFIG_FILE, e);
+            logger.error("Failed to load configuration file: {}", resource, e);
             throw new RuntimeException("Failed to load configuration", e);
         }
+        Map<String, String> values = new HashMap<>();
+        props.stringPropertyNames().forEach(key -> values.put(key, props.getProperty(key)));
+        return values;
+    }
+
+    private static String envName(String key) {
+        return ENV_PREFIX + key.toUpperCase().replace('.', '_').replace('-', '_');
+    }
+
+    /**
+     * Returns the typed, validated configuration snapshot.
+     * This is the preferred way to read settings on hot paths: it costs a field access.
+     *
+     * @return The immutable configuration.
+     */
+    public static FrameworkConfig config() {
+        return config;
     }
 
     /**
@@ -43,13 +104,13 @@ public class ConfigReader {
      * @return The property value as a String.
      */
     public static String getProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = properties.get(key);
         if (value == null) {
             logger.warn("Property not found: {}", key);
         }
         return value;
     }
-    
+
     /**
      * Retrieves a property value and converts it to an integer.
      *
@@ -70,32 +131,12 @@ public class ConfigReader {
     }
 
     /**
-     * Gets the application URL based on the 'env' system property (e.g., -Denv=QA).
+     * Gets the application URL for the environment selected with 'env' (e.g., -Denv=QA).
      * Falls back to the default 'application.url' if 'env' is not specified.
+     * The URL is resolved and validated once when the configuration is loaded.
      * @return The target application URL for the test run.
      */
     public static String getApplicationUrl() {
-        String env = System.getProperty("env"); // Reads -Denv=QA from the command line
-        if (env == null || env.trim().isEmpty()) {
-            logger.info("No 'env' system property provided. Using default 'application.url'.");
-            return getProperty("application.url");
-        }
-
-        EnvironmentType environmentType;
-        try {
-            environmentType = EnvironmentType.valueOf(env.toUpperCase().trim());
-            logger.info("Running tests on environment: {}", environmentType);
-        } catch (IllegalArgumentException e) {
-            logger.error("Invalid environment specified: '{}'. Please use one of: {}", env, (Object[]) EnvironmentType.values());
-            throw new IllegalArgumentException("Invalid environment specified: " + env);
-        }
-
-        String propertyKey = environmentType.name().toLowerCase() + ".url";
-        String url = getProperty(propertyKey);
-
-        if (url == null || url.isEmpty()) {
-            throw new RuntimeException("URL for environment '" + environmentType + "' not found in config.properties for key '" + propertyKey + "'");
-        }
-        return url;
+        return config.applicationUrl();
     }
-}
\ No newline at end of file
+}
@@ -2,9 +2,10 @@ package com.demo.flightbooking.utils;
 
 import com.demo.flightbooking.enums.BrowserType;
 
+import com.demo.flightbooking.factory.BrowserContainerProvider.BrowserContainer;
 import com.demo.flightbooking.factory.BrowserOptionsFactory;
-import java.net.MalformedURLException;
-import java.net.URI;
+import com.demo.flightbooking.factory.RemoteHttpClientFactory;
+import java.io.IOException;
 import java.net.URL;
 import java.time.Duration;
 
@@ -12,7 +13,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.ThreadContext;
 import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
@@ -35,6 +38,12 @@ public class DriverManager {
      */
     private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
     private static final ThreadLocal<String> browserName = new ThreadLocal<>();
+    // The pooled browser container backing the current thread's session, if the browser pool is enabled
+    private static final ThreadLocal<BrowserContainer> container = new ThreadLocal<>();
+    // The current thread's entry in the SessionRegistry
+    private static final ThreadLocal<Long> registration = new ThreadLocal<>();
+    // Set while the current thread's session is kept for its next test (see resetSession)
+    private static final ThreadLocal<Boolean> kept = new ThreadLocal<>();
 
     public static void setBrowser(String browser) {
         logger.info("Setting browser for current thread to: {}", browser.toUpperCase());
@@ -49,26 +58,31 @@ public class DriverManager {
      * Retrieves the WebDriver instance for the current thread.
      * If an instance does not exist, it creates a new one based on the
      * configuration in config.properties (e.g., browser type, grid enabled, headless mode).
+     * When {@link SessionMultiplexer} is enabled, the instance is a handle to a tab in a shared
+     * browser rather than a browser of its own; it is used and quit exactly the same way.
      *
      * @return The WebDriver instance for the current thread.
      */
     public static WebDriver getDriver() {
+        kept.remove();
         if (driver.get() == null) {
+            FrameworkConfig config = ConfigReader.config();
             String browser = browserName.get() != null
                     ? browserName.get()
-                    : ConfigReader.getProperty("browser");
+                    : config.browser().name().toLowerCase();
 
             // ✅ Load browser type from config or testng.xml
             BrowserType browserType = BrowserType.valueOf(browser.toUpperCase());
 
-            // ✅ Read headless flag from config.properties
-            boolean isHeadless = Boolean.parseBoolean(ConfigReader.getProperty("browser.headless"));
+            // ✅ Read headless flag from the configuration snapshot
+            boolean isHeadless = config.headless();
             logger.info("Headless mode enabled? {}", isHeadless);
 
             // ✅ Read Grid toggle
-            boolean useGrid = Boolean.parseBoolean(ConfigReader.getProperty("selenium.grid.enabled"));
+            boolean useGrid = config.gridEnabled();
             logger.info("Grid enabled? {}", useGrid);
-            logger.info("Execution mode: {}", useGrid ? "REMOTE (Grid)" : "LOCAL");
+            logger.info("Execution mode: {}", useGrid ? "REMOTE (Grid)"
+                    : config.browserPoolEnabled() ? "REMOTE (browser pool)" : "LOCAL");
             logger.info("Initializing {} driver for thread: {}", browserType, Thread.currentThread().threadId());
 
             // ADDED: Set MDC so logs include suite and browser for this test thread
@@ -77,54 +91,188 @@ public class DriverManager {
             ThreadContext.put("suite", mdcSuite.toUpperCase());
             ThreadContext.put("browser", mdcBrowser.toUpperCase());
 
-            // ✅ Fetch browser-specific options with headless flag
-            MutableCapabilities options = BrowserOptionsFactory.getOptions(browserType, isHeadless);
+            // Track how many threads are waiting on session creation and how long it takes
+            SuiteMetrics.DRIVER_CREATION_QUEUE.inc();
+            long creationStart;
+            try {
+                if (SessionMultiplexer.isEnabled()) {
+                    // A tab in a shared browser instead of a browser of its own
+                    creationStart = System.nanoTime();
+                    driver.set(SessionMultiplexer.openContext(browserType, () -> createDriver(browserType, isHeadless, useGrid)));
+                } else {
+                    // Local sessions wait here while the host is too busy for another browser
+                    SessionLimiter.acquire();
+                    creationStart = System.nanoTime();
+                    driver.set(createDriver(browserType, isHeadless, useGrid));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SessionNotCreatedException("Interrupted while waiting for a session slot", e);
+            } catch (RuntimeException e) {
+                SessionLimiter.onSessionFailed();
+                throw e;
+            } finally {
+                SuiteMetrics.DRIVER_CREATION_QUEUE.dec();
+            }
+            registration.set(SessionRegistry.register(driver.get(), browser, container.get()));
+            SessionLimiter.onSessionCreated(System.nanoTime() - creationStart);
+            SuiteMetrics.DRIVER_CREATION_SECONDS.observeSince(browser, creationStart);
+            SuiteMetrics.ACTIVE_SESSIONS.inc(browser);
 
-            if (useGrid) {
-                try {
-                    // Validate required properties
-                    String hubHost = ConfigReader.getProperty("selenium.hubHost");
-                    String urlFormat = ConfigReader.getProperty("seleniumhub.urlFormat");
+            // Optionally wrap the driver so every wire command is counted and timed per test
+            if (config.profilerEnabled()) {
+                driver.set(CommandProfiler.decorate(driver.get()));
+            }
 
-                    if (hubHost == null || hubHost.isEmpty()) {
-                        throw new RuntimeException("Missing hubHost or urlFormat in config.properties");
-                    }
-                    if (urlFormat == null || urlFormat.isEmpty()) {
-                        throw new RuntimeException("⚠️ seleniumhub.urlFormat property is missing in config.properties");
-                    }
+            if (!SessionMultiplexer.isEnabled()) {
+                driver.get().manage().window().maximize(); // contexts share their host's window
+            }
+            driver.get().manage().timeouts().implicitlyWait(Duration.ofSeconds(0));
+        }
 
-                    String fullUrl = String.format(urlFormat, hubHost);
-                    logger.info("Connecting to Selenium Grid at: {}", fullUrl);
+        return driver.get();
+    }
 
-                    URL gridUrl = URI.create(fullUrl).toURL(); // Safe in Java 20+
+    /**
+     * Returns the current thread's WebDriver instance without creating one.
+     * Use this wherever a missing session is not a reason to launch a browser,
+     * e.g. for failure screenshots in listeners and teardown.
+     *
+     * @return The WebDriver instance, or null if the thread has none.
+     */
+    public static WebDriver getDriverIfPresent() {
+        return driver.get();
+    }
 
-                    driver.set(new RemoteWebDriver(gridUrl, options));
-                } catch (MalformedURLException e) {
-                    logger.error("❌ Malformed Selenium Grid URL: {}", e.getMessage());
-                    throw new RuntimeException("Invalid Selenium Grid URL", e);
-                }
-            } else {
-                // Local Mode
-                switch (browserType) {
-                    case CHROME:
-                        driver.set(new ChromeDriver((ChromeOptions) options));
-                        break;
-                    case FIREFOX:
-                        driver.set(new FirefoxDriver((FirefoxOptions) options));
-                        break;
-                    case EDGE:
-                        driver.set(new EdgeDriver((EdgeOptions) options));
-                        break;
-                    default:
-                        throw new IllegalStateException("Unsupported browser type: " + browserType);
-                }
-            }
+    /**
+     * Creates a new local or remote WebDriver session for the given browser.
+     *
+     * @param browserType The browser to launch.
+     * @param isHeadless  Whether the browser should run headless.
+     * @param useGrid     Whether to connect to the Selenium Grid instead of launching locally.
+     * @return The newly created WebDriver instance.
+     */
+    private static WebDriver createDriver(BrowserType browserType, boolean isHeadless, boolean useGrid) {
+        // ✅ Fetch browser-specific options with headless flag
+        MutableCapabilities options = BrowserOptionsFactory.getOptions(browserType, isHeadless);
+        if (SessionMultiplexer.isEnabled()) {
+            options.setCapability("webSocketUrl", true); // BiDi, for isolated user contexts
+        }
 
-            driver.get().manage().window().maximize();
-            driver.get().manage().timeouts().implicitlyWait(Duration.ofSeconds(0));
+        if (useGrid) {
+            // The hub URL is validated when the configuration is loaded
+            URL gridUrl = ConfigReader.config().gridUrl();
+            logger.info("Connecting to Selenium Grid at: {}", gridUrl);
+            return newRemoteDriver(gridUrl, options);
         }
 
-        return driver.get();
+        if (ConfigReader.config().browserPoolEnabled()) {
+            return createPooledDriver(browserType, options);
+        }
+
+        // Local Mode
+        switch (browserType) {
+            case CHROME:
+                return new ChromeDriver((ChromeOptions) options);
+            case FIREFOX:
+                return new FirefoxDriver((FirefoxOptions) options);
+            case EDGE:
+                return new EdgeDriver((EdgeOptions) options);
+            default:
+                throw new IllegalStateException("Unsupported browser type: " + browserType);
+        }
+    }
+
+    /**
+     * Opens a remote session, sending its commands through the shared {@link RemoteHttpClientFactory}
+     * client unless {@code remote.http.pooled=false}.
+     */
+    private static WebDriver newRemoteDriver(URL remoteAddress, MutableCapabilities options) {
+        if (!RemoteHttpClientFactory.isEnabled()) {
+            return new RemoteWebDriver(remoteAddress, options);
+        }
+        return new RemoteWebDriver(RemoteHttpClientFactory.get().commandExecutor(remoteAddress), options);
+    }
+
+    /**
+     * Leases a container from the {@link BrowserPool} and opens the session directly on it.
+     * The lease is kept for the thread and returned to the pool by {@link #quitDriver()}.
+     */
+    private static WebDriver createPooledDriver(BrowserType browserType, MutableCapabilities options) {
+        BrowserContainer leased;
+        try {
+            leased = BrowserPool.get().acquire(browserType);
+        } catch (IOException e) {
+            throw new SessionNotCreatedException("No " + browserType + " container available: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while waiting for a " + browserType + " container", e);
+        }
+        try {
+            logger.info("Connecting to pooled {} container {} at: {}", browserType, leased.id(), leased.webDriverUrl());
+            WebDriver remote = newRemoteDriver(leased.webDriverUrl(), options);
+            container.set(leased);
+            return remote;
+        } catch (RuntimeException e) {
+            BrowserPool.get().release(leased, false);
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether the current thread's session is still alive and responsive,
+     * without creating a new one.
+     *
+     * @return true if a session exists and answers a lightweight command.
+     */
+    public static boolean isSessionHealthy() {
+        WebDriver wd = driver.get();
+        if (wd == null) {
+            return false;
+        }
+        try {
+            wd.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            logger.warn("Session for thread {} is not healthy: {}", Thread.currentThread().threadId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Clears the state of the current thread's session (cookies, current page) so it can be
+     * reused by the next test on this thread instead of relaunching the browser.
+     */
+    public static void resetSession() {
+        WebDriver wd = driver.get();
+        if (wd != null) {
+            logger.info("Resetting driver session for reuse on thread: {}", Thread.currentThread().threadId());
+            wd.manage().deleteAllCookies();
+            wd.get("about:blank");
+            kept.set(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Called once a test and its teardown are over. A session the teardown neither quit nor kept for reuse,
+     * e.g. because the teardown failed first, is left to the {@link SessionRegistry} reaper, and the thread
+     * runs its next test without it.
+     */
+    public static void releaseAfterTest() {
+        if (Boolean.TRUE.equals(kept.get()) || driver.get() == null) {
+            return;
+        }
+        logger.warn("Test on thread {} finished without quitting its driver; leaving it to the session reaper.",
+                Thread.currentThread().threadId());
+        Long id = registration.get();
+        if (id != null) {
+            SessionRegistry.abandon(id);
+        }
+        // The reaper returns the container; the permit belongs to this thread, which goes on to other tests
+        registration.remove();
+        container.remove();
+        driver.remove();
+        SessionLimiter.release();
     }
 
     /**
@@ -133,14 +281,35 @@ public class DriverManager {
      */
     public static void quitDriver() {
         WebDriver wd = driver.get();
+        boolean quitCleanly = false;
+        // A session the reaper already quit (past its TTL) has been counted and closed
+        Long id = registration.get();
+        registration.remove();
+        kept.remove();
+        boolean reaped = id != null && !SessionRegistry.unregister(id);
         try {
-            if (wd != null) {
+            if (reaped) {
+                logger.warn("Driver for thread {} was already quit by the session reaper.", Thread.currentThread().threadId());
+            } else if (wd != null) {
                 logger.info("Quitting driver for thread: {}", Thread.currentThread().threadId());
+                SuiteMetrics.ACTIVE_SESSIONS.dec(browserName.get() != null
+                        ? browserName.get()
+                        : ConfigReader.config().browser().name());
                 wd.quit();
+                quitCleanly = true;
             } else {
                 logger.warn("quitDriver called but thread-local WebDriver was null.");
             }
         } finally {
+            // Hand a pooled container back for the next session; a failed quit may have left it broken.
+            // The reaper has already returned the container and permit of a session it quit.
+            if (container.get() != null) {
+                if (!reaped) {
+                    BrowserPool.get().release(container.get(), quitCleanly);
+                }
+                container.remove();
+            }
+            SessionLimiter.release();
             // ADDED: Ensure MDC does not leak when TestNG reuses threads
             ThreadContext.clearMap(); // ADDED
             driver.remove();
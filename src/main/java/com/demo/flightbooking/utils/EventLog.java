@@ -0,0 +1,190 @@
+package com.demo.flightbooking.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A small structured-event logging facade for the utils and pages layer.
+ * <p>
+ * Events are declared once, as constants, with a name, a level and a message pattern:
+ * <pre>
+ * private static final EventLog events = EventLog.forClass(WebDriverUtils.class);
+ * private static final EventLog.Event CLICKED = events.debug("element.clicked", "Clicked element: {}");
+ * ...
+ * CLICKED.log(locator);
+ * </pre>
+ * Logging an event first checks whether anyone is listening (the log4j level, or the binary
+ * event log), so a disabled event costs a level check: arguments are never formatted, suppliers are
+ * never called and, thanks to the fixed-arity overloads, no varargs array is allocated.
+ * The framework loggers run at INFO by default, so DEBUG events are free unless the level is lowered
+ * with {@code -Dlog.level.framework=debug} to give {@link TestLogCapture} a detailed trail.
+ * Repetitive events can be sampled so only every n-th occurrence is written.
+ * <p>
+ * Besides the regular log, every emitted event is appended to the compact binary event log
+ * ({@code log.events.file}) when one is configured; see {@link EventLogDecoder} to read it back.
+ */
+public class EventLog {
+
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    private final Logger logger;
+    private final BinaryEventSink sink;
+
+    private EventLog(Logger logger, BinaryEventSink sink) {
+        this.logger = logger;
+        this.sink = sink;
+    }
+
+    /**
+     * Creates the event log for a class; events are written through that class's logger.
+     *
+     * @param type The class declaring the events.
+     * @return A new EventLog.
+     */
+    public static EventLog forClass(Class<?> type) {
+        return forClass(type, BinaryEventSink.configured());
+    }
+
+    /**
+     * Creates the event log for a class that also writes to the given binary sink.
+     *
+     * @param type The class declaring the events.
+     * @param sink The binary event log, or null for none.
+     * @return A new EventLog.
+     */
+    static EventLog forClass(Class<?> type, BinaryEventSink sink) {
+        return new EventLog(LogManager.getLogger(type), sink);
+    }
+
+    /**
+     * Declares a DEBUG event.
+     *
+     * @param name    Stable, dotted event name (e.g. "element.clicked").
+     * @param pattern The message pattern with {} placeholders.
+     * @return The event.
+     */
+    public Event debug(String name, String pattern) {
+        return event(Level.DEBUG, name, pattern);
+    }
+
+    /**
+     * Declares an event at the given level.
+     *
+     * @param level   The log level.
+     * @param name    Stable, dotted event name.
+     * @param pattern The message pattern with {} placeholders.
+     * @return The event.
+     */
+    public Event event(Level level, String name, String pattern) {
+        return new Event(this, (short) nextId.getAndIncrement(), level, name, pattern, 1);
+    }
+
+    /**
+     * A declared event. Instances are immutable apart from the occurrence counter used for sampling.
+     */
+    public static final class Event {
+        private final EventLog owner;
+        private final short id;
+        private final Level level;
+        private final String name;
+        private final String pattern;
+        private final String sampledPattern;
+        private final int sampleEvery;
+        private final AtomicLong occurrences = new AtomicLong();
+
+        private Event(EventLog owner, short id, Level level, String name, String pattern, int sampleEvery) {
+            this.owner = owner;
+            this.id = id;
+            this.level = level;
+            this.name = name;
+            this.pattern = pattern;
+            this.sampleEvery = sampleEvery;
+            this.sampledPattern = sampleEvery == 1 ? pattern : pattern + " (1 in " + sampleEvery + " logged)";
+        }
+
+        /**
+         * Returns a copy of this event that only writes every {@code n}-th occurrence.
+         * Use it for events fired in loops, e.g. once per table row.
+         *
+         * @param n Write one occurrence out of every n.
+         * @return The sampled event.
+         */
+        public Event sampled(int n) {
+            return new Event(owner, id, level, name, pattern, Math.max(1, n));
+        }
+
+        short id() {
+            return id;
+        }
+
+        String name() {
+            return name;
+        }
+
+        String pattern() {
+            return pattern;
+        }
+
+        /**
+         * @return true if logging this event would write anything.
+         */
+        public boolean isEnabled() {
+            return owner.sink != null || owner.logger.isEnabled(level);
+        }
+
+        // Fixed-arity overloads avoid a varargs array; Supplier arguments are only evaluated
+        // when the event is actually written.
+
+        public void log(Object a) {
+            if (isEnabled() && sample()) {
+                emit(a, null, false);
+            }
+        }
+
+        public void log(Supplier<?> a) {
+            if (isEnabled() && sample()) {
+                emit(a.get(), null, false);
+            }
+        }
+
+        public void log(Object a, Object b) {
+            if (isEnabled() && sample()) {
+                emit(a, b, true);
+            }
+        }
+
+        public void log(Object a, Supplier<?> b) {
+            if (isEnabled() && sample()) {
+                emit(a, b.get(), true);
+            }
+        }
+
+        public void log(long a, Object b) {
+            if (isEnabled() && sample()) {
+                emit(a, b, true);
+            }
+        }
+
+        private boolean sample() {
+            return sampleEvery == 1 || occurrences.getAndIncrement() % sampleEvery == 0;
+        }
+
+        private void emit(Object a, Object b, boolean two) {
+            if (owner.logger.isEnabled(level)) {
+                if (two) {
+                    owner.logger.log(level, sampledPattern, a, b);
+                } else {
+                    owner.logger.log(level, sampledPattern, a);
+                }
+            }
+            if (owner.sink != null) {
+                owner.sink.write(this, a, b, two);
+            }
+        }
+    }
+}
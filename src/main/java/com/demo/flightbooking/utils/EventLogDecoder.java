@@ -0,0 +1,81 @@
+package com.demo.flightbooking.utils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.message.ParameterizedMessage;
+
+/**
+ * Decodes a binary event log written by {@link EventLog} into readable lines.
+ * <p>
+ * Usage: {@code java -cp <project classpath> com.demo.flightbooking.utils.EventLogDecoder logs/events.bin [event-name-prefix]}
+ */
+public class EventLogDecoder {
+
+    private EventLogDecoder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: EventLogDecoder <events file> [event-name-prefix]");
+            System.exit(1);
+        }
+        decode(Paths.get(args[0]), args.length > 1 ? args[1] : "", System.out);
+    }
+
+    /**
+     * Prints one line per event: timestamp, thread id, event name and the formatted message.
+     *
+     * @param file   The binary event log.
+     * @param prefix Only events whose name starts with this prefix are printed ("" for all).
+     * @param out    Where to print.
+     * @throws IOException if the file cannot be read or is not an event log.
+     */
+    public static void decode(Path file, String prefix, PrintStream out) throws IOException {
+        Map<Short, String[]> definitions = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != BinaryEventSink.MAGIC) {
+                throw new IOException(file + " is not a binary event log");
+            }
+            short version = in.readShort();
+            if (version != BinaryEventSink.VERSION) {
+                throw new IOException("Unsupported event log version " + version);
+            }
+            while (true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                short id = in.readShort();
+                if (type == BinaryEventSink.DEFINE) {
+                    definitions.put(id, new String[] { in.readUTF(), in.readUTF() });
+                    continue;
+                }
+                long millis = in.readLong();
+                long thread = in.readLong();
+                Object[] values = new Object[in.readByte()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = in.readUTF();
+                }
+                String[] definition = definitions.getOrDefault(id, new String[] { "event-" + id, "{} {}" });
+                if (definition[0].startsWith(prefix)) {
+                    out.println(Instant.ofEpochMilli(millis) + " [" + thread + "] " + definition[0] + ": "
+                            + ParameterizedMessage.format(definition[1], values));
+                }
+            }
+        } catch (EOFException e) {
+            out.println("(event log ends with a truncated record)");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import com.demo.flightbooking.enums.FailureCategory;
+
+/**
+ * Classifies a test failure into a {@link FailureCategory} by inspecting the exception and its causes.
+ * Infrastructure problems win over everything else because they are often wrapped
+ * (e.g. a connection refused inside a WebDriverException), followed by timing problems
+ * and finally assertion failures.
+ * <p>
+ * A {@link NoSuchElementException} is only a timing problem when a wait timed out: either it is the
+ * last attempt of the wait (the cause of a {@link TimeoutException}), or it reports the timeout (its
+ * cause is one, as thrown by {@link WebDriverUtils#findElement}). Thrown by a bare {@code findElement},
+ * it means the locator matches nothing and is classified as {@link FailureCategory#LOCATOR}.
+ */
+public class FailureClassifier {
+
+    /**
+     * Message fragments that identify infrastructure failures hidden inside generic WebDriverExceptions.
+     */
+    private static final String[] INFRA_MESSAGES = {
+        "could not start a new session",
+        "connection refused",
+        "net::err_",
+        "unable to connect",
+        "session deleted",
+        "chrome not reachable",
+        "browser has closed"
+    };
+
+    private FailureClassifier() {
+    }
+
+    /**
+     * Determines the category of the given failure.
+     *
+     * @param failure The throwable reported for the failed test; may be null.
+     * @return The failure category, UNKNOWN if nothing matched.
+     */
+    public static FailureCategory classify(Throwable failure) {
+        if (failure == null) {
+            return FailureCategory.UNKNOWN;
+        }
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (isInfra(t)) {
+                return FailureCategory.INFRA;
+            }
+        }
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            // Checked outermost first, so a NoSuchElementException under a TimeoutException stays TIMING
+            if (t instanceof TimeoutException
+                    || t instanceof StaleElementReferenceException
+                    || t instanceof ElementClickInterceptedException
+                    || t instanceof ElementNotInteractableException) {
+                return FailureCategory.TIMING;
+            }
+            if (t instanceof NoSuchElementException) {
+                return causedByTimeout(t) ? FailureCategory.TIMING : FailureCategory.LOCATOR;
+            }
+        }
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof AssertionError) {
+                return FailureCategory.ASSERTION;
+            }
+        }
+        return FailureCategory.UNKNOWN;
+    }
+
+    private static boolean causedByTimeout(Throwable t) {
+        for (Throwable cause = t.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInfra(Throwable t) {
+        if (t instanceof SessionNotCreatedException
+                || t instanceof NoSuchSessionException
+                || t instanceof UnreachableBrowserException
+                || t instanceof IOException) {
+            return true;
+        }
+        if (t instanceof WebDriverException && t.getMessage() != null) {
+            String message = t.getMessage().toLowerCase(Locale.ROOT);
+            for (String fragment : INFRA_MESSAGES) {
+                if (message.contains(fragment)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
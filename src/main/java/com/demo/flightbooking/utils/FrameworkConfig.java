@@ -0,0 +1,497 @@
+package com.demo.flightbooking.utils;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient.Version;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.demo.flightbooking.enums.BrowserType;
+import com.demo.flightbooking.enums.EnvironmentType;
+import com.demo.flightbooking.enums.FailureCategory;
+import com.demo.flightbooking.enums.FlakeLane;
+import com.demo.flightbooking.enums.ValidationMode;
+
+/**
+ * An immutable, typed snapshot of the settings read on the framework's hot paths
+ * (page constructors, driver creation, retries, navigation).
+ * It is built once by {@link ConfigReader} from the layered configuration and validated up front,
+ * so an invalid value fails the run at startup instead of somewhere in the middle of a test,
+ * and reading a setting afterwards is a plain field access.
+ *
+ * @param browser                 Default browser when none is set by the suite XML.
+ * @param headless                Whether browsers run headless.
+ * @param timeoutSeconds          Explicit wait timeout used by pages and WebDriverUtils.
+ * @param retryMaxCount           Maximum number of retries for a failed test, across all failure categories.
+ * @param retryBudgets            Maximum number of retries per failure category.
+ * @param retryBackoffMillis      Base delay before retrying an infrastructure failure; doubles per attempt.
+ * @param stepRetryMaxCount       Maximum number of in-place retries of a page-object step (see {@link PageStep}).
+ * @param stepRetryBackoffMillis  Delay before retrying a page-object step.
+ * @param gridEnabled             Whether sessions are created on the Selenium Grid.
+ * @param gridUrl                 The Grid hub URL (null when the Grid is disabled).
+ * @param browserPoolEnabled      Whether sessions run in containers from the framework's own {@link BrowserPool}.
+ * @param multiplexContexts       Tabs per shared browser (see {@link SessionMultiplexer}); 0 or 1 = a browser per test.
+ * @param journeyCheckpointsEnabled Whether later rows restore saved journey steps (see {@link JourneyCheckpoints}).
+ * @param environment             The target environment from 'env', or null for the default URL.
+ * @param applicationUrl          The resolved application URL for the target environment.
+ * @param testerName              Name shown in the report's system info.
+ * @param profilerEnabled         Whether the WebDriver command profiler is active.
+ * @param profilerChattyThreshold Commands per page method above which it is flagged as chatty.
+ * @param logCaptureMaxLines      Most recent log lines kept per test by {@link TestLogCapture}.
+ * @param flake                   Flakiness tracking and quarantine settings.
+ * @param breaker                 Circuit breaker settings.
+ * @param pool                    Browser container pool settings.
+ * @param limiter                 Adaptive local session limit settings.
+ * @param reaper                  Leaked session reaper settings.
+ * @param remoteHttp              HTTP transport settings of remote sessions.
+ * @param routeCache              Route metadata cache settings.
+ * @param metrics                 Live suite metrics sinks.
+ * @param dataValidation          Pre-flight data validation settings.
+ * @param pairwise                Combinatorial test data settings.
+ * @param synthetic               Synthetic test data settings.
+ */
+public record FrameworkConfig(
+    BrowserType browser,
+    boolean headless,
+    int timeoutSeconds,
+    int retryMaxCount,
+    Map<FailureCategory, Integer> retryBudgets,
+    long retryBackoffMillis,
+    int stepRetryMaxCount,
+    long stepRetryBackoffMillis,
+    boolean gridEnabled,
+    URL gridUrl,
+    boolean browserPoolEnabled,
+    int multiplexContexts,
+    boolean journeyCheckpointsEnabled,
+    EnvironmentType environment,
+    String applicationUrl,
+    String testerName,
+    boolean profilerEnabled,
+    int profilerChattyThreshold,
+    int logCaptureMaxLines,
+    Flake flake,
+    Breaker breaker,
+    Pool pool,
+    Limiter limiter,
+    Reaper reaper,
+    RemoteHttp remoteHttp,
+    RouteCache routeCache,
+    Metrics metrics,
+    DataValidation dataValidation,
+    Pairwise pairwise,
+    Synthetic synthetic
+) {
+
+    private static final int DEFAULT_TIMEOUT = 10; // Used if 'test.timeout' is not configured
+
+    /**
+     * Builds and validates the snapshot from the merged configuration.
+     * All problems are collected and reported together.
+     *
+     * @param props The merged key/value configuration.
+     * @return The validated configuration.
+     * @throws IllegalStateException if any value is missing or invalid.
+     */
+    static FrameworkConfig from(Map<String, String> props) {
+        List<String> errors = new ArrayList<>();
+
+        BrowserType browser = parseEnum(BrowserType.class, props, "browser", BrowserType.CHROME, errors);
+        boolean headless = parseBoolean(props, "browser.headless", false, errors);
+        int timeout = parseInt(props, "test.timeout", DEFAULT_TIMEOUT, 1, errors);
+        int retries = parseInt(props, "test.retry.maxcount", 0, 0, errors);
+        // Unconfigured categories fall back to the overall retry count, except assertions and broken locators
+        // which are never retried
+        Map<FailureCategory, Integer> budgets = new EnumMap<>(FailureCategory.class);
+        for (FailureCategory category : FailureCategory.values()) {
+            int fallback = category == FailureCategory.ASSERTION || category == FailureCategory.LOCATOR ? 0 : retries;
+            budgets.put(category, parseInt(props,
+                    "test.retry." + category.name().toLowerCase() + ".maxcount", fallback, 0, errors));
+        }
+        int backoff = parseInt(props, "test.retry.backoff.ms", 0, 0, errors);
+        int stepRetries = parseInt(props, "step.retry.maxcount", 0, 0, errors);
+        int stepBackoff = parseInt(props, "step.retry.backoff.ms", 0, 0, errors);
+        boolean grid = parseBoolean(props, "selenium.grid.enabled", false, errors);
+        boolean browserPool = parseBoolean(props, "browser.pool.enabled", false, errors);
+        if (grid && browserPool) {
+            errors.add("selenium.grid.enabled and browser.pool.enabled cannot both be true");
+        }
+        int multiplexContexts = parseInt(props, "browser.multiplex.contexts", 0, 0, errors);
+        boolean journeyCheckpoints = parseBoolean(props, "journey.checkpoints.enabled", true, errors);
+        boolean profiler = parseBoolean(props, "profiler.enabled", false, errors);
+        int chattyThreshold = parseInt(props, "profiler.chatty.threshold", 10, 1, errors);
+        int logCaptureMaxLines = parseInt(props, "log.capture.max.lines", 500, 1, errors);
+        Flake flake = new Flake(
+                parsePath(props, "flake.db.file", "flake-history/flake-db.json", errors),
+                parseInt(props, "flake.window", 20, 2, errors),
+                parseInt(props, "flake.min.runs", 5, 0, errors),
+                parseDouble(props, "flake.quarantine.threshold", 0.3, 0, 1, errors),
+                parseEnum(FlakeLane.class, props, "flake.lane", FlakeLane.MAIN, errors));
+        Breaker breaker = new Breaker(
+                parseInt(props, "circuit.breaker.threshold", 0, 0, errors),
+                parseInt(props, "circuit.breaker.recovery.probe.seconds", 0, 0, errors),
+                parseInt(props, "circuit.breaker.probe.timeout.seconds", 10, 1, errors));
+        String poolProvider = props.get("browser.pool.provider");
+        Pool pool = new Pool(
+                poolProvider == null || poolProvider.isBlank() ? "docker" : poolProvider.trim(),
+                parseInt(props, "browser.pool.max.containers", 4, 1, errors),
+                parseInt(props, "browser.pool.idle.timeout.seconds", 60, 1, errors),
+                parseInt(props, "browser.pool.acquire.timeout.seconds", 300, 1, errors),
+                parseInt(props, "browser.pool.start.timeout.seconds", 60, 1, errors),
+                parseInt(props, "browser.pool.docker.read.timeout.seconds", 120, 1, errors));
+        int limiterMin = parseInt(props, "session.limiter.min", 1, 1, errors);
+        Limiter limiter = new Limiter(
+                parseBoolean(props, "session.limiter.enabled", false, errors),
+                parseInt(props, "session.limiter.initial", 2, 1, errors),
+                limiterMin,
+                parseInt(props, "session.limiter.max", 0, 0, errors),
+                parseDouble(props, "session.limiter.cpu.threshold", 0.9, 0, 1, errors),
+                parseInt(props, "session.limiter.min.free.memory.mb", 1024, 0, errors),
+                parseDouble(props, "session.limiter.latency.threshold.seconds", 20, 0, Double.MAX_VALUE, errors),
+                parseDouble(props, "session.limiter.decrease.factor", 0.5, 0, 1, errors),
+                parseInt(props, "session.limiter.cooldown.seconds", 30, 0, errors),
+                parseInt(props, "session.limiter.cpu.sample.seconds", 2, 1, errors));
+        Reaper reaper = new Reaper(
+                parseInt(props, "session.ttl.seconds", 0, 0, errors),
+                parseInt(props, "session.reaper.interval.seconds", 30, 1, errors));
+        RemoteHttp remoteHttp = new RemoteHttp(
+                parseBoolean(props, "remote.http.pooled", true, errors),
+                parseEnum(Version.class, props, "remote.http.version", Version.HTTP_1_1, errors),
+                parseInt(props, "remote.http.connect.timeout.seconds", 10, 1, errors),
+                parseInt(props, "remote.http.read.timeout.seconds", 180, 1, errors));
+        String snapshotDir = props.get("route.metadata.snapshot.dir");
+        RouteCache routeCache = new RouteCache(
+                parseInt(props, "route.metadata.ttl.minutes", 60, 1, errors),
+                snapshotDir == null || snapshotDir.isBlank() ? null : parsePath(props, "route.metadata.snapshot.dir", "", errors));
+        String metricsHost = props.get("metrics.host");
+        String metricsFile = props.get("metrics.file");
+        Metrics metrics = new Metrics(
+                parseInt(props, "metrics.port", 0, 0, errors),
+                metricsHost == null || metricsHost.isBlank() ? "127.0.0.1" : metricsHost.trim(),
+                metricsFile == null || metricsFile.isBlank() ? null : parsePath(props, "metrics.file", "", errors),
+                parseInt(props, "metrics.dump.interval.seconds", 15, 1, errors));
+        DataValidation dataValidation = new DataValidation(
+                parseEnum(ValidationMode.class, props, "data.validation.mode", ValidationMode.DROP, errors),
+                parseList(props, "data.validation.card.types", errors));
+        List<String> pairwiseBrowsers = parseList(props, "data.pairwise.browsers", errors).stream()
+                .map(String::toLowerCase).toList();
+        for (String pairwiseBrowser : pairwiseBrowsers) {
+            if (List.of(BrowserType.values()).stream().noneMatch(type -> type.name().equalsIgnoreCase(pairwiseBrowser))) {
+                errors.add("data.pairwise.browsers '" + pairwiseBrowser + "' is not one of " + List.of(BrowserType.values()));
+            }
+        }
+        Pairwise pairwise = new Pairwise(
+                parseBoolean(props, "data.pairwise.enabled", false, errors),
+                parseInt(props, "data.pairwise.strength", 2, 1, errors),
+                parseLong(props, "data.pairwise.seed", 0, errors),
+                pairwiseBrowsers);
+        Synthetic synthetic = new Synthetic(
+                parseInt(props, "data.synthetic.count", 1000, 0, errors),
+                parseLong(props, "data.synthetic.seed", 0, errors),
+                parseInt(props, "data.synthetic.base.year", Year.now().getValue(), 1970, errors));
+        if (metrics.port() > 65535) {
+            errors.add("metrics.port must be at most 65535 but was " + metrics.port());
+        }
+        if (limiter.max() > 0 && limiter.max() < limiterMin) {
+            errors.add("session.limiter.max must be 0 or at least session.limiter.min but was " + limiter.max());
+        }
+
+        URL gridUrl = null;
+        if (grid) {
+            String hubHost = props.get("selenium.hubHost");
+            String urlFormat = props.get("seleniumhub.urlFormat");
+            if (hubHost == null || hubHost.isBlank()) {
+                errors.add("selenium.hubHost is required when selenium.grid.enabled=true");
+            } else if (urlFormat == null || urlFormat.isBlank()) {
+                errors.add("seleniumhub.urlFormat is required when selenium.grid.enabled=true");
+            } else {
+                gridUrl = parseUrl("seleniumhub.urlFormat", String.format(urlFormat.trim(), hubHost.trim()), errors);
+            }
+        }
+
+        // 'env' selects <env>.url; without it the default application.url is used
+        EnvironmentType environment = null;
+        String urlKey = "application.url";
+        String env = props.get("env");
+        if (env != null && !env.isBlank()) {
+            environment = parseEnum(EnvironmentType.class, props, "env", null, errors);
+            if (environment != null) {
+                urlKey = environment.name().toLowerCase() + ".url";
+            }
+        }
+        String applicationUrl = props.get(urlKey);
+        if (applicationUrl == null || applicationUrl.isBlank()) {
+            errors.add("URL for environment '" + (environment == null ? "default" : environment)
+                    + "' not found for key '" + urlKey + "'");
+        } else {
+            parseUrl(urlKey, applicationUrl.trim(), errors);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration:\n - " + String.join("\n - ", errors));
+        }
+        return new FrameworkConfig(browser, headless, timeout, retries, Collections.unmodifiableMap(budgets), backoff,
+                stepRetries, stepBackoff, grid, gridUrl, browserPool, multiplexContexts, journeyCheckpoints,
+                environment, applicationUrl.trim(), props.getOrDefault("tester.name", ""), profiler, chattyThreshold,
+                logCaptureMaxLines, flake, breaker, pool, limiter, reaper, remoteHttp, routeCache, metrics,
+                dataValidation, pairwise, synthetic);
+    }
+
+    /**
+     * Flakiness tracking and quarantine ({@code flake.*}).
+     *
+     * @param dbFile              The local outcome history file.
+     * @param window              Number of most recent outcomes a flakiness score is computed over.
+     * @param minRuns             Minimum recorded outcomes before a row can be scored.
+     * @param quarantineThreshold Score (0-1) at or above which a row is quarantined.
+     * @param lane                Which rows this run executes.
+     */
+    public record Flake(Path dbFile, int window, int minRuns, double quarantineThreshold, FlakeLane lane) {
+    }
+
+    /**
+     * The suite-wide circuit breaker ({@code circuit.breaker.*}).
+     *
+     * @param threshold            Consecutive infrastructure failures that open the circuit; 0 = disabled.
+     * @param recoveryProbeSeconds Minimum interval between recovery probes while open; 0 = stay open.
+     * @param probeTimeoutSeconds  Connect/read timeout of the health probe.
+     */
+    public record Breaker(int threshold, int recoveryProbeSeconds, int probeTimeoutSeconds) {
+
+        /**
+         * @return true if failures can open the circuit.
+         */
+        public boolean enabled() {
+            return threshold > 0;
+        }
+    }
+
+    /**
+     * The elastic browser container pool ({@code browser.pool.*}).
+     *
+     * @param provider                 'docker', or the class name of another container provider.
+     * @param maxContainers            Upper bound on running containers, across all browsers.
+     * @param idleTimeoutSeconds       Containers idle for longer than this are stopped.
+     * @param acquireTimeoutSeconds    How long a test waits for a free container.
+     * @param startTimeoutSeconds      How long a new container may take to report ready.
+     * @param dockerReadTimeoutSeconds How long a Docker API call may wait for the daemon to send data.
+     */
+    public record Pool(String provider, int maxContainers, int idleTimeoutSeconds, int acquireTimeoutSeconds,
+                       int startTimeoutSeconds, int dockerReadTimeoutSeconds) {
+    }
+
+    /**
+     * The adaptive limit on concurrent local browser sessions ({@code session.limiter.*}).
+     *
+     * @param enabled                 Whether local sessions are limited at all.
+     * @param initial                 The limit the suite starts with.
+     * @param min                     The lowest the limit goes.
+     * @param max                     The highest the limit goes; 0 = number of CPUs.
+     * @param cpuThreshold            CPU load (0-1) above which the host counts as overloaded.
+     * @param minFreeMemoryMb         Available memory below which the host counts as overloaded.
+     * @param latencyThresholdSeconds Session start time above which the host counts as overloaded.
+     * @param decreaseFactor          Factor the limit is multiplied by on overload.
+     * @param cooldownSeconds         Minimum interval between two decreases.
+     * @param cpuSampleSeconds        Interval at which CPU load is sampled in the background.
+     */
+    public record Limiter(boolean enabled, int initial, int min, int max, double cpuThreshold, int minFreeMemoryMb,
+                          double latencyThresholdSeconds, double decreaseFactor, int cooldownSeconds,
+                          int cpuSampleSeconds) {
+    }
+
+    /**
+     * The reaper of sessions nobody will quit ({@code session.*}, see {@link SessionRegistry}).
+     *
+     * @param ttlSeconds      Sessions older than this are quit; 0 = no limit.
+     * @param intervalSeconds How often the reaper looks for abandoned sessions.
+     */
+    public record Reaper(int ttlSeconds, int intervalSeconds) {
+    }
+
+    /**
+     * The HTTP transport of remote WebDriver sessions ({@code remote.http.*}, see
+     * {@link com.demo.flightbooking.factory.RemoteHttpClientFactory}).
+     *
+     * @param pooled                Whether remote sessions share one HTTP client.
+     * @param version               HTTP_1_1, or HTTP_2 to multiplex sessions over one connection.
+     * @param connectTimeoutSeconds How long opening a connection may take.
+     * @param readTimeoutSeconds    How long a single WebDriver command may take to answer.
+     */
+    public record RemoteHttp(boolean pooled, Version version, int connectTimeoutSeconds, int readTimeoutSeconds) {
+    }
+
+    /**
+     * The route metadata cache ({@code route.metadata.*}, see {@link RouteMetadataCache}).
+     *
+     * @param ttlMinutes  How long fetched route options stay valid.
+     * @param snapshotDir Where per-environment snapshots are kept, or null for memory only.
+     */
+    public record RouteCache(int ttlMinutes, Path snapshotDir) {
+    }
+
+    /**
+     * The live suite metrics sinks ({@code metrics.*}, see {@link MetricsExporter}).
+     *
+     * @param port                The port of the /metrics endpoint; 0 = disabled.
+     * @param host                The interface the endpoint binds to.
+     * @param file                The file rewritten periodically with the metrics, or null for none.
+     * @param dumpIntervalSeconds How often the file is rewritten.
+     */
+    public record Metrics(int port, String host, Path file, int dumpIntervalSeconds) {
+    }
+
+    /**
+     * Pre-flight validation of data rows ({@code data.validation.*}, see {@code DataValidator}).
+     *
+     * @param mode      What happens to invalid rows.
+     * @param cardTypes The card types offered on the purchase page, in order; empty = card types are not checked.
+     */
+    public record DataValidation(ValidationMode mode, List<String> cardTypes) {
+    }
+
+    /**
+     * Combinatorial test data ({@code data.pairwise.*}, see {@code PairwiseDataProvider}).
+     *
+     * @param enabled  Whether the passenger data provider serves generated rows instead of the JSON rows.
+     * @param strength How many factors' value combinations are all covered; 2 = pairwise.
+     * @param seed     The generator's seed; the same seed always gives the same rows.
+     * @param browsers The browsers covered, lower case; empty = those of the suite's {@code <test>} blocks.
+     */
+    public record Pairwise(boolean enabled, int strength, long seed, List<String> browsers) {
+    }
+
+    /**
+     * Synthetic test data ({@code data.synthetic.*}, see {@code SyntheticDataProvider}).
+     *
+     * @param count    How many passengers the data provider generates.
+     * @param seed     The generator's seed; with the same base year, the same seed always gives the same passengers.
+     * @param baseYear The year card expiry dates are counted from; defaults to the current year.
+     */
+    public record Synthetic(int count, long seed, int baseYear) {
+    }
+
+    private static boolean parseBoolean(Map<String, String> props, String key, boolean defaultValue, List<String> errors) {
+        String value = props.get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        String trimmed = value.trim();
+        if (!trimmed.equalsIgnoreCase("true") && !trimmed.equalsIgnoreCase("false")) {
+            errors.add(key + " must be true or false but was '" + value + "'");
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(trimmed);
+    }
+
+    private static int parseInt(Map<String, String> props, String key, int defaultValue, int min, List<String> errors) {
+        String value = props.get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < min) {
+                errors.add(key + " must be at least " + min + " but was " + parsed);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be an integer but was '" + value + "'");
+            return defaultValue;
+        }
+    }
+
+    private static long parseLong(Map<String, String> props, String key, long defaultValue, List<String> errors) {
+        String value = props.get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be an integer but was '" + value + "'");
+            return defaultValue;
+        }
+    }
+
+    private static double parseDouble(Map<String, String> props, String key, double defaultValue, double min, double max,
+                                      List<String> errors) {
+        String value = props.get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            double parsed = Double.parseDouble(value.trim());
+            if (parsed < min || parsed > max) {
+                errors.add(key + " must be between " + min + " and " + max + " but was " + parsed);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be a number but was '" + value + "'");
+            return defaultValue;
+        }
+    }
+
+    private static Path parsePath(Map<String, String> props, String key, String defaultValue, List<String> errors) {
+        String value = props.get(key);
+        String path = value == null || value.isBlank() ? defaultValue : value.trim();
+        try {
+            return Paths.get(path);
+        } catch (InvalidPathException e) {
+            errors.add(key + " is not a valid path: '" + value + "'");
+            return Paths.get(defaultValue);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, Map<String, String> props, String key,
+                                                   E defaultValue, List<String> errors) {
+        String value = props.get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            errors.add(key + " '" + value + "' is not one of " + List.of(type.getEnumConstants()));
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Parses a comma-separated list; blank means empty. Empty and repeated entries are reported, since they
+     * usually mean a typo.
+     */
+    private static List<String> parseList(Map<String, String> props, String key, List<String> errors) {
+        String value = props.get(key);
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        LinkedHashSet<String> entries = new LinkedHashSet<>();
+        for (String entry : value.split(",", -1)) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                errors.add(key + " has an empty entry: '" + value + "'");
+            } else if (!entries.add(trimmed)) {
+                errors.add(key + " lists '" + trimmed + "' more than once");
+            }
+        }
+        return List.copyOf(entries);
+    }
+
+    private static URL parseUrl(String key, String value, List<String> errors) {
+        try {
+            return URI.create(value).toURL();
+        } catch (IllegalArgumentException | MalformedURLException e) {
+            errors.add(key + " does not produce a valid URL: '" + value + "'");
+            return null;
+        }
+    }
+}
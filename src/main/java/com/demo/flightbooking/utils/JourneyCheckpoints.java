@@ -0,0 +1,156 @@
+package com.demo.flightbooking.utils;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Saves the browser state at a named step of a journey so later tests can jump straight to it.
+ * <p>
+ * A checkpoint is taken just before the form submission that leads to the step: the form's action and
+ * fields (the POST payload), the cookies and the local/session storage. Restoring it re-applies the
+ * cookies and storage and submits an equivalent form, landing on the step in one navigation instead of
+ * replaying every page before it. Checkpoints are kept in memory for the run, keyed by step and by whatever
+ * else determines the state (e.g. route and browser), and are only taken the first time, by a test that
+ * walked the whole way. A restore that does not land on the form's action is dropped, so the caller
+ * falls back to the full journey.
+ * <p>
+ * Disabled with {@code journey.checkpoints.enabled=false}.
+ */
+public class JourneyCheckpoints {
+
+    private static final Logger logger = LogManager.getLogger(JourneyCheckpoints.class);
+    private static final boolean ENABLED = ConfigReader.config().journeyCheckpointsEnabled();
+    private static final Duration RESTORE_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Map<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+
+    // Serialises the submit button's form and the page's storage in a single round trip
+    private static final String CAPTURE_SCRIPT = """
+            var form = arguments[0].form, fields = {};
+            for (var i = 0; i < form.elements.length; i++) {
+              var e = form.elements[i];
+              if (e.name && !e.disabled && !((e.type === 'checkbox' || e.type === 'radio') && !e.checked)) fields[e.name] = e.value;
+            }
+            return { action: form.action, method: form.method || 'get', fields: fields,
+                     local: Object.assign({}, window.localStorage), session: Object.assign({}, window.sessionStorage) };
+            """;
+
+    // Restores storage and submits an equivalent form, again in a single round trip
+    private static final String RESTORE_SCRIPT = """
+            var cp = arguments[0];
+            Object.keys(cp.local).forEach(function (k) { window.localStorage.setItem(k, cp.local[k]); });
+            Object.keys(cp.session).forEach(function (k) { window.sessionStorage.setItem(k, cp.session[k]); });
+            var form = document.createElement('form');
+            form.method = cp.method; form.action = cp.action;
+            Object.keys(cp.fields).forEach(function (k) {
+              var input = document.createElement('input');
+              input.type = 'hidden'; input.name = k; input.value = cp.fields[k];
+              form.appendChild(input);
+            });
+            document.body.appendChild(form);
+            form.submit();
+            """;
+
+    /**
+     * The saved state at one step.
+     *
+     * @param action   The URL the form posts to, i.e. the step's page.
+     * @param method   The form's HTTP method.
+     * @param fields   The form fields that were submitted.
+     * @param local    localStorage at capture time.
+     * @param session  sessionStorage at capture time.
+     * @param cookies  Cookies at capture time.
+     */
+    public record Checkpoint(String action, String method, Map<String, Object> fields,
+                             Map<String, Object> local, Map<String, Object> session, Set<Cookie> cookies) {
+    }
+
+    private JourneyCheckpoints() {
+    }
+
+    /**
+     * Builds a checkpoint key from the step name and the values that determine the state at that step.
+     */
+    public static String key(String step, Object... scope) {
+        StringBuilder key = new StringBuilder(step);
+        for (Object part : scope) {
+            key.append('|').append(part);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Captures the state just before {@code submitButton}'s form is submitted, unless a checkpoint
+     * with this key already exists. Call it on the page before the step, before clicking the button.
+     *
+     * @param driver       The driver on the page before the step.
+     * @param key          The checkpoint key.
+     * @param submitButton The button whose form leads to the step.
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String key, By submitButton) {
+        if (!ENABLED || checkpoints.containsKey(key)) {
+            return;
+        }
+        try {
+            Map<String, Object> state = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(CAPTURE_SCRIPT, driver.findElement(submitButton));
+            Checkpoint checkpoint = new Checkpoint((String) state.get("action"), (String) state.get("method"),
+                    (Map<String, Object>) state.get("fields"), (Map<String, Object>) state.get("local"),
+                    (Map<String, Object>) state.get("session"), driver.manage().getCookies());
+            if (checkpoints.putIfAbsent(key, checkpoint) == null) {
+                logger.info("📍 Checkpoint saved: {} → {}", key, checkpoint.action());
+            }
+        } catch (WebDriverException | ClassCastException e) {
+            logger.warn("Could not capture checkpoint {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Restores a checkpoint. The driver must already be on a page of the application's origin,
+     * so that cookies can be set.
+     *
+     * @param driver The driver.
+     * @param key    The checkpoint key.
+     * @return true if the browser is now on the checkpoint's step; false if there is no checkpoint
+     *         or it could not be restored, in which case the browser is back on the page it started
+     *         from and the caller should walk the journey.
+     */
+    public static boolean restore(WebDriver driver, String key) {
+        Checkpoint checkpoint = ENABLED ? checkpoints.get(key) : null;
+        if (checkpoint == null) {
+            return false;
+        }
+        String startUrl = driver.getCurrentUrl();
+        try {
+            checkpoint.cookies().forEach(cookie -> driver.manage().addCookie(cookie));
+            ((JavascriptExecutor) driver).executeScript(RESTORE_SCRIPT, Map.of(
+                    "action", checkpoint.action(), "method", checkpoint.method(), "fields", checkpoint.fields(),
+                    "local", checkpoint.local(), "session", checkpoint.session()));
+            String path = URI.create(checkpoint.action()).getPath();
+            new WebDriverWait(driver, RESTORE_TIMEOUT).until(d -> URI.create(d.getCurrentUrl()).getPath().equals(path));
+            logger.info("⏩ Checkpoint restored: {}", key);
+            return true;
+        } catch (WebDriverException | IllegalArgumentException e) {
+            // TimeoutException included: the state is stale or the page changed, so stop using it
+            checkpoints.remove(key, checkpoint);
+            logger.warn("Checkpoint {} could not be restored and was dropped: {}", key,
+                    e instanceof TimeoutException ? "did not reach " + checkpoint.action() : e.getMessage());
+            driver.get(startUrl); // back to where the caller's journey starts
+            return false;
+        }
+    }
+}
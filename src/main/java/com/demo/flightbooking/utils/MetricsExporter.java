@@ -0,0 +1,137 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Exposes {@link SuiteMetrics} while a suite is running.
+ * Two optional sinks are supported, both configured in config.properties:
+ * <ul>
+ *   <li>{@code metrics.port} - an embedded HTTP endpoint serving {@code /metrics} for Prometheus to scrape
+ *       (e.g. {@code curl http://localhost:9464/metrics}). It binds to {@code metrics.host}, loopback by
+ *       default, so suite internals are not exposed to the network unless asked for.</li>
+ *   <li>{@code metrics.file} - a file rewritten every {@code metrics.dump.interval.seconds}, suitable for
+ *       node_exporter's textfile collector or a {@code curl --data-binary @file} push to a Pushgateway.</li>
+ * </ul>
+ * Both are disabled by default.
+ */
+public class MetricsExporter {
+
+    private static final Logger logger = LogManager.getLogger(MetricsExporter.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static HttpServer server;
+    private static ExecutorService serverExecutor;
+    private static ScheduledExecutorService dumper;
+    private static Path dumpFile;
+
+    private MetricsExporter() {
+    }
+
+    /**
+     * Starts the configured sinks. Safe to call more than once; only the first call has an effect.
+     */
+    public static void start() {
+        start(ConfigReader.config().metrics());
+    }
+
+    /**
+     * Starts the given sinks. Safe to call more than once; only the first call has an effect.
+     *
+     * @param config The sink settings.
+     */
+    static synchronized void start(FrameworkConfig.Metrics config) {
+        int port = config.port();
+        String host = config.host();
+        if (port > 0 && server == null) {
+            try {
+                server = HttpServer.create(new InetSocketAddress(host, port), 0);
+                server.createContext("/metrics", exchange -> {
+                    byte[] body = SuiteMetrics.scrape().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+                serverExecutor = Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "metrics-http");
+                    t.setDaemon(true);
+                    return t;
+                });
+                server.setExecutor(serverExecutor);
+                server.start();
+                logger.info("📡 Metrics endpoint listening on http://{}:{}/metrics", host, port);
+            } catch (IOException e) {
+                logger.error("❌ Could not start metrics endpoint on {}:{}", host, port, e);
+                server = null;
+                if (serverExecutor != null) {
+                    serverExecutor.shutdownNow();
+                    serverExecutor = null;
+                }
+            }
+        }
+
+        if (config.file() != null && dumper == null) {
+            int interval = config.dumpIntervalSeconds();
+            dumpFile = config.file();
+            dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "metrics-dump");
+                t.setDaemon(true);
+                return t;
+            });
+            Path target = dumpFile;
+            dumper.scheduleAtFixedRate(() -> dump(target), interval, interval, TimeUnit.SECONDS);
+            logger.info("📡 Metrics will be written to {} every {}s", target, interval);
+        }
+    }
+
+    /**
+     * Writes a final snapshot (if a file sink is configured) and stops all sinks.
+     */
+    public static synchronized void stop() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+            dump(dumpFile);
+            dumpFile = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            // HttpServer.stop does not shut down an executor it was given
+            serverExecutor.shutdownNow();
+            serverExecutor = null;
+            logger.info("📡 Metrics endpoint stopped.");
+        }
+    }
+
+    /**
+     * Atomically replaces the metrics file so scrapers never read a half-written snapshot.
+     */
+    private static void dump(Path target) {
+        try {
+            Path parent = target.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+            Files.writeString(tmp, SuiteMetrics.scrape());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write metrics file {}: {}", target, e.getMessage());
+        }
+    }
+}
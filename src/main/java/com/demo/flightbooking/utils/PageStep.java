@@ -0,0 +1,109 @@
+package com.demo.flightbooking.utils;
+
+import java.util.function.BooleanSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.demo.flightbooking.enums.FailureCategory;
+
+/**
+ * Retries a single page-object step in place, with the current browser session, when it fails for a
+ * timing reason (see {@link FailureClassifier}), instead of letting the whole test fail and be re-run
+ * from a new browser by the {@code RetryAnalyzer}.
+ * <p>
+ * Only wrap steps that are safe to repeat: filling fields that are cleared first, setting a checkbox to a
+ * state rather than toggling it, and so on. Steps should locate elements through waits (e.g.
+ * {@link WebDriverUtils}): a wait that times out on a slow page is a timing failure, whereas a bare
+ * {@code findElement} with no implicit wait fails at once as a broken locator, which is not retried.
+ * <p>
+ * A step with a visible effect, such as submitting a form, can be made resumable by passing a check for
+ * that effect: if the failed attempt actually took effect, the step counts as done instead of being
+ * repeated. Every retried attempt is logged to the test's Extent entry. Other failures, and timing
+ * failures beyond {@code step.retry.maxcount} retries, are rethrown unchanged and handled by the
+ * test-level retry as before.
+ */
+public class PageStep {
+
+    private static final Logger logger = LogManager.getLogger(PageStep.class);
+
+    private PageStep() {
+    }
+
+    /**
+     * Runs an idempotent step, retrying it in place on timing failures.
+     *
+     * @param name   A short name for reports, e.g. "Fill purchase form".
+     * @param action The step.
+     */
+    public static void run(String name, Runnable action) {
+        run(name, action, () -> false);
+    }
+
+    /**
+     * Runs a resumable step, retrying it in place on timing failures unless it already took effect.
+     *
+     * @param name      A short name for reports, e.g. "Purchase flight".
+     * @param action    The step.
+     * @param completed Checks whether the step's effect is visible, e.g. the next page has loaded.
+     *                  Asked after a failed attempt, before retrying.
+     */
+    public static void run(String name, Runnable action, BooleanSupplier completed) {
+        FrameworkConfig config = ConfigReader.config();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                action.run();
+                if (attempt > 1) {
+                    report(Status.PASS, "✅ Step '" + name + "' passed on attempt " + attempt);
+                }
+                return;
+            } catch (RuntimeException e) {
+                FailureCategory category = FailureClassifier.classify(e);
+                if (category != FailureCategory.TIMING || attempt > config.stepRetryMaxCount()) {
+                    throw e;
+                }
+                if (tookEffect(completed)) {
+                    report(Status.INFO, "⏭️ Step '" + name + "' failed on attempt " + attempt
+                            + " but had already taken effect; continuing");
+                    return;
+                }
+                SuiteMetrics.STEP_RETRIES.inc(name);
+                String reason = String.valueOf(e.getMessage()).split("\n")[0];
+                report(Status.WARNING, "🔁 Step '" + name + "' attempt " + attempt + " failed (" + category + ": "
+                        + reason + "); retrying in place");
+                if (!pause(config.stepRetryBackoffMillis())) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static boolean tookEffect(BooleanSupplier completed) {
+        try {
+            return completed.getAsBoolean();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void report(Status status, String message) {
+        logger.info(message);
+        ExtentTest test = ExtentManager.getTest();
+        if (test != null) {
+            test.log(status, message);
+        }
+    }
+
+    /** @return false if the thread was interrupted, in which case the step is not retried. */
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
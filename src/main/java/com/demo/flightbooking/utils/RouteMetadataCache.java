@@ -0,0 +1,237 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.demo.flightbooking.enums.EnvironmentType;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Caches the route options (the departure and arrival cities offered on the home page) per target
+ * environment, so they can be checked without a browser, e.g. to validate data rows before any session starts.
+ * <p>
+ * {@link #refresh()} fetches the home page over plain HTTP and reads the {@code fromPort} and {@code toPort}
+ * dropdowns; call it once per suite. Entries are kept in memory for {@code route.metadata.ttl.minutes} and
+ * snapshotted to {@code route.metadata.snapshot.dir} (empty = no snapshot), so a later run can use them if
+ * the page cannot be fetched. The home page object serves its city lists from the cache too, and when no
+ * fresh entry exists it reads the live dropdowns and {@linkplain #observe(List, List) passes them back}.
+ * Each refresh or observation compares a hash of the options with the cached one; a different hash
+ * replaces the cached entry, and is logged as a change of the page's options.
+ */
+public class RouteMetadataCache {
+
+    private static final Logger logger = LogManager.getLogger(RouteMetadataCache.class);
+    private static final Gson GSON = new Gson();
+    private static final Pattern OPTION = Pattern.compile("<option\\b[^>]*>(.*?)</option>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /** The departure dropdown's name on the home page. */
+    public static final String DEPART = "fromPort";
+    /** The arrival dropdown's name on the home page. */
+    public static final String ARRIVE = "toPort";
+
+    private static final FrameworkConfig.RouteCache CONFIG = ConfigReader.config().routeCache();
+    private static final Map<String, RouteMetadata> cache = new ConcurrentHashMap<>();
+
+    /**
+     * The route options of one environment.
+     *
+     * @param environment     The environment key ({@code qa}, {@code staging}, {@code production} or {@code default}).
+     * @param departCities    The departure dropdown's options, in page order.
+     * @param arriveCities    The arrival dropdown's options, in page order.
+     * @param optionsHash     A hash of both lists; a change means the page's options changed.
+     * @param fetchedAtMillis When the options were read.
+     */
+    public record RouteMetadata(String environment, List<String> departCities, List<String> arriveCities,
+                                String optionsHash, long fetchedAtMillis) {
+
+        RouteMetadata(String environment, List<String> departCities, List<String> arriveCities) {
+            this(environment, List.copyOf(departCities), List.copyOf(arriveCities),
+                    hash(departCities, arriveCities), System.currentTimeMillis());
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() - fetchedAtMillis < TimeUnit.MINUTES.toMillis(CONFIG.ttlMinutes());
+        }
+    }
+
+    private RouteMetadataCache() {
+    }
+
+    /**
+     * Returns the current environment's route options if a fresh copy is cached in memory or on disk.
+     *
+     * @return The route options, or empty if none are known or they have expired.
+     */
+    public static Optional<RouteMetadata> get() {
+        String environment = environmentKey();
+        RouteMetadata cached = cache.get(environment);
+        if (cached == null || !cached.isFresh()) {
+            cached = loadSnapshot(environment);
+            if (cached != null) {
+                cache.put(environment, cached);
+            }
+        }
+        return Optional.ofNullable(cached).filter(RouteMetadata::isFresh);
+    }
+
+    /**
+     * Reads the route options from the application's home page over HTTP and caches them.
+     * If the page cannot be fetched or parsed, the cached copy (if still fresh) is kept.
+     *
+     * @return The current environment's route options, or empty if none are available.
+     */
+    public static synchronized Optional<RouteMetadata> refresh() {
+        String url = ConfigReader.getApplicationUrl();
+        try {
+            Duration timeout = Duration.ofSeconds(ConfigReader.config().timeoutSeconds());
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(timeout)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET().build(),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            List<String> depart = options(response.body(), DEPART);
+            List<String> arrive = options(response.body(), ARRIVE);
+            if (response.statusCode() != 200 || depart.isEmpty() || arrive.isEmpty()) {
+                logger.warn("⚠️ Could not read route options from {} (HTTP {}); using cached options if any",
+                        url, response.statusCode());
+                return get();
+            }
+            return Optional.of(store(new RouteMetadata(environmentKey(), depart, arrive)));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("⚠️ Could not fetch route options from {} ({}); using cached options if any", url, e.getMessage());
+            return get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return get();
+        }
+    }
+
+    /**
+     * Caches route options read from the live page, for the current environment.
+     *
+     * @param departCities The departure dropdown's options, in page order.
+     * @param arriveCities The arrival dropdown's options, in page order.
+     * @return The cached route options.
+     */
+    public static synchronized RouteMetadata observe(List<String> departCities, List<String> arriveCities) {
+        return store(new RouteMetadata(environmentKey(), departCities, arriveCities));
+    }
+
+    private static RouteMetadata store(RouteMetadata metadata) {
+        RouteMetadata previous = cache.put(metadata.environment(), metadata);
+        if (previous == null || !previous.optionsHash().equals(metadata.optionsHash())) {
+            logger.info("🗺️ Cached {} departure and {} arrival cities for {} (hash {})", metadata.departCities().size(),
+                    metadata.arriveCities().size(), metadata.environment(), metadata.optionsHash());
+        }
+        Path snapshot = snapshotFile(metadata.environment());
+        if (snapshot != null) {
+            try {
+                Files.createDirectories(snapshot.getParent());
+                Files.writeString(snapshot, GSON.toJson(Map.of(
+                        "environment", metadata.environment(), "departCities", metadata.departCities(),
+                        "arriveCities", metadata.arriveCities(), "optionsHash", metadata.optionsHash(),
+                        "fetchedAtMillis", metadata.fetchedAtMillis())));
+            } catch (IOException e) {
+                logger.warn("Could not write route metadata snapshot {}: {}", snapshot, e.getMessage());
+            }
+        }
+        return metadata;
+    }
+
+    private static RouteMetadata loadSnapshot(String environment) {
+        Path snapshot = snapshotFile(environment);
+        if (snapshot == null || !Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try {
+            JsonObject json = JsonParser.parseString(Files.readString(snapshot)).getAsJsonObject();
+            List<String> depart = strings(json.getAsJsonArray("departCities"));
+            List<String> arrive = strings(json.getAsJsonArray("arriveCities"));
+            String hash = json.get("optionsHash").getAsString();
+            // A snapshot edited by hand, or written for different options, is ignored
+            if (!hash(depart, arrive).equals(hash)) {
+                return null;
+            }
+            return new RouteMetadata(environment, depart, arrive, hash, json.get("fetchedAtMillis").getAsLong());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable route metadata snapshot {}: {}", snapshot, e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<String> strings(JsonArray array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.getAsString()));
+        return values;
+    }
+
+    /**
+     * Extracts the option texts of the named {@code <select>} from the page's HTML.
+     */
+    static List<String> options(String html, String selectName) {
+        Matcher select = Pattern.compile("<select\\b[^>]*\\bname=[\"']?" + Pattern.quote(selectName) + "\\b[^>]*>(.*?)</select>",
+                Pattern.CASE_INSENSITIVE | Pattern.DOTALL).matcher(html);
+        List<String> options = new ArrayList<>();
+        if (select.find()) {
+            Matcher option = OPTION.matcher(select.group(1));
+            while (option.find()) {
+                options.add(text(option.group(1)));
+            }
+        }
+        return options;
+    }
+
+    private static String text(String html) {
+        return html.replaceAll("<[^>]*>", "")
+                .replace("&quot;", "\"").replace("&#39;", "'").replace("&apos;", "'")
+                .replace("&lt;", "<").replace("&gt;", ">").replace("&nbsp;", " ").replace("&amp;", "&")
+                .replaceAll("\\s+", " ").trim();
+    }
+
+    private static String hash(List<String> departCities, List<String> arriveCities) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.join("\n", departCities).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.join("\n", arriveCities).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String environmentKey() {
+        EnvironmentType environment = ConfigReader.config().environment();
+        return environment == null ? "default" : environment.name().toLowerCase();
+    }
+
+    private static Path snapshotFile(String environment) {
+        return CONFIG.snapshotDir() == null ? null : CONFIG.snapshotDir().resolve(environment + ".json");
+    }
+}
@@ -0,0 +1,294 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Adapts the number of concurrent local browser sessions to the pressure on the host.
+ * <p>
+ * The TestNG thread counts become an upper bound: every thread must hold a permit from this limiter
+ * while its browser is open, and the number of permits (the limit) is tuned AIMD-style each time a
+ * session is created:
+ * <ul>
+ *   <li>if the host is overloaded (CPU load above {@code session.limiter.cpu.threshold}, available memory
+ *       below {@code session.limiter.min.free.memory.mb}, or the session took longer than
+ *       {@code session.limiter.latency.threshold.seconds} to start) or session creation failed, the limit
+ *       is multiplied by {@code session.limiter.decrease.factor}, at most once per cooldown;</li>
+ *   <li>otherwise, if threads are waiting for a permit, the limit grows by one.</li>
+ * </ul>
+ * The limit stays between {@code session.limiter.min} and {@code session.limiter.max} (0 = number of CPUs).
+ * CPU load is sampled in the background every {@code session.limiter.cpu.sample.seconds} and averaged over
+ * the last few samples, so the spike of the browser that has just launched does not decide on its own.
+ * Only local sessions are limited; the Grid and the browser pool have their own capacity control.
+ * The limiter is off unless {@code session.limiter.enabled=true}.
+ */
+public class SessionLimiter {
+
+    private static final Logger logger = LogManager.getLogger(SessionLimiter.class);
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+    private static final int CPU_SAMPLES = 5;
+
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static final Condition released = lock.newCondition();
+    // Threads holding a permit; a set rather than a ThreadLocal so the session reaper can release a dead owner's
+    private static final Set<Thread> holders = new HashSet<>();
+
+    private static boolean initialised;
+    private static boolean enabled;
+    private static FrameworkConfig.Limiter config;
+    private static int max;
+    private static int limit;
+    private static int active;
+    private static int waiting;
+    private static long cooldownNanos;
+    private static long lastDecreaseNanos;
+    private static final double[] cpuSamples = new double[CPU_SAMPLES];
+    private static int cpuSampleCount;
+
+    private SessionLimiter() {
+    }
+
+    /**
+     * Blocks until the current thread may open a browser session. Does nothing if the limiter is
+     * disabled or the thread already holds a permit (e.g. a session kept for a retry).
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public static void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            init();
+            if (!enabled || holders.contains(Thread.currentThread())) {
+                return;
+            }
+            if (active >= limit) {
+                logger.info("🎚️ Session limit {} reached, thread {} waits for a free slot", limit, Thread.currentThread().threadId());
+                waiting++;
+                try {
+                    while (active >= limit) {
+                        released.await();
+                    }
+                } finally {
+                    waiting--;
+                }
+            }
+            active++;
+            holders.add(Thread.currentThread());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Feeds the time a new session took to start into the limit and keeps the permit for the session.
+     *
+     * @param creationNanos Session creation time.
+     */
+    public static void onSessionCreated(long creationNanos) {
+        lock.lock();
+        try {
+            if (enabled && holders.contains(Thread.currentThread())) {
+                double seconds = creationNanos / 1e9;
+                String pressure = pressure(seconds > config.latencyThresholdSeconds()
+                        ? String.format("session start took %.1fs", seconds) : null);
+                if (pressure != null) {
+                    decrease(pressure);
+                } else if (waiting > 0 && limit < max) {
+                    setLimit(limit + 1, String.format("healthy (session start %.1fs), %d thread(s) waiting", seconds, waiting));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the permit after a failed session creation and backs off.
+     */
+    public static void onSessionFailed() {
+        lock.lock();
+        try {
+            if (enabled && holders.contains(Thread.currentThread())) {
+                decrease("session creation failed");
+            }
+        } finally {
+            lock.unlock();
+        }
+        release();
+    }
+
+    /**
+     * Returns the current thread's permit, if it holds one.
+     */
+    public static void release() {
+        release(Thread.currentThread());
+    }
+
+    /**
+     * Returns a thread's permit on its behalf, if it holds one; used when its session is reaped.
+     *
+     * @param owner The thread that acquired the permit.
+     */
+    static void release(Thread owner) {
+        lock.lock();
+        try {
+            if (holders.remove(owner)) {
+                active--;
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if the current thread holds a permit.
+     */
+    static boolean holdsPermit() {
+        lock.lock();
+        try {
+            return holders.contains(Thread.currentThread());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Must be called with the lock held. */
+    private static void decrease(String reason) {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos < cooldownNanos) {
+            return;
+        }
+        lastDecreaseNanos = now;
+        setLimit(Math.max(config.min(), (int) Math.floor(limit * config.decreaseFactor())), reason);
+    }
+
+    /** Must be called with the lock held. */
+    private static void setLimit(int newLimit, String reason) {
+        if (newLimit == limit) {
+            return;
+        }
+        logger.info("🎚️ Session limit {} → {} ({}; {} active)", limit, newLimit, reason, active);
+        limit = newLimit;
+        SuiteMetrics.SESSION_LIMIT.set(limit);
+        released.signalAll();
+    }
+
+    /**
+     * @param latency A latency problem already detected by the caller, or null.
+     * @return A description of the pressure on the host, or null if it is not overloaded.
+     */
+    private static String pressure(String latency) {
+        StringBuilder problems = new StringBuilder();
+        double cpu = averageCpuLoad();
+        if (cpu > config.cpuThreshold()) {
+            problems.append(String.format("cpu %.0f%%", cpu * 100));
+        }
+        long freeMb = availableMemoryMb();
+        if (freeMb >= 0 && freeMb < config.minFreeMemoryMb()) {
+            problems.append(problems.isEmpty() ? "" : ", ").append(freeMb).append(" MB free");
+        }
+        if (latency != null) {
+            problems.append(problems.isEmpty() ? "" : ", ").append(latency);
+        }
+        return problems.isEmpty() ? null : problems.toString();
+    }
+
+    /** Must be called with the lock held. */
+    private static double averageCpuLoad() {
+        int count = Math.min(cpuSampleCount, CPU_SAMPLES);
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += cpuSamples[i];
+        }
+        return count == 0 ? -1 : sum / count;
+    }
+
+    private static void sampleCpu() {
+        double load = cpuLoad();
+        if (load < 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            cpuSamples[cpuSampleCount++ % CPU_SAMPLES] = load;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return System-wide CPU load between 0 and 1, or -1 if unknown.
+     */
+    private static double cpuLoad() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            return sunOs.getCpuLoad();
+        }
+        double load = os.getSystemLoadAverage();
+        return load < 0 ? -1 : load / os.getAvailableProcessors();
+    }
+
+    /**
+     * @return Memory available for new processes in MB, or -1 if unknown. On Linux this is MemAvailable,
+     *         which unlike "free" memory counts reclaimable page cache.
+     */
+    private static long availableMemoryMb() {
+        if (Files.isReadable(MEMINFO)) {
+            try {
+                for (String line : Files.readAllLines(MEMINFO)) {
+                    if (line.startsWith("MemAvailable:")) {
+                        return Long.parseLong(line.replaceAll("\\D", "")) / 1024;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // Fall back to the JVM's view
+            }
+        }
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            return sunOs.getFreeMemorySize() / (1024 * 1024);
+        }
+        return -1;
+    }
+
+    /** Must be called with the lock held. */
+    private static void init() {
+        if (initialised) {
+            return;
+        }
+        initialised = true;
+        FrameworkConfig framework = ConfigReader.config();
+        config = framework.limiter();
+        enabled = config.enabled() && !framework.gridEnabled() && !framework.browserPoolEnabled();
+        if (!enabled) {
+            return;
+        }
+        int cpus = Runtime.getRuntime().availableProcessors();
+        max = Math.max(config.min(), config.max() > 0 ? config.max() : cpus);
+        limit = Math.min(max, Math.max(config.min(), config.initial()));
+        cooldownNanos = TimeUnit.SECONDS.toNanos(config.cooldownSeconds());
+        lastDecreaseNanos = System.nanoTime() - cooldownNanos;
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-limiter-cpu");
+            t.setDaemon(true);
+            return t;
+        });
+        sampler.scheduleAtFixedRate(SessionLimiter::sampleCpu, 0, config.cpuSampleSeconds(), TimeUnit.SECONDS);
+        SuiteMetrics.SESSION_LIMIT.set(limit);
+        logger.info("🎚️ Session limiter enabled: limit {} (min {}, max {}, {} CPUs)", limit, config.min(), max, cpus);
+    }
+}
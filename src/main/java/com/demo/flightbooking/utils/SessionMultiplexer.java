@@ -0,0 +1,285 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.browsingcontext.BrowsingContext;
+import org.openqa.selenium.bidi.browsingcontext.CreateContextParameters;
+import org.openqa.selenium.bidi.module.Browser;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import com.demo.flightbooking.enums.BrowserType;
+
+/**
+ * Runs several tests at once inside one browser, each in its own tab.
+ * <p>
+ * With {@code browser.multiplex.contexts=N} (N &gt; 1), {@link DriverManager#getDriver()} no longer launches
+ * a browser per test: it opens a context on a shared host browser, launching another host only when every
+ * existing one already has N contexts. Each context is a tab in its own WebDriver BiDi user context, with a
+ * cookie jar and storage of its own, so resetting or restoring one row's cookies never touches another's.
+ * Plain tabs would share cookies, so a browser without user contexts gets a browser per test instead.
+ * Host browsers are launched outside the registry lock; tests that need a host of the same browser while
+ * one is starting wait for that launch rather than starting one each.
+ * <p>
+ * The handle returned for a context is an ordinary {@link WebDriver}. Every command sent through it (and
+ * through the elements it finds) takes the host's command lock and switches the session to the context's tab
+ * first, so contexts can be driven from different threads, platform or virtual: the lock is a
+ * {@link ReentrantLock} and is only held for the duration of one command, while waits and think time run
+ * concurrently. {@code quit()} and {@code close()} on the handle close just that context; the host browser
+ * is quit when its last context closes.
+ */
+public class SessionMultiplexer {
+
+    private static final Logger logger = LogManager.getLogger(SessionMultiplexer.class);
+    private static final int CONTEXTS_PER_BROWSER = ConfigReader.config().multiplexContexts();
+
+    private static final Map<BrowserType, List<Host>> hosts = new EnumMap<>(BrowserType.class);
+    private static final Map<BrowserType, CompletableFuture<Host>> launches = new EnumMap<>(BrowserType.class);
+    // A lock rather than synchronized, so virtual threads do not pin their carrier
+    private static final ReentrantLock hostsLock = new ReentrantLock();
+    private static final Set<BrowserType> withoutUserContexts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * One shared browser session and the contexts open in it.
+     */
+    private static final class Host {
+        final BrowserType browser;
+        final WebDriver driver;
+        final ReentrantLock commandLock = new ReentrantLock();
+        String currentHandle;
+        int contexts;
+
+        Host(BrowserType browser, WebDriver driver) {
+            this.browser = browser;
+            this.driver = driver;
+            this.currentHandle = driver.getWindowHandle();
+        }
+
+        /** Must be called with the command lock held. */
+        void switchTo(String handle) {
+            if (!handle.equals(currentHandle)) {
+                driver.switchTo().window(handle);
+                currentHandle = handle;
+            }
+        }
+    }
+
+    private SessionMultiplexer() {
+    }
+
+    /**
+     * @return true if tests should share browsers through contexts.
+     */
+    public static boolean isEnabled() {
+        return CONTEXTS_PER_BROWSER > 1;
+    }
+
+    /**
+     * Opens a new isolated context, on a host browser with a free slot or on a newly launched one.
+     * Where the browser has no BiDi user contexts, launches a browser of its own instead.
+     *
+     * @param browser  The browser needed.
+     * @param launcher Creates a new browser session.
+     * @return A driver handle bound to the new context; quitting it closes only the context.
+     */
+    public static WebDriver openContext(BrowserType browser, Supplier<WebDriver> launcher) {
+        if (!withoutUserContexts.contains(browser)) {
+            Host host = reserve(browser, launcher);
+            WebDriver context;
+            try {
+                context = open(host);
+            } catch (RuntimeException e) {
+                release(host);
+                throw e;
+            }
+            if (context != null) {
+                return context;
+            }
+            release(host);
+        }
+        return launcher.get();
+    }
+
+    /**
+     * Takes a free slot on a host, launching a host when none has one. Only one host per browser is
+     * launched at a time, outside the lock; other threads wait for it and then compete for its slots.
+     */
+    private static Host reserve(BrowserType browser, Supplier<WebDriver> launcher) {
+        while (true) {
+            CompletableFuture<Host> pending;
+            boolean launching = false;
+            hostsLock.lock();
+            try {
+                List<Host> running = hosts.computeIfAbsent(browser, b -> new ArrayList<>());
+                for (Host host : running) {
+                    if (host.contexts < CONTEXTS_PER_BROWSER) {
+                        host.contexts++;
+                        return host;
+                    }
+                }
+                pending = launches.get(browser);
+                if (pending == null) {
+                    pending = new CompletableFuture<>();
+                    launches.put(browser, pending);
+                    launching = true;
+                }
+            } finally {
+                hostsLock.unlock();
+            }
+
+            if (launching) {
+                return launch(browser, launcher, pending);
+            }
+            try {
+                pending.join();
+            } catch (CompletionException e) {
+                // That launch failed; try again, launching a host of our own if none is free
+            }
+        }
+    }
+
+    private static Host launch(BrowserType browser, Supplier<WebDriver> launcher, CompletableFuture<Host> pending) {
+        Host host = null;
+        try {
+            WebDriver launched = launcher.get();
+            try {
+                host = new Host(browser, launched instanceof HasBiDi ? launched : new Augmenter().augment(launched));
+            } catch (RuntimeException e) {
+                launched.quit();
+                throw e;
+            }
+        } finally {
+            int running;
+            hostsLock.lock();
+            try {
+                launches.remove(browser);
+                if (host != null) {
+                    host.contexts++;
+                    hosts.get(browser).add(host);
+                }
+                running = hosts.get(browser).size();
+            } finally {
+                hostsLock.unlock();
+            }
+            if (host != null) {
+                logger.info("🗂️ Launched {} host browser #{} for up to {} contexts", browser, running, CONTEXTS_PER_BROWSER);
+                pending.complete(host);
+            } else {
+                pending.completeExceptionally(new IllegalStateException("Failed to launch a " + browser + " host browser"));
+            }
+        }
+        return host;
+    }
+
+    /**
+     * Opens a tab in a new user context of the host.
+     *
+     * @return The handle, or null if the browser has no user contexts.
+     */
+    private static WebDriver open(Host host) {
+        host.commandLock.lock();
+        try {
+            String userContext;
+            String handle;
+            try {
+                userContext = new Browser(host.driver).createUserContext();
+                handle = new BrowsingContext(host.driver,
+                        new CreateContextParameters(WindowType.TAB).userContext(userContext)).getId();
+            } catch (RuntimeException e) {
+                if (withoutUserContexts.add(host.browser)) {
+                    logger.warn("⚠️ {} does not support BiDi user contexts ({}); tabs would share cookies, so each "
+                            + "test gets a browser of its own", host.browser, String.valueOf(e.getMessage()).split("\n")[0]);
+                }
+                return null;
+            }
+            host.switchTo(handle);
+            logger.debug("🗂️ Opened {} context {} (user context {})", host.browser, handle, userContext);
+            return new ContextDecorator(host, handle, userContext).decorate(host.driver);
+        } finally {
+            host.commandLock.unlock();
+        }
+    }
+
+    private static void close(Host host, String handle, String userContext) {
+        host.commandLock.lock();
+        try {
+            // Closes the user context's tab along with its cookies and storage
+            new Browser(host.driver).removeUserContext(userContext);
+            host.currentHandle = null;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to close {} context {}: {}", host.browser, handle, e.getMessage());
+        } finally {
+            host.commandLock.unlock();
+            release(host);
+        }
+    }
+
+    private static void release(Host host) {
+        hostsLock.lock();
+        try {
+            if (--host.contexts > 0) {
+                return;
+            }
+            hosts.get(host.browser).remove(host);
+        } finally {
+            hostsLock.unlock();
+        }
+        try {
+            host.driver.quit();
+            logger.info("🗂️ Quit {} host browser after its last context closed", host.browser);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to quit {} host browser: {}", host.browser, e.getMessage());
+        }
+    }
+
+    /**
+     * Routes every call made through a context handle to the context's tab.
+     */
+    private static final class ContextDecorator extends WebDriverDecorator<WebDriver> {
+        private final Host host;
+        private final String handle;
+        private final String userContext;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        ContextDecorator(Host host, String handle, String userContext) {
+            this.host = host;
+            this.handle = handle;
+            this.userContext = userContext;
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            if (target.getOriginal() instanceof WebDriver
+                    && (method.getName().equals("quit") || method.getName().equals("close"))) {
+                if (closed.compareAndSet(false, true)) {
+                    SessionMultiplexer.close(host, handle, userContext);
+                }
+                return null;
+            }
+            host.commandLock.lock();
+            try {
+                host.switchTo(handle);
+                return super.call(target, method, args);
+            } finally {
+                host.commandLock.unlock();
+            }
+        }
+    }
+}
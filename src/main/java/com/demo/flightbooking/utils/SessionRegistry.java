@@ -0,0 +1,188 @@
+package com.demo.flightbooking.utils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.WebDriver;
+
+import com.demo.flightbooking.factory.BrowserContainerProvider.BrowserContainer;
+
+/**
+ * Tracks every WebDriver session the framework opens, so that sessions nobody will quit do not pile up
+ * on the Grid or the local host.
+ * <p>
+ * {@link DriverManager} registers each new session with its owner thread and test, and unregisters it when
+ * the session is quit. A background reaper quits sessions their owner has {@linkplain #abandon(long) abandoned},
+ * sessions whose owner thread has ended, and sessions older than {@code session.ttl.seconds} (0 = no limit).
+ * TestNG runs tests on pool threads that outlive them, so a test that finishes without quitting its session
+ * is found by being abandoned after its teardown, not by its thread ending. At the end of the suite,
+ * {@link #reapLeaks()} reports and quits whatever is still registered.
+ * <p>
+ * A session also records what its owner acquired for it: the {@link BrowserPool} container it runs in and
+ * the {@link SessionLimiter} permit. Whoever removes the session from the registry releases them, so a
+ * reaped session frees its container and its permit even though its owner never calls {@code quitDriver()}.
+ */
+public class SessionRegistry {
+
+    private static final Logger logger = LogManager.getLogger(SessionRegistry.class);
+
+    private static final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    // Registrations whose owner has finished with the session without quitting it
+    private static final Set<Long> abandoned = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong sequence = new AtomicLong();
+    private static ScheduledExecutorService reaper;
+
+    /**
+     * One open session, who opened it, and the pooled container (or null) and limiter permit it holds.
+     */
+    private record Session(long id, WebDriver driver, String browser, Thread owner, String test, long createdNanos,
+                           BrowserContainer container, boolean limiterPermit) {
+        Session withoutPermit() {
+            return new Session(id, driver, browser, owner, test, createdNanos, container, false);
+        }
+
+        long ageSeconds() {
+            return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - createdNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "session #" + id + " of " + test + " (thread " + owner.getName() + ", " + ageSeconds() + "s old)";
+        }
+    }
+
+    private SessionRegistry() {
+    }
+
+    /**
+     * Registers a newly created session, owned by the current thread and its current test.
+     * If the thread holds a {@link SessionLimiter} permit, the session takes it over.
+     *
+     * @param driver    The new session.
+     * @param browser   The browser it runs, for metrics.
+     * @param container The pooled container the session runs in, or null.
+     * @return The registration id, to pass to {@link #unregister(long)} when the session is quit.
+     */
+    public static long register(WebDriver driver, String browser, BrowserContainer container) {
+        startReaper();
+        String test = ThreadContext.get(TestLogCapture.MDC_KEY);
+        long id = sequence.incrementAndGet();
+        sessions.put(id, new Session(id, driver, browser, Thread.currentThread(),
+                test != null ? test : Thread.currentThread().getName(), System.nanoTime(),
+                container, SessionLimiter.holdsPermit()));
+        return id;
+    }
+
+    /**
+     * Removes a session that its owner is quitting. The owner then returns the session's container and permit.
+     *
+     * @param id The registration id.
+     * @return false if the session was no longer registered, i.e. the reaper has already quit it
+     *         and released its container and permit.
+     */
+    public static boolean unregister(long id) {
+        abandoned.remove(id);
+        return sessions.remove(id) != null;
+    }
+
+    /**
+     * Hands a session its owner has finished with, but not quit, to the reaper, which quits it on its next pass
+     * and returns its container. The owner keeps its limiter permit and must release it itself, since the
+     * thread goes on to run other tests.
+     *
+     * @param id The registration id.
+     */
+    public static void abandon(long id) {
+        sessions.computeIfPresent(id, (key, session) -> {
+            abandoned.add(key);
+            return session.withoutPermit();
+        });
+    }
+
+    /**
+     * @return The number of sessions currently registered.
+     */
+    public static int openSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Reports every session that is still open and quits it. Call once, when no more tests will run.
+     *
+     * @return The number of leaked sessions found.
+     */
+    public static int reapLeaks() {
+        int leaks = 0;
+        for (Session session : sessions.values()) {
+            if (sessions.remove(session.id(), session)) {
+                leaks++;
+                logger.warn("🧟 Leaked {} still open at suite end; quitting it", session);
+                quit(session, "suite_end");
+            }
+        }
+        if (leaks == 0) {
+            logger.info("✅ No leaked WebDriver sessions.");
+        }
+        return leaks;
+    }
+
+    /** One pass of the reaper; package-private for tests. */
+    static void reap() {
+        long ttlSeconds = ConfigReader.config().reaper().ttlSeconds();
+        for (Session session : sessions.values()) {
+            String reason = abandoned.contains(session.id()) ? "owner_finished"
+                    : !session.owner().isAlive() ? "owner_exited"
+                    : ttlSeconds > 0 && session.ageSeconds() > ttlSeconds ? "ttl"
+                    : null;
+            if (reason != null && sessions.remove(session.id(), session)) {
+                logger.warn("🧟 Reaping {}: {}", session, switch (reason) {
+                    case "owner_finished" -> "its test finished without quitting it";
+                    case "owner_exited" -> "owner thread ended";
+                    default -> "older than " + ttlSeconds + "s";
+                });
+                quit(session, reason);
+            }
+        }
+    }
+
+    private static void quit(Session session, String reason) {
+        abandoned.remove(session.id());
+        SuiteMetrics.SESSIONS_REAPED.inc(reason);
+        SuiteMetrics.ACTIVE_SESSIONS.dec(session.browser());
+        boolean quitCleanly = false;
+        try {
+            session.driver().quit();
+            quitCleanly = true;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to quit {}: {}", session, e.getMessage());
+        } finally {
+            if (session.container() != null) {
+                BrowserPool.get().release(session.container(), quitCleanly);
+            }
+            if (session.limiterPermit()) {
+                SessionLimiter.release(session.owner());
+            }
+        }
+    }
+
+    private static synchronized void startReaper() {
+        if (reaper != null) {
+            return;
+        }
+        int interval = ConfigReader.config().reaper().intervalSeconds();
+        reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-reaper");
+            t.setDaemon(true);
+            return t;
+        });
+        reaper.scheduleWithFixedDelay(SessionRegistry::reap, interval, interval, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,283 @@
+package com.demo.flightbooking.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small, dependency-free metrics registry for live suite progress.
+ * Counters, gauges and histograms are updated from the TestNG listener, the retry analyzer,
+ * DriverManager and WebDriverUtils, and rendered in the Prometheus text exposition format
+ * (which is also what the Pushgateway and node_exporter's textfile collector accept).
+ *
+ * All updates are lock-free, so the hooks are cheap enough to leave on permanently;
+ * the metrics are only exposed when {@link MetricsExporter} is enabled.
+ */
+public class SuiteMetrics {
+
+    private static final List<Metric> registry = new ArrayList<>();
+
+    // --- Test progress (fed by TestListener) ---
+    public static final Gauge TESTS_RUNNING = register(new Gauge(
+            "flightbooking_tests_running", "Test methods currently executing", null));
+    public static final Counter TESTS_PASSED = register(new Counter(
+            "flightbooking_tests_passed_total", "Test invocations that passed", "browser"));
+    public static final Counter TESTS_FAILED = register(new Counter(
+            "flightbooking_tests_failed_total", "Test invocations that failed", "browser"));
+    public static final Counter TESTS_SKIPPED = register(new Counter(
+            "flightbooking_tests_skipped_total", "Test invocations that were skipped", "browser"));
+    public static final Counter TESTS_RETRIED = register(new Counter(
+            "flightbooking_tests_retried_total", "Test invocations that were re-queued for retry", "browser"));
+
+    // --- Retry decisions (fed by RetryAnalyzer) ---
+    public static final Counter RETRY_DECISIONS = register(new Counter(
+            "flightbooking_retry_decisions_total", "Retry analyzer decisions", "decision"));
+
+    public static final Counter STEP_RETRIES = register(new Counter(
+            "flightbooking_step_retries_total", "Page-object steps retried in place (fed by PageStep)", "step"));
+
+    // --- Environment health (fed by CircuitBreaker) ---
+    public static final Counter CIRCUIT_BREAKER_TRIPS = register(new Counter(
+            "flightbooking_circuit_breaker_trips_total", "Times the suite circuit breaker opened", null));
+
+    // --- Driver lifecycle (fed by DriverManager) ---
+    public static final Histogram DRIVER_CREATION_SECONDS = register(new Histogram(
+            "flightbooking_driver_creation_seconds", "Time taken to create a WebDriver session", "browser",
+            0.5, 1, 2.5, 5, 10, 20, 30, 60));
+    public static final Gauge ACTIVE_SESSIONS = register(new Gauge(
+            "flightbooking_active_sessions", "WebDriver sessions currently open", "browser"));
+    public static final Counter SESSIONS_REAPED = register(new Counter(
+            "flightbooking_sessions_reaped_total", "Leaked WebDriver sessions quit by the session reaper", "reason"));
+    public static final Gauge DRIVER_CREATION_QUEUE = register(new Gauge(
+            "flightbooking_driver_creation_queue_depth", "Threads currently waiting for a WebDriver session", null));
+    public static final Gauge POOL_CONTAINERS = register(new Gauge(
+            "flightbooking_browser_pool_containers", "Browser containers currently running in the pool", "browser"));
+    public static final Gauge SESSION_LIMIT = register(new Gauge(
+            "flightbooking_session_limit", "Concurrent local sessions currently admitted by the session limiter", null));
+
+    // --- Remote WebDriver transport (fed by RemoteHttpClientFactory) ---
+    public static final Counter WEBDRIVER_HTTP_CLIENTS = register(new Counter(
+            "flightbooking_webdriver_http_clients_total", "Remote WebDriver HTTP clients sharing the pooled connections", null));
+    public static final Counter WEBDRIVER_HTTP_REQUESTS = register(new Counter(
+            "flightbooking_webdriver_http_requests_total", "Remote WebDriver commands sent over the shared HTTP client", "version"));
+
+    // --- Explicit waits (fed by WebDriverUtils) ---
+    public static final Histogram WAIT_SECONDS = register(new Histogram(
+            "flightbooking_wait_seconds", "Time spent in explicit waits", "condition",
+            0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60));
+
+    private static <T extends Metric> T register(T metric) {
+        registry.add(metric);
+        return metric;
+    }
+
+    /**
+     * Renders all registered metrics in the Prometheus text exposition format (version 0.0.4).
+     *
+     * @return The scrape payload.
+     */
+    public static String scrape() {
+        StringBuilder sb = new StringBuilder(2048);
+        for (Metric metric : registry) {
+            sb.append("# HELP ").append(metric.name).append(' ').append(metric.help).append('\n');
+            sb.append("# TYPE ").append(metric.name).append(' ').append(metric.type()).append('\n');
+            metric.render(sb);
+        }
+        return sb.toString();
+    }
+
+    private static String labels(String labelName, String labelValue, String extra) {
+        StringBuilder sb = new StringBuilder();
+        if (labelName != null) {
+            sb.append(labelName).append("=\"").append(escape(labelValue)).append('"');
+        }
+        if (extra != null) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(extra);
+        }
+        return sb.length() == 0 ? "" : "{" + sb + "}";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String key(String labelValue) {
+        return labelValue == null || labelValue.isBlank() ? "unknown" : labelValue.toLowerCase();
+    }
+
+    /**
+     * Base class for all metric types. Each metric supports at most one label dimension.
+     */
+    public abstract static class Metric {
+        protected final String name;
+        protected final String help;
+        protected final String labelName;
+
+        Metric(String name, String help, String labelName) {
+            this.name = name;
+            this.help = help;
+            this.labelName = labelName;
+        }
+
+        abstract String type();
+
+        abstract void render(StringBuilder sb);
+    }
+
+    /**
+     * A monotonically increasing counter.
+     */
+    public static final class Counter extends Metric {
+        private final Map<String, LongAdder> values = new ConcurrentSkipListMap<>();
+
+        Counter(String name, String help, String labelName) {
+            super(name, help, labelName);
+        }
+
+        public void inc() {
+            inc(null);
+        }
+
+        public void inc(String labelValue) {
+            values.computeIfAbsent(key(labelValue), k -> new LongAdder()).increment();
+        }
+
+        @Override
+        String type() {
+            return "counter";
+        }
+
+        @Override
+        void render(StringBuilder sb) {
+            values.forEach((label, value) -> sb.append(name).append(labels(labelName, label, null))
+                    .append(' ').append(value.sum()).append('\n'));
+        }
+    }
+
+    /**
+     * A value that can go up and down, e.g. tests currently running.
+     */
+    public static final class Gauge extends Metric {
+        private final Map<String, LongAdder> values = new ConcurrentSkipListMap<>();
+
+        Gauge(String name, String help, String labelName) {
+            super(name, help, labelName);
+        }
+
+        public void inc() {
+            inc(null);
+        }
+
+        public void dec() {
+            dec(null);
+        }
+
+        public void inc(String labelValue) {
+            values.computeIfAbsent(key(labelValue), k -> new LongAdder()).increment();
+        }
+
+        public void dec(String labelValue) {
+            values.computeIfAbsent(key(labelValue), k -> new LongAdder()).decrement();
+        }
+
+        /**
+         * Overwrites the unlabelled value. Not atomic with respect to concurrent inc/dec,
+         * so only use it for gauges that are always set, never incremented.
+         */
+        public void set(long value) {
+            LongAdder adder = values.computeIfAbsent(key(null), k -> new LongAdder());
+            adder.reset();
+            adder.add(value);
+        }
+
+        @Override
+        String type() {
+            return "gauge";
+        }
+
+        @Override
+        void render(StringBuilder sb) {
+            if (values.isEmpty()) {
+                sb.append(name).append(labels(labelName, "unknown", null)).append(" 0\n");
+            }
+            values.forEach((label, value) -> sb.append(name).append(labels(labelName, label, null))
+                    .append(' ').append(value.sum()).append('\n'));
+        }
+    }
+
+    /**
+     * A cumulative histogram with fixed upper bounds (in seconds).
+     */
+    public static final class Histogram extends Metric {
+        private final double[] bounds;
+        private final Map<String, Buckets> values = new ConcurrentHashMap<>();
+
+        Histogram(String name, String help, String labelName, double... bounds) {
+            super(name, help, labelName);
+            this.bounds = bounds;
+        }
+
+        public void observe(String labelValue, double seconds) {
+            values.computeIfAbsent(key(labelValue), k -> new Buckets(bounds.length)).observe(bounds, seconds);
+        }
+
+        /**
+         * Convenience method to observe an elapsed time measured with {@link System#nanoTime()}.
+         */
+        public void observeSince(String labelValue, long startNanos) {
+            observe(labelValue, (System.nanoTime() - startNanos) / 1_000_000_000.0);
+        }
+
+        @Override
+        String type() {
+            return "histogram";
+        }
+
+        @Override
+        void render(StringBuilder sb) {
+            new ConcurrentSkipListMap<>(values).forEach((label, buckets) -> {
+                long cumulative = 0;
+                for (int i = 0; i < bounds.length; i++) {
+                    cumulative += buckets.counts[i].sum();
+                    sb.append(name).append("_bucket").append(labels(labelName, label, "le=\"" + bounds[i] + "\""))
+                      .append(' ').append(cumulative).append('\n');
+                }
+                cumulative += buckets.counts[bounds.length].sum();
+                sb.append(name).append("_bucket").append(labels(labelName, label, "le=\"+Inf\""))
+                  .append(' ').append(cumulative).append('\n');
+                sb.append(name).append("_sum").append(labels(labelName, label, null))
+                  .append(' ').append(buckets.sum.sum()).append('\n');
+                sb.append(name).append("_count").append(labels(labelName, label, null))
+                  .append(' ').append(cumulative).append('\n');
+            });
+        }
+
+        private static final class Buckets {
+            private final LongAdder[] counts;
+            private final DoubleAdder sum = new DoubleAdder();
+
+            private Buckets(int size) {
+                counts = new LongAdder[size + 1];
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = new LongAdder();
+                }
+            }
+
+            private void observe(double[] bounds, double value) {
+                int i = 0;
+                while (i < bounds.length && value > bounds[i]) {
+                    i++;
+                }
+                counts[i].increment();
+                sum.add(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.demo.flightbooking.utils;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+
+/**
+ * Captures the log output of each test in memory, so it can be attached to the report when
+ * (and only when) the test fails.
+ * <p>
+ * Events are routed by the {@code testId} MDC key set in {@link #begin(String)}. The framework's
+ * loggers run at INFO by default; with {@code -Dlog.level.framework=debug} they feed this capture
+ * at DEBUG while the console and file appenders stay at INFO (see log4j2.xml), so a failing test
+ * keeps its full step-by-step trail without that detail being written for every passing test.
+ * Each buffer keeps at most {@code log.capture.max.lines} of the most recent lines.
+ * <p>
+ * Loggers are asynchronous, so the appender runs on the logging thread. {@link #end(boolean)} publishes
+ * an end marker for the test and waits until the appender has seen it, which guarantees that
+ * every earlier event of the test has been captured. The marker bypasses the logger's level, so this
+ * also holds when the framework loggers are at INFO; it is published at DEBUG, which the console and
+ * file appender references filter out.
+ */
+public class TestLogCapture {
+
+    private static final Logger logger = LogManager.getLogger(TestLogCapture.class);
+    private static final String FQCN = TestLogCapture.class.getName();
+
+    public static final String MDC_KEY = "testId";
+    private static final Marker END_MARKER = MarkerManager.getMarker("TEST_LOG_END");
+    private static final String APPENDER_NAME = "TestLogCapture";
+    private static final String PATTERN = "%d{HH:mm:ss.SSS} %-5p %c{1} - %m%n";
+    private static final long DRAIN_TIMEOUT_MS = 2000;
+
+    private static final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+    private static final AtomicLong sequence = new AtomicLong();
+    private static volatile boolean installed;
+
+    private TestLogCapture() {
+    }
+
+    /**
+     * The captured lines of one test, bounded to the most recent {@code maxLines}.
+     */
+    private static final class Buffer {
+        private final ArrayDeque<String> lines = new ArrayDeque<>();
+        private final CountDownLatch drained = new CountDownLatch(1);
+        private final int maxLines;
+        private int dropped;
+
+        Buffer(int maxLines) {
+            this.maxLines = maxLines;
+        }
+
+        synchronized void add(String line) {
+            if (lines.size() == maxLines) {
+                lines.removeFirst();
+                dropped++;
+            }
+            lines.addLast(line);
+        }
+
+        synchronized String render() {
+            StringBuilder sb = new StringBuilder();
+            if (dropped > 0) {
+                sb.append("... ").append(dropped).append(" earlier line(s) omitted ...").append(System.lineSeparator());
+            }
+            lines.forEach(sb::append);
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Appender that copies every event carrying a known {@code testId} into that test's buffer.
+     */
+    private static final class CaptureAppender extends AbstractAppender {
+
+        CaptureAppender() {
+            super(APPENDER_NAME, null, PatternLayout.newBuilder().withPattern(PATTERN).build(), true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            String testId = event.getContextData().getValue(MDC_KEY);
+            Buffer buffer = testId == null ? null : buffers.get(testId);
+            if (buffer == null) {
+                return;
+            }
+            if (END_MARKER.equals(event.getMarker())) {
+                buffer.drained.countDown();
+            } else {
+                buffer.add(getLayout().toSerializable(event).toString());
+            }
+        }
+    }
+
+    /**
+     * Registers the capture appender on the root and framework loggers. Safe to call more than once.
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        LoggerContext context = LoggerContext.getContext(false);
+        Configuration configuration = context.getConfiguration();
+        Appender appender = new CaptureAppender();
+        appender.start();
+        configuration.addAppender(appender);
+        for (LoggerConfig loggerConfig : configuration.getLoggers().values()) {
+            loggerConfig.addAppender(appender, Level.DEBUG, null);
+        }
+        if (!configuration.getLoggers().containsValue(configuration.getRootLogger())) {
+            configuration.getRootLogger().addAppender(appender, Level.DEBUG, null);
+        }
+        context.updateLoggers();
+        installed = true;
+        logger.info("Per-test log capture installed.");
+    }
+
+    /**
+     * Starts capturing the current thread's log output for a test.
+     *
+     * @param testName A readable name for the test; made unique per invocation.
+     */
+    public static void begin(String testName) {
+        if (!installed) {
+            return;
+        }
+        String testId = testName + "#" + sequence.incrementAndGet();
+        buffers.put(testId, new Buffer(ConfigReader.config().logCaptureMaxLines()));
+        ThreadContext.put(MDC_KEY, testId);
+    }
+
+    /**
+     * Stops capturing for the current thread's test.
+     *
+     * @param keep Whether the captured output is wanted (e.g. the test failed).
+     * @return The captured lines when {@code keep} is true and anything was captured, otherwise null.
+     */
+    public static String end(boolean keep) {
+        String testId = ThreadContext.get(MDC_KEY);
+        if (testId == null) {
+            return null;
+        }
+        try {
+            if (!keep) {
+                return null;
+            }
+            Buffer buffer = buffers.get(testId);
+            if (buffer == null) {
+                return null;
+            }
+            // logMessage skips the level check that debug() would apply
+            ((ExtendedLogger) logger).logMessage(FQCN, Level.DEBUG, END_MARKER,
+                    new SimpleMessage("End of captured log for " + testId), null);
+            if (!buffer.drained.await(DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                logger.warn("Timed out waiting for buffered log events of {}; captured log may be incomplete.", testId);
+            }
+            String captured = buffer.render();
+            return captured.isEmpty() ? null : captured;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            buffers.remove(testId);
+            ThreadContext.remove(MDC_KEY);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
@@ -18,9 +17,43 @@ import java.util.List;
  */
 public class WebDriverUtils {
 
+    private static final Logger logger = LogManager.getLogger(WebDriverUtils.class);
+
+    // Per-element actions are DEBUG events, written once per action and only formatted when DEBUG (or the
+    // binary event log) is enabled; they are kept in the per-test log capture (see TestLogCapture)
+    private static final EventLog events = EventLog.forClass(WebDriverUtils.class);
+    private static final EventLog.Event ELEMENT_FOUND = events.debug("element.found", "Found element: {}");
+    private static final EventLog.Event ELEMENTS_FOUND = events.debug("elements.found", "Found {} elements for locator: {}");
+    private static final EventLog.Event CLICKED = events.debug("element.clicked", "Clicked element: {}");
+    private static final EventLog.Event KEYS_SENT = events.debug("element.keys", "Sent keys '{}' to element: {}");
+    private static final EventLog.Event OPTION_SELECTED = events.debug("dropdown.selected", "Selected '{}' from dropdown: {}");
+    private static final EventLog.Event TEXT_READ = events.debug("element.text", "Retrieved text '{}' from element: {}");
+    private static final EventLog.Event NOT_DISPLAYED = events.debug("element.hidden", "Element {} is not displayed.");
+
+    private static final String LIST_OPTIONS_SCRIPT =
+            "return Array.prototype.map.call(arguments[0].options, function (o) { return o.text.replace(/\\s+/g, ' ').trim(); });";
+
+    // Finds and selects the option in one round trip; returns 'selected', 'missing' or 'disabled'
+    private static final String SELECT_OPTION_SCRIPT = """
+            var select = arguments[0], matchBy = arguments[1], wanted = arguments[2];
+            function norm(s) { return s.replace(/\\s+/g, ' ').trim(); }
+            for (var i = 0; i < select.options.length; i++) {
+              var option = select.options[i];
+              if (matchBy === 'value' ? option.value === wanted : norm(option.text) === norm(wanted)) {
+                if (option.disabled) return 'disabled';
+                if (!option.selected) {
+                  option.selected = true;
+                  select.dispatchEvent(new Event('input', { bubbles: true }));
+                  select.dispatchEvent(new Event('change', { bubbles: true }));
+                }
+                return 'selected';
+              }
+            }
+            return 'missing';
+            """;
+
     private final WebDriver driver;
     private final WebDriverWait wait;
-    private final Logger logger;
 
     /**
      * Constructor for WebDriverUtils.
@@ -31,7 +64,6 @@ public class WebDriverUtils {
     public WebDriverUtils(WebDriver driver, int timeoutSeconds) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        this.logger = LogManager.getLogger(WebDriverUtils.class); // Logger for this utility class
     }
 
     /**
@@ -42,14 +74,16 @@ public class WebDriverUtils {
      * @throws TimeoutException if the element is not found within the timeout period.
      */
     public WebElement findElement(By locator) {
-        logger.debug("Attempting to find element by: {}", locator);
+        long start = System.nanoTime();
         try {
             WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            logger.info("Found element: {}", locator);
+            ELEMENT_FOUND.log(locator);
             return element;
         } catch (TimeoutException e) {
             logger.error("Element not found or not visible within timeout: {}", locator, e);
             throw new NoSuchElementException("Element not found or not visible: " + locator, e);
+        } finally {
+            SuiteMetrics.WAIT_SECONDS.observeSince("visible", start);
         }
     }
 
@@ -61,14 +95,16 @@ public class WebDriverUtils {
      * @throws TimeoutException if no elements are found within the timeout period.
      */
     public List<WebElement> findElements(By locator) {
-        logger.debug("Attempting to find elements by: {}", locator);
+        long start = System.nanoTime();
         try {
             List<WebElement> elements = wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
-            logger.info("Found {} elements for locator: {}", elements.size(), locator);
+            ELEMENTS_FOUND.log(elements.size(), locator);
             return elements;
         } catch (TimeoutException e) {
             logger.warn("No elements found or not visible within timeout for: {}", locator);
             return List.of(); // Return an empty list instead of throwing an exception if no elements are found
+        } finally {
+            SuiteMetrics.WAIT_SECONDS.observeSince("all_visible", start);
         }
     }
 
@@ -78,11 +114,12 @@ public class WebDriverUtils {
      * @param locator The By locator of the element to click.
      */
     public void click(By locator) {
-        logger.info("Clicking element: {}", locator);
         try {
+            long start = System.nanoTime();
             WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+            SuiteMetrics.WAIT_SECONDS.observeSince("clickable", start);
             element.click();
-            logger.info("Successfully clicked element: {}", locator);
+            CLICKED.log(locator);
         } catch (TimeoutException e) {
             logger.error("Element not clickable within timeout: {}", locator, e);
             throw new ElementClickInterceptedException("Element not clickable: " + locator, e);
@@ -100,12 +137,11 @@ public class WebDriverUtils {
      * @param text The text to send.
      */
     public void sendKeys(By locator, String text) {
-        logger.info("Sending keys '{}' to element: {}", text, locator);
         try {
             WebElement element = findElement(locator); // Uses findElement to ensure visibility
             element.clear();
             element.sendKeys(text);
-            logger.info("Successfully sent keys '{}' to element: {}", text, locator);
+            KEYS_SENT.log(text, locator);
         } catch (WebDriverException e) {
             logger.error("Error sending keys to element {}: {}", locator, e.getMessage(), e);
             throw e;
@@ -114,19 +150,46 @@ public class WebDriverUtils {
 
     /**
      * Selects an option from a dropdown by visible text.
+     * The option is found and selected in a single script execution (see {@link #selectOption}),
+     * however many options the dropdown has.
      *
      * @param locator The By locator of the select element.
      * @param text The visible text of the option to select.
      */
     public void selectByVisibleText(By locator, String text) {
-        logger.info("Selecting '{}' from dropdown: {}", text, locator);
+        select(locator, "text", text);
+    }
+
+    /**
+     * Selects an option from a dropdown by its value attribute, in a single script execution.
+     *
+     * @param locator The By locator of the select element.
+     * @param value The value of the option to select.
+     */
+    public void selectByValue(By locator, String value) {
+        select(locator, "value", value);
+    }
+
+    /**
+     * Lists the visible text of every option in a dropdown, in a single script execution
+     * instead of one {@code getText} round trip per option.
+     *
+     * @param locator The By locator of the select element.
+     * @return The option texts, in document order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getDropdownOptions(By locator) {
+        WebElement selectElement = findElement(locator); // Uses findElement to ensure visibility
+        return (List<String>) ((JavascriptExecutor) driver).executeScript(LIST_OPTIONS_SCRIPT, selectElement);
+    }
+
+    private void select(By locator, String matchBy, String match) {
         try {
             WebElement selectElement = findElement(locator); // Uses findElement to ensure visibility
-            Select select = new Select(selectElement);
-            select.selectByVisibleText(text);
-            logger.info("Successfully selected '{}' from dropdown: {}", text, locator);
+            selectOption(driver, selectElement, matchBy, match);
+            OPTION_SELECTED.log(match, locator);
         } catch (NoSuchElementException e) {
-            logger.error("Option with text '{}' not found in dropdown {}.", text, locator, e);
+            logger.error("Option with {} '{}' not found in dropdown {}.", matchBy, match, locator, e);
             throw e;
         } catch (WebDriverException e) {
             logger.error("Error selecting from dropdown {}: {}", locator, e.getMessage(), e);
@@ -134,6 +197,28 @@ public class WebDriverUtils {
         }
     }
 
+    /**
+     * Selects the first option of a {@code <select>} whose visible text (whitespace-normalised, as in
+     * Selenium's {@code Select}) or value matches, in one script execution. If the selection changes,
+     * {@code input} and {@code change} events are fired, as they would be for a user's choice.
+     *
+     * @param driver        The WebDriver instance.
+     * @param selectElement The select element.
+     * @param matchBy       "text" or "value".
+     * @param match         The text or value to select.
+     * @throws NoSuchElementException if no option matches.
+     * @throws UnsupportedOperationException if the matching option is disabled.
+     */
+    public static void selectOption(WebDriver driver, WebElement selectElement, String matchBy, String match) {
+        Object outcome = ((JavascriptExecutor) driver).executeScript(SELECT_OPTION_SCRIPT, selectElement, matchBy, match);
+        if ("missing".equals(outcome)) {
+            throw new NoSuchElementException("Cannot locate option with " + matchBy + ": " + match);
+        }
+        if ("disabled".equals(outcome)) {
+            throw new UnsupportedOperationException("You may not select a disabled option: " + match);
+        }
+    }
+
     /**
      * Gets the text of a web element after waiting for it to be visible.
      *
@@ -141,10 +226,9 @@ public class WebDriverUtils {
      * @return The text of the element.
      */
     public String getText(By locator) {
-        logger.debug("Getting text from element: {}", locator);
         WebElement element = findElement(locator); // Uses findElement to ensure visibility
         String text = element.getText();
-        logger.info("Retrieved text '{}' from element: {}", text, locator);
+        TEXT_READ.log(text, locator);
         return text;
     }
 
@@ -155,11 +239,10 @@ public class WebDriverUtils {
      * @return true if the element is displayed, false otherwise.
      */
     public boolean isElementDisplayed(By locator) {
-        logger.debug("Checking if element is displayed: {}", locator);
         try {
             return findElement(locator).isDisplayed();
         } catch (NoSuchElementException | TimeoutException e) {
-            logger.info("Element {} is not displayed.", locator);
+            NOT_DISPLAYED.log(locator);
             return false;
         } catch (StaleElementReferenceException e) {
             logger.warn("StaleElementReferenceException while checking display status for {}. Retrying...", locator);
@@ -181,11 +264,14 @@ public class WebDriverUtils {
      */
     public boolean waitUntilUrlContains(String urlChunk) {
         logger.info("Waiting for URL to contain: {}", urlChunk);
+        long start = System.nanoTime();
         try {
             return wait.until(ExpectedConditions.urlContains(urlChunk));
         } catch (TimeoutException e) {
             logger.error("URL did not contain '{}' within timeout. Current URL: {}", urlChunk, driver.getCurrentUrl());
             return false;
+        } finally {
+            SuiteMetrics.WAIT_SECONDS.observeSince("url", start);
         }
     }
 
@@ -197,37 +283,59 @@ public class WebDriverUtils {
      */
     public boolean waitUntilTitleContains(String titleChunk) {
         logger.info("Waiting for title to contain: {}", titleChunk);
+        long start = System.nanoTime();
         try {
             return wait.until(ExpectedConditions.titleContains(titleChunk));
         } catch (TimeoutException e) {
             logger.error("Page title did not contain '{}' within timeout. Current title: {}", titleChunk, driver.getTitle());
             return false;
+        } finally {
+            SuiteMetrics.WAIT_SECONDS.observeSince("title", start);
         }
     }
 
     // ADDED: Wait until document.readyState === "complete"
     public static void waitForPageLoad(WebDriver driver, Duration timeout) {
-        new WebDriverWait(driver, timeout)
-                .until(d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+        long start = System.nanoTime();
+        try {
+            new WebDriverWait(driver, timeout)
+                    .until(d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+        } finally {
+            SuiteMetrics.WAIT_SECONDS.observeSince("page_load", start);
+        }
     }
 
     // ADDED: Wait until jQuery is idle (or not present)
     public static void waitForAjaxComplete(WebDriver driver, Duration timeout) {
-        new WebDriverWait(driver, timeout).until(d -> {
-            Object js = ((JavascriptExecutor) d).executeScript(
-                    "return (typeof jQuery === 'undefined') ? true : (jQuery.active === 0)");
-            return Boolean.TRUE.equals(js);
-        });
+        long start = System.nanoTime();
+        try {
+            new WebDriverWait(driver, timeout).until(d -> {
+                Object js = ((JavascriptExecutor) d).executeScript(
+                        "return (typeof jQuery === 'undefined') ? true : (jQuery.active === 0)");
+                return Boolean.TRUE.equals(js);
+            });
+        } finally {
+            SuiteMetrics.WAIT_SECONDS.observeSince("ajax", start);
+        }
     }
 
     // ADDED: Click with element-to-be-clickable + JS fallback if intercepted
     public static void click(WebDriver driver, By locator, Duration timeout) {
-        WebElement el = new WebDriverWait(driver, timeout)
-                .until(ExpectedConditions.elementToBeClickable(locator));
+        click(driver, CompositeWait.on(driver).clickable(locator).until(timeout));
+    }
+
+    /**
+     * Clicks an element that is already known to be clickable (e.g. returned by a {@link CompositeWait}),
+     * falling back to a JavaScript click if the native click is intercepted.
+     *
+     * @param driver  The WebDriver instance.
+     * @param element The element to click.
+     */
+    public static void click(WebDriver driver, WebElement element) {
         try {
-            el.click();
+            element.click();
         } catch (RuntimeException e) {
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", el);
+            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
         }
     }
 
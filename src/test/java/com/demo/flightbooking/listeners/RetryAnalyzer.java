@@ -1,23 +1,42 @@
 package com.demo.flightbooking.listeners;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
+import com.demo.flightbooking.enums.FailureCategory;
 // Import ConfigReader from the utils package
 import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.CircuitBreaker;
+import com.demo.flightbooking.utils.FailureClassifier;
+import com.demo.flightbooking.utils.FrameworkConfig;
+import com.demo.flightbooking.utils.SuiteMetrics;
 
 /**
  * An implementation of TestNG's IRetryAnalyzer interface.
- * This class is used to automatically re-run a failed test a certain number of times.
- * This can be useful for handling flaky tests that might fail due to intermittent
- * environmental or network issues.
+ * This class is used to automatically re-run a failed test, but only when the failure
+ * is likely to be transient. Each failure is classified (infrastructure, timing, assertion, locator, unknown)
+ * and retried only while the budget for its category and the overall retry cap allow it.
+ * Infrastructure failures back off exponentially before the retry; real assertion failures and
+ * broken locators are not retried by default, so no time is wasted re-running genuine defects.
+ * Nothing is retried while the suite {@link CircuitBreaker} is open.
  */
 public class RetryAnalyzer implements IRetryAnalyzer {
 
+    private static final Logger logger = LogManager.getLogger(RetryAnalyzer.class);
+
+    /**
+     * Result attribute holding the decision, so it is made exactly once per failed invocation
+     * no matter whether TestNG or BaseTest's teardown asks first.
+     */
+    private static final String DECISION_ATTRIBUTE = "retry.decision";
+
+    private final Map<FailureCategory, Integer> attempts = new EnumMap<>(FailureCategory.class);
     private int retryCount = 0;
-    
-    // Read the max retry count from the config file.
-    private static final int maxRetryCount = ConfigReader.getPropertyAsInt("test.retry.maxcount");
 
     /**
      * This method is called by TestNG when a test fails.
@@ -28,10 +47,67 @@ public class RetryAnalyzer implements IRetryAnalyzer {
      */
     @Override
     public boolean retry(ITestResult result) {
-        if (retryCount < maxRetryCount) {
+        RetryDecision decision = decide(result);
+        if (decision.retry() && decision.backoffMillis() > 0) {
+            try {
+                Thread.sleep(decision.backoffMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return decision.retry();
+    }
+
+    /**
+     * Returns which attempt of its test item a starting invocation is: 1, plus the retries granted so far.
+     * Each data row has its own analyzer, so rows are counted separately.
+     *
+     * @param result The invocation.
+     * @return The 1-based attempt number.
+     */
+    public static int attemptOf(ITestResult result) {
+        return result.getMethod().getRetryAnalyzer(result) instanceof RetryAnalyzer analyzer
+                ? analyzer.retriesGranted() + 1
+                : 1;
+    }
+
+    private synchronized int retriesGranted() {
+        return retryCount;
+    }
+
+    /**
+     * Classifies the failure and decides whether it will be retried, consuming retry budget
+     * only the first time it is asked for a given result.
+     *
+     * @param result The failed test result.
+     * @return The retry decision for this invocation.
+     */
+    public synchronized RetryDecision decide(ITestResult result) {
+        if (result.getAttribute(DECISION_ATTRIBUTE) instanceof RetryDecision existing) {
+            return existing;
+        }
+
+        FrameworkConfig config = ConfigReader.config();
+        FailureCategory category = FailureClassifier.classify(result.getThrowable());
+        int used = attempts.getOrDefault(category, 0);
+        int budget = config.retryBudgets().get(category);
+
+        RetryDecision decision;
+        if (used < budget && retryCount < config.retryMaxCount() && !CircuitBreaker.isOpen()) {
+            attempts.put(category, used + 1);
             retryCount++;
-            return true; // Return true to signal TestNG to retry the test
+            long backoff = category == FailureCategory.INFRA
+                    ? config.retryBackoffMillis() << used // exponential: base, 2x base, 4x base, ...
+                    : 0;
+            decision = new RetryDecision(category, true, used + 1, budget, backoff);
+            SuiteMetrics.RETRY_DECISIONS.inc(category.name() + "_retry");
+        } else {
+            decision = new RetryDecision(category, false, 0, budget, 0);
+            SuiteMetrics.RETRY_DECISIONS.inc(category.name() + "_no_retry");
         }
-        return false; // Return false to stop retrying
+
+        logger.info("🔁 {}: {}", result.getMethod().getMethodName(), decision);
+        result.setAttribute(DECISION_ATTRIBUTE, decision);
+        return decision;
     }
-}
\ No newline at end of file
+}
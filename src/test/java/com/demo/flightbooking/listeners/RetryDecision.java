@@ -0,0 +1,39 @@
+package com.demo.flightbooking.listeners;
+
+import com.demo.flightbooking.enums.FailureCategory;
+
+/**
+ * The outcome of {@link RetryAnalyzer} evaluating one failed test invocation.
+ *
+ * @param category      The classified cause of the failure.
+ * @param retry         Whether the test will be re-run.
+ * @param attempt       The retry attempt number within the category (1-based), or 0 if not retried.
+ * @param budget        The retry budget of the category.
+ * @param backoffMillis The delay applied before the retry starts.
+ */
+public record RetryDecision(
+    FailureCategory category,
+    boolean retry,
+    int attempt,
+    int budget,
+    long backoffMillis
+) {
+
+    /**
+     * Timing failures leave the browser session in a usable state, so the retry
+     * can run in the same browser instead of paying for a quit and relaunch.
+     *
+     * @return true if the current session should be kept for the retry.
+     */
+    public boolean reuseSession() {
+        return retry && category == FailureCategory.TIMING;
+    }
+
+    @Override
+    public String toString() {
+        return retry
+                ? String.format("%s failure, retry %d/%d%s", category, attempt, budget,
+                        backoffMillis > 0 ? " after " + backoffMillis + " ms" : "")
+                : String.format("%s failure, not retried", category);
+    }
+}
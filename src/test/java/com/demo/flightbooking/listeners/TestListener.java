@@ -3,12 +3,23 @@ package com.demo.flightbooking.listeners;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 
+import com.demo.flightbooking.utils.CircuitBreaker;
 import com.demo.flightbooking.utils.DriverManager;
+import com.demo.flightbooking.utils.FlakeTracker;
+import com.demo.flightbooking.utils.ResultAggregator;
 import com.demo.flightbooking.utils.ScreenshotUtils;
+import com.demo.flightbooking.utils.SessionMultiplexer;
+import com.demo.flightbooking.utils.SuiteMetrics;
 import org.openqa.selenium.WebDriver;
 import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import org.testng.annotations.IDataProviderAnnotation;
 import org.testng.annotations.ITestAnnotation;
 
 import com.aventstack.extentreports.ExtentTest;
@@ -21,7 +32,10 @@ import com.demo.flightbooking.utils.ExtentManager;
  * such as when a test starts, passes, or fails. This is useful for custom
  * logging, reporting, or integrating with other tools.
  */
-public class TestListener implements ITestListener, IAnnotationTransformer {
+public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener, IAnnotationTransformer {
+
+	private static final String RUNNING_ATTRIBUTE = "metrics.running";
+	private static final String ATTEMPT_ATTRIBUTE = "results.attempt";
 
 	@Override
 	@SuppressWarnings({ "rawtypes"})
@@ -29,11 +43,24 @@ public class TestListener implements ITestListener, IAnnotationTransformer {
 	    annotation.setRetryAnalyzer(RetryAnalyzer.class);
 	}
 
+	@Override
+	public void transform(IDataProviderAnnotation annotation, Method method) {
+		// Rows are cheap tabs in a shared browser when multiplexing, so run them concurrently
+		// (up to the suite's data-provider-thread-count)
+		if (SessionMultiplexer.isEnabled()) {
+			annotation.setParallel(true);
+		}
+	}
+
 
 	// ... other onTestStart, onTestSuccess methods remain the same
 
 	@Override
 	public void onTestStart(ITestResult result) {
+		SuiteMetrics.TESTS_RUNNING.inc();
+		result.setAttribute(RUNNING_ATTRIBUTE, Boolean.TRUE);
+		// Counted before the test runs: by the time it is recorded, its own retry may already be granted
+		result.setAttribute(ATTEMPT_ATTRIBUTE, RetryAnalyzer.attemptOf(result));
 		ExtentTest test = ExtentManager.getTest();
 		if (test != null) {
 			test.log(Status.INFO, "Test Started: " + result.getMethod().getMethodName());
@@ -42,6 +69,11 @@ public class TestListener implements ITestListener, IAnnotationTransformer {
 
 	@Override
 	public void onTestSuccess(ITestResult result) {
+		SuiteMetrics.TESTS_RUNNING.dec();
+		SuiteMetrics.TESTS_PASSED.inc(DriverManager.getBrowser());
+		FlakeTracker.record(result, 'P');
+		record(result, ResultAggregator.Status.PASSED);
+		CircuitBreaker.recordSuccess();
 		ExtentTest test = ExtentManager.getTest();
 		if (test != null) {
 			test.log(Status.PASS, "Test Passed: " + result.getMethod().getMethodName());
@@ -50,12 +82,17 @@ public class TestListener implements ITestListener, IAnnotationTransformer {
 
 	@Override
 	public void onTestFailure(ITestResult result) {
+		SuiteMetrics.TESTS_RUNNING.dec();
+		SuiteMetrics.TESTS_FAILED.inc(DriverManager.getBrowser());
+		FlakeTracker.record(result, 'F');
+		record(result, ResultAggregator.Status.FAILED);
+		CircuitBreaker.recordFailure(result.getThrowable());
 		ExtentTest test = ExtentManager.getTest();
 		if (test != null) {
 			test.log(Status.FAIL, "Test failed: " + result.getThrowable());
 		}
 		try {
-			WebDriver driver = DriverManager.getDriver(); // use thread-local driver
+			WebDriver driver = DriverManager.getDriverIfPresent(); // never launch a browser just for a screenshot
 			if (driver != null) {
 				String screenshotPath =
 						ScreenshotUtils.captureScreenshot(driver, result.getMethod().getMethodName());
@@ -80,6 +117,19 @@ public class TestListener implements ITestListener, IAnnotationTransformer {
 
 	@Override
 	public void onTestSkipped(ITestResult result) {
+		// Skips raised before onTestStart (e.g. config failures) never incremented the running gauge
+		if (result.getAttribute(RUNNING_ATTRIBUTE) != null) {
+			SuiteMetrics.TESTS_RUNNING.dec();
+		}
+		if (result.wasRetried()) {
+			SuiteMetrics.TESTS_RETRIED.inc(DriverManager.getBrowser());
+			FlakeTracker.record(result, 'R');
+			CircuitBreaker.recordFailure(result.getThrowable());
+			record(result, ResultAggregator.Status.RETRIED);
+		} else {
+			SuiteMetrics.TESTS_SKIPPED.inc(DriverManager.getBrowser());
+			record(result, ResultAggregator.Status.SKIPPED);
+		}
 		ExtentTest test = ExtentManager.getTest();
 		if (test != null) {
 			if (result.wasRetried()) {
@@ -89,4 +139,42 @@ public class TestListener implements ITestListener, IAnnotationTransformer {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult result) {
+		// Pool threads outlive their tests, so the end of the teardown is when a session left open is orphaned
+		if (method.isConfigurationMethod() && method.getTestMethod().isAfterMethodConfiguration()) {
+			DriverManager.releaseAfterTest();
+		}
+	}
+
+	@Override
+	public void onFinish(ITestContext context) {
+		// Persist this <test>'s outcomes to the flake database
+		FlakeTracker.save();
+	}
+
+	@Override
+	public void onStart(ISuite suite) {
+		ResultAggregator.attach(suite);
+	}
+
+	@Override
+	public void onFinish(ISuite suite) {
+		// Single writer: all test threads of the suite are done by now
+		ResultAggregator aggregator = ResultAggregator.of(suite);
+		if (aggregator != null) {
+			aggregator.write(System.getProperty("test.suite", "default"));
+		}
+	}
+
+	private static void record(ITestResult result, ResultAggregator.Status status) {
+		ResultAggregator aggregator = ResultAggregator.of(result.getTestContext().getSuite());
+		if (aggregator != null) {
+			int attempt = result.getAttribute(ATTEMPT_ATTRIBUTE) instanceof Integer started
+					? started
+					: RetryAnalyzer.attemptOf(result); // skipped before it started
+			aggregator.record(result, status, attempt);
+		}
+	}
+}
@@ -1,32 +1,42 @@
 package com.demo.flightbooking.tests.base;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
+import org.testng.SkipException;
 import org.testng.annotations.*;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import com.demo.flightbooking.listeners.RetryAnalyzer;
+import com.demo.flightbooking.listeners.RetryDecision;
+import com.demo.flightbooking.utils.BrowserPool;
+import com.demo.flightbooking.utils.CircuitBreaker;
+import com.demo.flightbooking.utils.CommandProfiler;
 import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.DataValidator;
 import com.demo.flightbooking.utils.DriverManager;
 import com.demo.flightbooking.utils.ExtentManager;
+import com.demo.flightbooking.utils.MetricsExporter;
+import com.demo.flightbooking.utils.RouteMetadataCache;
 import com.demo.flightbooking.utils.ScreenshotUtils;
+import com.demo.flightbooking.utils.SessionRegistry;
+import com.demo.flightbooking.utils.ShardSelector;
+import com.demo.flightbooking.utils.TestLogCapture;
 
 /**
  * The base class for all test classes in the framework.
@@ -39,10 +49,8 @@ public class BaseTest {
 
     // Thread-safe report instance for parallel execution (each browser runs in isolated thread)
     private static final ThreadLocal<ExtentReports> extentReports = new ThreadLocal<>();
-
-    // Shared list of failure summaries (thread-safe)
-    protected static final List<String> failureSummaries =
-            Collections.synchronizedList(new ArrayList<>());
+    // The same instance, for data rows that TestNG runs on data provider threads (see SessionMultiplexer)
+    private static final String REPORTS_ATTRIBUTE = "extent.reports";
 
     /**
      * This method runs once before the entire test suite.
@@ -59,12 +67,39 @@ public class BaseTest {
         // ✅ Read the suite name from the system property passed by Maven
         String suiteName = System.getProperty("test.suite", "default"); 
 
-        // ✅ Build the filename dynamically
-        File oldSummary = new File("reports/" + suiteName + "-failure-summary.txt");
+        // ✅ Build the filename dynamically (tagged with the shard when the run is sharded)
+        File oldSummary = new File("reports/" + suiteName + "-failure-summary" + ShardSelector.suffix() + ".txt");
         if (oldSummary.exists()) {
             oldSummary.delete();
             logger.info("🧹 Old failure summary deleted.");
         }
+
+        // Expose live progress metrics if an endpoint or file sink is configured
+        MetricsExporter.start();
+
+        // Keep each test's detailed log in memory for attaching to failed tests
+        TestLogCapture.install();
+
+        // Fail fast if the application or Grid is down, instead of timing out test by test
+        CircuitBreaker.probeSuiteHealth();
+
+        // Route options for this environment, read once per suite without a browser
+        RouteMetadataCache.refresh();
+
+        // Check every data row before any browser starts; invalid rows are dropped by the data providers
+        DataValidator.preflight();
+    }
+
+    /**
+     * This method runs once after the entire test suite.
+     * It quits and reports leaked sessions, stops any pooled browser containers,
+     * writes the final metrics snapshot and stops the metrics sinks.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        SessionRegistry.reapLeaks();
+        BrowserPool.shutdownIfStarted();
+        MetricsExporter.stop();
     }
 
     /**
@@ -73,7 +108,7 @@ public class BaseTest {
      */
     @Parameters("browser")
     @BeforeClass(alwaysRun = true)
-    public void setUpClass(String browser) {
+    public void setUpClass(String browser, ITestContext context) {
         // Set browser for current thread
         DriverManager.setBrowser(browser);
         logger.info("✅ Browser set to: {} for test class: {}", browser.toUpperCase(), this.getClass().getSimpleName());
@@ -85,21 +120,29 @@ public class BaseTest {
         String reportPath = "reports/" + reportDir + "/";
         new File(reportPath).mkdirs(); // Ensure folder exists
 
-        // 👇 File name like regression-chrome-report.html
-        String reportFileName = suiteName + "-" + reportDir + "-report.html";
+        // 👇 File name like regression-chrome-report.html (regression-chrome-shard2of4-report.html when sharded)
+        String reportBaseName = suiteName + "-" + reportDir + ShardSelector.suffix();
+        String reportFileName = reportBaseName + "-report.html";
 
         // Create and configure ExtentSparkReporter
         ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath + reportFileName);
         sparkReporter.config().setOfflineMode(true);
         sparkReporter.config().setDocumentTitle("Test Report: " + suiteName.toUpperCase() + " - " + reportDir.toUpperCase());
 
-        // Create new ExtentReports and attach reporter
+        // JSON archive of the same report, so shard reports can be merged into one (see ShardMerger)
+        JsonFormatter jsonFormatter = new JsonFormatter(reportPath + reportBaseName + "-extent.json");
+
+        // Create new ExtentReports and attach reporters
         ExtentReports reports = new ExtentReports();
-        reports.attachReporter(sparkReporter);
-        reports.setSystemInfo("Tester", ConfigReader.getProperty("tester.name"));
+        reports.attachReporter(jsonFormatter, sparkReporter);
+        reports.setSystemInfo("Tester", ConfigReader.config().testerName());
+        if (ShardSelector.isSharded()) {
+            reports.setSystemInfo("Shard", ShardSelector.label());
+        }
         reports.setSystemInfo("OS", System.getProperty("os.name"));
         reports.setSystemInfo("Java Version", System.getProperty("java.version"));
         extentReports.set(reports);
+        context.setAttribute(REPORTS_ATTRIBUTE, reports);
 
         logger.info("✅ Report will be generated at: {}/{}", reportPath, reportFileName);
     }
@@ -113,17 +156,35 @@ public class BaseTest {
      */
     @Parameters("browser")
     @BeforeMethod(alwaysRun = true)
-    public void setUp(String browser, Method method) {
+    public void setUp(String browser, Method method, ITestContext context) {
+        String outage = CircuitBreaker.openCause();
+        if (outage != null) {
+            throw new SkipException("⚡ Skipped by circuit breaker: " + outage);
+        }
+
         DriverManager.setBrowser(browser);
-        DriverManager.getDriver(); // Launch browser
+        TestLogCapture.begin(method.getName() + "-" + browser);
+        try {
+            DriverManager.getDriver(); // Launch browser
+        } catch (RuntimeException e) {
+            CircuitBreaker.recordFailure(e);
+            throw e;
+        }
         logger.info("🚀 WebDriver initialized for test: {}", method.getName());
 
         String browserName = DriverManager.getBrowser().toUpperCase();
 
         // Create a test entry in report
-        ExtentTest test = extentReports.get().createTest(method.getName() + " - " + browserName);
+        ExtentReports reports = extentReports.get() != null
+                ? extentReports.get()
+                : (ExtentReports) context.getAttribute(REPORTS_ATTRIBUTE);
+        ExtentTest test = reports.createTest(method.getName() + " - " + browserName);
         ExtentManager.setTest(test);
         logger.info("📝 ExtentTest created for test: {} on {}", method.getName(), browserName);
+
+        if (ConfigReader.config().profilerEnabled()) {
+            CommandProfiler.startTest(method.getName() + " - " + browserName);
+        }
     }
 
     /**
@@ -136,28 +197,83 @@ public class BaseTest {
     @AfterMethod(alwaysRun = true)
     public void tearDown(ITestResult result) {
         ExtentTest test = ExtentManager.getTest();
-        WebDriver driver = DriverManager.getDriver();
+        // Close the command profile before teardown issues its own commands (screenshots, quit)
+        writeCommandProfile(result, test);
+        // Collect the captured log before the driver is quit, which clears the MDC
+        String capturedLog = TestLogCapture.end(result.getStatus() == ITestResult.FAILURE || result.wasRetried());
 
         if (test != null) {
             if (result.getStatus() == ITestResult.FAILURE) {
-                String failureMsg = "❌ " + result.getMethod().getMethodName()
-                        + " FAILED: " + result.getThrowable().getMessage().split("\n")[0];
-                failureSummaries.add(failureMsg);
-
-                String screenshotPath = ScreenshotUtils.captureScreenshot(driver, result.getMethod().getMethodName());
-                test.addScreenCaptureFromPath("./screenshots/" + new File(screenshotPath).getName());
+                WebDriver driver = DriverManager.getDriverIfPresent();
+                if (driver != null) {
+                    String screenshotPath = ScreenshotUtils.captureScreenshot(driver, result.getMethod().getMethodName());
+                    test.addScreenCaptureFromPath("./screenshots/" + new File(screenshotPath).getName());
+                    logger.error("❌ Test failed: {} | Screenshot: {}", result.getMethod().getMethodName(), screenshotPath);
+                } else {
+                    logger.error("❌ Test failed: {} | No browser session to take a screenshot", result.getMethod().getMethodName());
+                }
                 test.fail(result.getThrowable());
-                logger.error("❌ Test failed: {} | Screenshot: {}", result.getMethod().getMethodName(), screenshotPath);
             } else {
                 test.log(Status.PASS, "✅ Test passed");
             }
+            if (capturedLog != null) {
+                test.info(MarkupHelper.createCodeBlock(capturedLog));
+            }
         }
 
-        DriverManager.quitDriver();
-        logger.info("🧹 WebDriver quit after test: {}", result.getMethod().getMethodName());
+        if (shouldReuseSession(result, test)) {
+            DriverManager.resetSession();
+            logger.info("♻️ WebDriver kept for retry of test: {}", result.getMethod().getMethodName());
+        } else {
+            DriverManager.quitDriver();
+            logger.info("🧹 WebDriver quit after test: {}", result.getMethod().getMethodName());
+        }
         ExtentManager.unload();
     }
 
+    /**
+     * Asks the retry analyzer how the failure was classified and whether the test will be retried.
+     * Timing-class retries keep the current browser if it is still healthy, saving a full relaunch.
+     */
+    private boolean shouldReuseSession(ITestResult result, ExtentTest test) {
+        boolean failed = result.getStatus() == ITestResult.FAILURE || result.wasRetried();
+        if (!failed || result.getThrowable() == null
+                || !(result.getMethod().getRetryAnalyzer(result) instanceof RetryAnalyzer analyzer)) {
+            return false;
+        }
+        RetryDecision decision = analyzer.decide(result);
+        boolean reuse = decision.reuseSession() && DriverManager.isSessionHealthy();
+        if (test != null) {
+            test.log(Status.WARNING, "🔁 " + decision + (reuse ? " (reusing browser session)" : ""));
+        }
+        return reuse;
+    }
+
+    /**
+     * Renders the command profile of the finished test, logs it, attaches it to the
+     * report and saves it under reports/profiles/ for later comparison.
+     */
+    private void writeCommandProfile(ITestResult result, ExtentTest test) {
+        String profile = CommandProfiler.finishTest(ConfigReader.config().profilerChattyThreshold());
+        if (profile == null) {
+            return;
+        }
+        logger.info("📈 WebDriver command profile:{}{}", System.lineSeparator(), profile);
+        if (test != null) {
+            test.info(MarkupHelper.createCodeBlock(profile));
+        }
+
+        String browser = DriverManager.getBrowser() != null ? DriverManager.getBrowser() : "unknown";
+        Path profileFile = Paths.get("reports", "profiles",
+                result.getMethod().getMethodName() + "-" + browser + "-" + System.currentTimeMillis() + ".txt");
+        try {
+            Files.createDirectories(profileFile.getParent());
+            Files.writeString(profileFile, profile);
+        } catch (IOException e) {
+            logger.error("❌ Failed to write command profile to {}", profileFile, e);
+        }
+    }
+
     /**
      * ✅ Runs once per <test> tag completion.
      * Flushes report and copies it to index.html for Jenkins if needed.
@@ -169,26 +285,11 @@ public class BaseTest {
             logger.info("✅ ExtentReports flushed to disk.");
         }
 
-        // Optional logic to write summary and copy report
+        // Copy the report for Jenkins; failure summaries are written once per suite by the TestListener
         String reportDir = System.getProperty("report.dir", "default");
         String suiteName = System.getProperty("test.suite", "default");
         String reportPath = "reports/" + reportDir + "/";
-        String reportFileName = suiteName + "-" + reportDir + "-report.html";
-        String mergedSummaryFile = "reports/" + suiteName + "-failure-summary.txt";
-
-        if (!failureSummaries.isEmpty()) {
-            try {
-                File file = new File(mergedSummaryFile);
-                file.getParentFile().mkdirs(); // Ensure reports/ exists
-                try (PrintWriter out = new PrintWriter(new FileWriter(file, true))) { // append mode
-                    failureSummaries.forEach(out::println);
-                    logger.info("📄 Failure summary appended to merged file: {}", mergedSummaryFile);
-                }
-            } catch (IOException e) {
-                logger.error("❌ Failed to write to merged failure summary", e);
-            }
-        }
-
+        String reportFileName = suiteName + "-" + reportDir + ShardSelector.suffix() + "-report.html";
 
         // Copy the report to index.html if Jenkins expects it
         try {
@@ -0,0 +1,282 @@
+package com.demo.flightbooking.tests.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.pages.FlightSelectionPage;
+import com.demo.flightbooking.pages.HomePage;
+import com.demo.flightbooking.pages.PurchasePage;
+import com.demo.flightbooking.utils.ConfigReader;
+import com.demo.flightbooking.utils.DriverManager;
+import com.demo.flightbooking.utils.JsonDataProvider;
+import com.demo.flightbooking.utils.WebDriverUtils;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * A repeatable macro-benchmark of the full booking flow (HomePage → FlightSelectionPage → PurchasePage).
+ * The flow runs headless against {@link StandInBlazeDemoApp}, which answers every request with a fixed
+ * latency, at several levels of parallel sessions. For each level it measures browser startup cost,
+ * per-booking wall time and the makespan of the whole workload, then compares the results with the
+ * stored baseline and fails if any metric regressed beyond the configured threshold.
+ *
+ * Run with: mvn -Pe2e-benchmark test
+ */
+public class BookingSuiteBenchmark {
+
+    private static final Logger logger = LogManager.getLogger(BookingSuiteBenchmark.class);
+
+    private static final String BASELINE_RESOURCE = "benchmark/booking-suite-baseline.json";
+    private static final Path RESULTS_FILE = Paths.get("reports", "benchmark", "booking-suite-results.json");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private StandInBlazeDemoApp app;
+    private String browser;
+    private List<Passenger> passengers;
+    private List<Integer> parallelLevels;
+    private int bookingsPerLevel;
+    private double regressionThreshold;
+
+    @Parameters("browser")
+    @BeforeClass(alwaysRun = true)
+    public void startApp(@Optional("chrome") String browser) throws Exception {
+        this.browser = browser;
+        List<String> errors = new ArrayList<>();
+        int latencyMs = (int) number("benchmark.app.latency.ms", 0, errors);
+        this.bookingsPerLevel = (int) number("benchmark.bookings.per.level", 1, errors);
+        this.regressionThreshold = number("benchmark.regression.threshold", 0, errors);
+        this.parallelLevels = new ArrayList<>();
+        String levels = setting("benchmark.parallel.levels", errors);
+        if (levels != null) {
+            for (String level : levels.split(",")) {
+                try {
+                    parallelLevels.add(Integer.parseInt(level.trim()));
+                } catch (NumberFormatException e) {
+                    parallelLevels.add(0);
+                }
+            }
+            if (parallelLevels.stream().anyMatch(sessions -> sessions < 1)) {
+                errors.add("benchmark.parallel.levels must be a comma-separated list of positive integers but was '"
+                        + levels + "'");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid benchmark configuration (see config/config-benchmark.properties,"
+                    + " run with -Pe2e-benchmark):\n - " + String.join("\n - ", errors));
+        }
+
+        this.app = new StandInBlazeDemoApp(latencyMs);
+        this.passengers = new ArrayList<>();
+        for (Object[] row : JsonDataProvider.getPassengerData()) {
+            passengers.add((Passenger) row[0]);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopApp() {
+        if (app != null) {
+            app.close();
+        }
+    }
+
+    /**
+     * Runs the same booking workload at each configured parallelism level and checks it against the baseline.
+     */
+    @Test(groups = {"benchmark"})
+    public void benchmarkBookingFlow() throws Exception {
+        Map<String, LevelResult> results = new LinkedHashMap<>();
+
+        for (int sessions : parallelLevels) {
+            LevelResult result = runLevel(sessions, bookingsPerLevel);
+            results.put(String.valueOf(sessions), result);
+            logger.info("⏱️ {} session(s): makespan={} ms, median booking={} ms, median startup={} ms",
+                    sessions, result.makespanMs, result.medianBookingMs, result.medianStartupMs);
+        }
+
+        Files.createDirectories(RESULTS_FILE.getParent());
+        Files.writeString(RESULTS_FILE, GSON.toJson(results));
+        logger.info("📄 Benchmark results written to {}", RESULTS_FILE);
+
+        Map<String, LevelResult> baseline = loadBaseline();
+        if (baseline == null) {
+            logger.warn("No baseline found at {}; copy {} there to start tracking regressions.",
+                    BASELINE_RESOURCE, RESULTS_FILE);
+            return;
+        }
+        List<String> regressions = compare(baseline, results, regressionThreshold);
+        Assert.assertTrue(regressions.isEmpty(), "Booking flow performance regressed:\n" + String.join("\n", regressions));
+    }
+
+    private static String setting(String key, List<String> errors) {
+        String value = ConfigReader.getProperty(key);
+        if (value == null || value.isBlank()) {
+            errors.add(key + " is not set");
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static double number(String key, double min, List<String> errors) {
+        String value = setting(key, errors);
+        if (value == null) {
+            return min;
+        }
+        try {
+            double parsed = Double.parseDouble(value);
+            if (parsed < min) {
+                errors.add(key + " must be at least " + min + " but was " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            errors.add(key + " must be a number but was '" + value + "'");
+            return min;
+        }
+    }
+
+    /**
+     * Executes {@code bookings} complete booking journeys spread over {@code sessions} parallel threads,
+     * each journey in a fresh browser exactly like a regular test run.
+     */
+    private LevelResult runLevel(int sessions, int bookings) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(bookings);
+        List<Long> startupMs = Collections.synchronizedList(new ArrayList<>());
+        List<Long> bookingMs = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService pool = Executors.newFixedThreadPool(sessions);
+        long levelStart = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                workers.add(pool.submit(() -> {
+                    int next;
+                    while ((next = remaining.getAndDecrement()) > 0) {
+                        DriverManager.setBrowser(browser);
+                        try {
+                            long start = System.nanoTime();
+                            WebDriver driver = DriverManager.getDriver();
+                            startupMs.add(elapsedMs(start));
+
+                            start = System.nanoTime();
+                            book(driver, passengers.get(next % passengers.size()));
+                            bookingMs.add(elapsedMs(start));
+                        } finally {
+                            DriverManager.quitDriver();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(); // propagate any booking failure
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        LevelResult result = new LevelResult();
+        result.makespanMs = elapsedMs(levelStart);
+        result.medianBookingMs = percentile(bookingMs, 50);
+        result.p95BookingMs = percentile(bookingMs, 95);
+        result.medianStartupMs = percentile(startupMs, 50);
+        return result;
+    }
+
+    private void book(WebDriver driver, Passenger passenger) {
+        WebDriverUtils webDriverUtils = new WebDriverUtils(driver, ConfigReader.config().timeoutSeconds());
+        driver.get(app.getBaseUrl());
+
+        new HomePage(driver).findFlights(passenger.origin(), passenger.destination());
+        Assert.assertTrue(webDriverUtils.waitUntilUrlContains("/reserve.php"), "Did not navigate to reserve page!");
+
+        new FlightSelectionPage(driver).clickChooseFlightButton();
+        Assert.assertTrue(webDriverUtils.waitUntilUrlContains("/purchase.php"), "Did not navigate to purchase page!");
+
+        PurchasePage purchasePage = new PurchasePage(driver);
+        purchasePage.fillPurchaseForm(passenger);
+        purchasePage.clickPurchaseFlightButton();
+        Assert.assertTrue(webDriverUtils.waitUntilUrlContains("/confirmation.php"), "Did not navigate to confirmation page!");
+    }
+
+    private static Map<String, LevelResult> loadBaseline() throws IOException {
+        InputStream is = BookingSuiteBenchmark.class.getClassLoader().getResourceAsStream(BASELINE_RESOURCE);
+        if (is == null) {
+            return null;
+        }
+        try (InputStreamReader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, new TypeToken<Map<String, LevelResult>>() {}.getType());
+        }
+    }
+
+    private static List<String> compare(Map<String, LevelResult> baseline, Map<String, LevelResult> current,
+                                        double threshold) {
+        List<String> regressions = new ArrayList<>();
+        current.forEach((level, now) -> {
+            LevelResult before = baseline.get(level);
+            if (before == null) {
+                return;
+            }
+            check(regressions, level, "makespan", before.makespanMs, now.makespanMs, threshold);
+            check(regressions, level, "median booking", before.medianBookingMs, now.medianBookingMs, threshold);
+            check(regressions, level, "median startup", before.medianStartupMs, now.medianStartupMs, threshold);
+        });
+        return regressions;
+    }
+
+    private static void check(List<String> regressions, String level, String metric,
+                              long baseline, long current, double threshold) {
+        if (baseline > 0 && current > baseline * (1 + threshold)) {
+            regressions.add(String.format("%s session(s) %s: %d ms vs baseline %d ms (+%.0f%%, threshold %.0f%%)",
+                    level, metric, current, baseline, (current - baseline) * 100.0 / baseline, threshold * 100));
+        }
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static long percentile(List<Long> values, int percentile) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    /**
+     * Timings for one parallelism level; serialized as-is to the results and baseline files.
+     */
+    static class LevelResult {
+        long makespanMs;
+        long medianBookingMs;
+        long p95BookingMs;
+        long medianStartupMs;
+    }
+}
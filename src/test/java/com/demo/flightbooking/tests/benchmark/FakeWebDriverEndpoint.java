@@ -0,0 +1,116 @@
+package com.demo.flightbooking.tests.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embedded endpoint that speaks just enough of the W3C WebDriver protocol for a RemoteWebDriver to
+ * create a session, send commands and quit, with no browser behind it. It counts the requests it
+ * answers and the TCP connections they arrived on, so the client's connection reuse can be measured.
+ */
+public final class FakeWebDriverEndpoint implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(FakeWebDriverEndpoint.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    // A connection is identified by its client-side address; a reused connection keeps its port
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts the endpoint on an ephemeral local port.
+     *
+     * @throws IOException if the server socket cannot be opened.
+     */
+    public FakeWebDriverEndpoint() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Fake WebDriver endpoint started at {}", getUrl());
+    }
+
+    /**
+     * @return The endpoint URL to pass to RemoteWebDriver.
+     */
+    public URL getUrl() {
+        try {
+            return URI.create("http://127.0.0.1:" + server.getAddress().getPort()).toURL();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return Requests answered since the last {@link #reset()}.
+     */
+    public int requestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return Distinct TCP connections seen since the last {@link #reset()}.
+     */
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Clears the request and connection counts.
+     */
+    public void reset() {
+        requests.set(0);
+        connections.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        requests.incrementAndGet();
+        connections.add(exchange.getRemoteAddress());
+
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String value;
+        if (method.equals("POST") && path.endsWith("/session")) {
+            value = "{\"sessionId\":\"fake-" + sessions.incrementAndGet()
+                    + "\",\"capabilities\":{\"browserName\":\"chrome\",\"platformName\":\"linux\"}}";
+        } else if (method.equals("GET") && path.endsWith("/url")) {
+            value = "\"about:blank\"";
+        } else if (method.equals("GET") && path.endsWith("/title")) {
+            value = "\"\"";
+        } else {
+            value = "null";
+        }
+
+        byte[] body = ("{\"value\":" + value + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
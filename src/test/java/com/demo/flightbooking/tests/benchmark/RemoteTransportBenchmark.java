@@ -0,0 +1,82 @@
+package com.demo.flightbooking.tests.benchmark;
+
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.factory.RemoteHttpClientFactory;
+
+/**
+ * Compares the TCP connections RemoteWebDriver opens with Selenium's default HTTP client and with the
+ * shared {@link RemoteHttpClientFactory} client, against a {@link FakeWebDriverEndpoint} (no browser needed).
+ * The same sequence of sessions, each sending a few commands and quitting, is run with both clients;
+ * the shared client must open fewer connections.
+ *
+ * Run with: mvn -Pe2e-benchmark test
+ */
+public class RemoteTransportBenchmark {
+
+    private static final Logger logger = LogManager.getLogger(RemoteTransportBenchmark.class);
+
+    private static final int SESSIONS = 10;
+    private static final int COMMANDS_PER_SESSION = 20;
+
+    private FakeWebDriverEndpoint endpoint;
+
+    @BeforeClass(alwaysRun = true)
+    public void startEndpoint() throws Exception {
+        endpoint = new FakeWebDriverEndpoint();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopEndpoint() {
+        if (endpoint != null) {
+            endpoint.close();
+        }
+    }
+
+    @Test(groups = {"benchmark"})
+    public void sharedClientReusesConnections() {
+        int defaultConnections = run("default client",
+                options -> new RemoteWebDriver(endpoint.getUrl(), options));
+        int sharedConnections = run("shared client",
+                options -> new RemoteWebDriver(RemoteHttpClientFactory.get().commandExecutor(endpoint.getUrl()), options));
+
+        Assert.assertTrue(sharedConnections < defaultConnections, "Shared client opened " + sharedConnections
+                + " connections, default client " + defaultConnections);
+    }
+
+    /**
+     * Runs the session workload with one way of creating drivers.
+     *
+     * @return The number of connections the endpoint saw.
+     */
+    private int run(String label, Function<ChromeOptions, WebDriver> newDriver) {
+        endpoint.reset();
+        long start = System.nanoTime();
+        for (int i = 0; i < SESSIONS; i++) {
+            WebDriver driver = newDriver.apply(new ChromeOptions());
+            try {
+                for (int j = 0; j < COMMANDS_PER_SESSION; j++) {
+                    driver.getCurrentUrl();
+                }
+            } finally {
+                driver.quit();
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        int requests = endpoint.requestCount();
+        int connections = endpoint.connectionCount();
+        logger.info("⏱️ {}: {} requests over {} connection(s) ({} requests/connection) in {} ms",
+                label, requests, connections, requests / Math.max(1, connections), elapsedMs);
+        return connections;
+    }
+}
@@ -0,0 +1,153 @@
+package com.demo.flightbooking.tests.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A minimal, embedded stand-in for the BlazeDemo booking flow.
+ * It serves the four pages the page objects interact with (home, reserve, purchase, confirmation)
+ * using the same element names/ids, and delays every response by a fixed latency so that benchmark
+ * runs are repeatable and independent of the real site's response times.
+ */
+public final class StandInBlazeDemoApp implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(StandInBlazeDemoApp.class);
+
+    private static final String[] DEPART_CITIES =
+            {"Paris", "Philadelphia", "Boston", "Portland", "San Diego", "Mexico City", "São Paolo"};
+    private static final String[] ARRIVE_CITIES =
+            {"Buenos Aires", "Rome", "London", "Berlin", "New York", "Dublin", "Cairo"};
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+
+    /**
+     * Starts the stand-in app on an ephemeral local port.
+     *
+     * @param latencyMillis Fixed delay applied to every response.
+     * @throws IOException if the server socket cannot be opened.
+     */
+    public StandInBlazeDemoApp(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> respond(exchange, homePage()));
+        server.createContext("/reserve.php", exchange -> respond(exchange, reservePage()));
+        server.createContext("/purchase.php", exchange -> respond(exchange, purchasePage()));
+        server.createContext("/confirmation.php", exchange -> respond(exchange, confirmationPage()));
+        server.start();
+        logger.info("Stand-in BlazeDemo app started at {} with {} ms latency", getBaseUrl(), latencyMillis);
+    }
+
+    /**
+     * @return The base URL of the running app, e.g. http://127.0.0.1:54321/
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange, String html) throws IOException {
+        // Drain any form body so keep-alive connections stay usable
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String page(String title, String body) {
+        return "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>" + title + "</title></head><body>"
+                + body + "</body></html>";
+    }
+
+    private static String options(String[] cities) {
+        StringBuilder sb = new StringBuilder();
+        for (String city : cities) {
+            sb.append("<option value=\"").append(city).append("\">").append(city).append("</option>");
+        }
+        return sb.toString();
+    }
+
+    private static String homePage() {
+        return page("BlazeDemo",
+                "<h1>Welcome to the Simple Travel Agency!</h1>"
+                + "<form name=\"reserve\" action=\"reserve.php\" method=\"post\">"
+                + "<select name=\"fromPort\">" + options(DEPART_CITIES) + "</select>"
+                + "<select name=\"toPort\">" + options(ARRIVE_CITIES) + "</select>"
+                + "<input type=\"submit\" value=\"Find Flights\">"
+                + "</form>");
+    }
+
+    private static String reservePage() {
+        StringBuilder rows = new StringBuilder();
+        String[][] flights = {
+                {"43", "Virgin America", "1:43 AM", "9:45 PM", "$472.56"},
+                {"234", "United Airlines", "7:43 AM", "8:45 PM", "$432.98"},
+                {"9696", "Aer Lingus", "5:27 AM", "8:22 PM", "$200.98"},
+                {"12", "Virgin America", "11:23 AM", "1:45 PM", "$765.32"},
+                {"4346", "Lufthansa", "1:43 AM", "9:05 PM", "$233.98"}};
+        for (String[] f : flights) {
+            rows.append("<tr><td><form action=\"purchase.php\" method=\"post\">")
+                .append("<input type=\"hidden\" name=\"flight\" value=\"").append(f[0]).append("\">")
+                .append("<input type=\"hidden\" name=\"price\" value=\"").append(f[4].substring(1)).append("\">")
+                .append("<input type=\"hidden\" name=\"airline\" value=\"").append(f[1]).append("\">")
+                .append("<input type=\"submit\" value=\"Choose This Flight\"></form></td>")
+                .append("<td>").append(f[0]).append("</td><td>").append(f[1]).append("</td>")
+                .append("<td>").append(f[2]).append("</td><td>").append(f[3]).append("</td>")
+                .append("<td>").append(f[4]).append("</td></tr>");
+        }
+        return page("BlazeDemo - reserve",
+                "<h3>Flights</h3><table class=\"table\"><thead><tr><th>Choose</th><th>Flight #</th><th>Airline</th>"
+                + "<th>Departs</th><th>Arrives</th><th>Price</th></tr></thead><tbody>" + rows + "</tbody></table>");
+    }
+
+    private static String purchasePage() {
+        return page("BlazeDemo Purchase",
+                "<h2>Your flight has been reserved.</h2>"
+                + "<form action=\"confirmation.php\" method=\"post\">"
+                + "<input type=\"text\" id=\"inputName\" name=\"inputName\">"
+                + "<input type=\"text\" id=\"address\" name=\"address\">"
+                + "<input type=\"text\" id=\"city\" name=\"city\">"
+                + "<input type=\"text\" id=\"state\" name=\"state\">"
+                + "<input type=\"text\" id=\"zipCode\" name=\"zipCode\">"
+                + "<select id=\"cardType\" name=\"cardType\"><option value=\"visa\">Visa</option>"
+                + "<option value=\"amex\">American Express</option>"
+                + "<option value=\"dinersclub\">Diner's Club</option></select>"
+                + "<input type=\"text\" id=\"creditCardNumber\" name=\"creditCardNumber\">"
+                + "<input type=\"text\" id=\"creditCardMonth\" name=\"creditCardMonth\" value=\"11\">"
+                + "<input type=\"text\" id=\"creditCardYear\" name=\"creditCardYear\" value=\"2017\">"
+                + "<input type=\"text\" id=\"nameOnCard\" name=\"nameOnCard\">"
+                + "<input type=\"checkbox\" id=\"rememberMe\" name=\"rememberMe\">"
+                + "<input type=\"submit\" value=\"Purchase Flight\">"
+                + "</form>");
+    }
+
+    private static String confirmationPage() {
+        return page("BlazeDemo Confirmation", "<h1>Thank you for your purchase today!</h1>");
+    }
+}
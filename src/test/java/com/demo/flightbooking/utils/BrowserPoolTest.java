@@ -0,0 +1,143 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.enums.BrowserType;
+import com.demo.flightbooking.factory.BrowserContainerProvider.BrowserContainer;
+
+/**
+ * Unit tests for {@link BrowserPool}, driven by a {@link FakeContainerProvider} so no Docker daemon is needed.
+ */
+public class BrowserPoolTest {
+
+    @Test(groups = {"unit"})
+    public void scalesUpToMaxContainers() throws Exception {
+        FakeContainerProvider provider = new FakeContainerProvider();
+        BrowserPool pool = new BrowserPool(provider, 3, 60, 1);
+        try {
+            BrowserContainer first = pool.acquire(BrowserType.CHROME);
+            BrowserContainer second = pool.acquire(BrowserType.CHROME);
+            BrowserContainer third = pool.acquire(BrowserType.FIREFOX);
+
+            Assert.assertNotEquals(first.id(), second.id());
+            Assert.assertEquals(third.browser(), BrowserType.FIREFOX);
+            Assert.assertEquals(provider.startedCount(), 3);
+            Assert.assertEquals(provider.runningCount(), 3);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void reusesReleasedContainer() throws Exception {
+        FakeContainerProvider provider = new FakeContainerProvider();
+        BrowserPool pool = new BrowserPool(provider, 2, 60, 1);
+        try {
+            BrowserContainer first = pool.acquire(BrowserType.CHROME);
+            pool.release(first, true);
+            BrowserContainer again = pool.acquire(BrowserType.CHROME);
+
+            Assert.assertEquals(again, first);
+            Assert.assertEquals(provider.startedCount(), 1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void unhealthyContainerIsNotReused() throws Exception {
+        FakeContainerProvider provider = new FakeContainerProvider();
+        BrowserPool pool = new BrowserPool(provider, 2, 60, 1);
+        try {
+            BrowserContainer first = pool.acquire(BrowserType.CHROME);
+            pool.release(first, false);
+            BrowserContainer next = pool.acquire(BrowserType.CHROME);
+
+            Assert.assertNotEquals(next, first);
+            Assert.assertEquals(provider.startedCount(), 2);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void blocksAtCapUntilContainerIsReleased() throws Exception {
+        FakeContainerProvider provider = new FakeContainerProvider();
+        BrowserPool pool = new BrowserPool(provider, 1, 60, 10);
+        try {
+            BrowserContainer held = pool.acquire(BrowserType.CHROME);
+            CompletableFuture<BrowserContainer> waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return pool.acquire(BrowserType.CHROME);
+                } catch (IOException | InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            Thread.sleep(300);
+            Assert.assertFalse(waiting.isDone(), "acquire should block while the pool is full");
+
+            pool.release(held, true);
+            Assert.assertEquals(waiting.get(5, TimeUnit.SECONDS), held);
+            Assert.assertEquals(provider.startedCount(), 1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void timesOutAtCap() throws Exception {
+        FakeContainerProvider provider = new FakeContainerProvider();
+        BrowserPool pool = new BrowserPool(provider, 1, 60, 1);
+        try {
+            pool.acquire(BrowserType.CHROME);
+            long start = System.nanoTime();
+            Assert.assertThrows(IOException.class, () -> pool.acquire(BrowserType.CHROME));
+
+            Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(900), "acquire gave up too early");
+            Assert.assertEquals(provider.startedCount(), 1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void stopsContainersIdleTooLong() throws Exception {
+        FakeContainerProvider provider = new FakeContainerProvider();
+        BrowserPool pool = new BrowserPool(provider, 2, 1, 1);
+        try {
+            BrowserContainer first = pool.acquire(BrowserType.CHROME);
+            BrowserContainer second = pool.acquire(BrowserType.CHROME);
+            pool.release(first, true);
+
+            pool.stopExpired();
+            Assert.assertEquals(provider.runningCount(), 2, "a freshly released container must not be stopped");
+
+            Thread.sleep(1100);
+            pool.stopExpired();
+            awaitRunning(provider, 1);
+
+            // The leased container is untouched, and the freed slot is used for a new container
+            pool.release(second, true);
+            Assert.assertEquals(pool.acquire(BrowserType.CHROME), second);
+            pool.acquire(BrowserType.CHROME);
+            Assert.assertEquals(provider.startedCount(), 3);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Idle containers are stopped on a background thread; waits for it to catch up. */
+    private static void awaitRunning(FakeContainerProvider provider, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (provider.runningCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        Assert.assertEquals(provider.runningCount(), expected);
+    }
+}
@@ -0,0 +1,44 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link CommandProfiler}, driven by a stand-in driver so no browser is needed.
+ */
+public class CommandProfilerTest {
+
+    /** A driver whose methods return another stand-in for interface types and a fixed value otherwise. */
+    private static <T> T stub(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> returned = method.getReturnType();
+            if (returned.isInterface()) {
+                return stub(returned);
+            }
+            return returned == String.class ? "Welcome" : null;
+        }));
+    }
+
+    @Test(groups = {"unit"})
+    public void countsOnlyCommandsSentToTheDriver() {
+        WebDriver driver = CommandProfiler.decorate(stub(WebDriver.class));
+        CommandProfiler.startTest("profiled");
+        driver.getTitle();
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().window().maximize();
+        driver.switchTo().defaultContent();
+        String profile = CommandProfiler.finishTest(10);
+
+        Assert.assertTrue(profile.startsWith("profiled [calls=4,"), profile);
+        for (String command : new String[]{"getTitle", "implicitlyWait", "maximize", "defaultContent"}) {
+            Assert.assertTrue(profile.contains(command + " [calls=1,"), profile);
+        }
+        for (String accessor : new String[]{"manage", "timeouts", "window", "switchTo"}) {
+            Assert.assertFalse(profile.contains(accessor + " ["), accessor + " is not a command:\n" + profile);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.demo.flightbooking.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Builds a small set of test configurations that still covers every combination of values of any
+ * {@code strength} factors (2 = pairwise, 3 = every triple, ...), instead of the full cartesian product.
+ * <p>
+ * The generator is a greedy one-test-at-a-time construction in the style of AETG: each new configuration
+ * is the best of several candidates, each seeded with a still-uncovered combination and completed factor by
+ * factor with the value that covers the most uncovered combinations. Constraints exclude configurations
+ * (and the combinations that can only appear in them). When every greedy candidate for a combination runs into
+ * the constraints, a systematic search looks for any valid configuration containing it, so a combination is
+ * only left out if no valid configuration has it. The same factors, strength, constraints and seed always give
+ * the same configurations.
+ * <pre>
+ * List&lt;Map&lt;String, String&gt;&gt; rows = new CoveringArrayGenerator(2, 42)
+ *         .factor("origin", origins)
+ *         .factor("browser", List.of("chrome", "firefox", "edge"))
+ *         .constraint(c -&gt; !"edge".equals(c.get("browser")) || !"Paris".equals(c.get("origin")))
+ *         .generate();
+ * </pre>
+ */
+public class CoveringArrayGenerator {
+
+    private static final int CANDIDATES = 30;
+
+    private final int strength;
+    private final long seed;
+    private final List<String> names = new ArrayList<>();
+    private final List<List<String>> values = new ArrayList<>();
+    private final List<Predicate<Map<String, String>>> constraints = new ArrayList<>();
+
+    /**
+     * @param strength The number of factors whose value combinations must all be covered (at least 1).
+     * @param seed     The seed for tie-breaking; the output is deterministic for a given seed.
+     */
+    public CoveringArrayGenerator(int strength, long seed) {
+        if (strength < 1) {
+            throw new IllegalArgumentException("Strength must be at least 1: " + strength);
+        }
+        this.strength = strength;
+        this.seed = seed;
+    }
+
+    /**
+     * Adds a factor and its possible values.
+     */
+    public CoveringArrayGenerator factor(String name, List<String> factorValues) {
+        if (factorValues.isEmpty()) {
+            throw new IllegalArgumentException("Factor '" + name + "' has no values");
+        }
+        names.add(name);
+        values.add(List.copyOf(factorValues));
+        return this;
+    }
+
+    /**
+     * Adds a constraint that every configuration must satisfy. It is also asked about partial configurations,
+     * in which unassigned factors are absent from the map, and must only reject those that already break it.
+     */
+    public CoveringArrayGenerator constraint(Predicate<Map<String, String>> constraint) {
+        constraints.add(constraint);
+        return this;
+    }
+
+    /**
+     * @return The number of factors whose value combinations are covered.
+     */
+    public int strength() {
+        return strength;
+    }
+
+    /**
+     * @return The size of the full cartesian product of the factors.
+     */
+    public long exhaustiveSize() {
+        long size = 1;
+        for (List<String> factorValues : values) {
+            size *= factorValues.size();
+        }
+        return size;
+    }
+
+    /**
+     * Builds the configurations.
+     *
+     * @return One map per configuration, from factor name to value, in factor order.
+     */
+    public List<Map<String, String>> generate() {
+        Random random = new Random(seed);
+        int t = Math.min(strength, names.size());
+        Set<List<Integer>> uncovered = new HashSet<>();
+        List<List<Integer>> order = new ArrayList<>();
+        for (int[] factors : combinations(names.size(), t)) {
+            addTuples(factors, 0, new int[names.size()], uncovered, order);
+        }
+        // Iterate in a fixed order so the seed alone decides the result
+        order.removeIf(tuple -> !uncovered.contains(tuple));
+
+        List<Map<String, String>> rows = new ArrayList<>();
+        int next = 0;
+        while (!uncovered.isEmpty()) {
+            while (!uncovered.contains(order.get(next))) {
+                next++;
+            }
+            List<Integer> seedTuple = order.get(next);
+            int[] best = null;
+            int bestGain = 0;
+            for (int c = 0; c < CANDIDATES; c++) {
+                int[] candidate = complete(seedTuple, uncovered, random, t);
+                if (candidate == null) {
+                    continue;
+                }
+                int gain = covered(candidate, uncovered, t).size();
+                if (gain > bestGain) {
+                    best = candidate;
+                    bestGain = gain;
+                }
+            }
+            if (best == null) {
+                best = search(seedTuple);
+            }
+            if (best == null) {
+                uncovered.remove(seedTuple); // no valid configuration contains it
+                continue;
+            }
+            uncovered.removeAll(covered(best, uncovered, t));
+            rows.add(toMap(best));
+        }
+        return rows;
+    }
+
+    /**
+     * Extends a seed combination to a full configuration, picking for each remaining factor (in random order)
+     * the value that covers the most uncovered combinations with the factors assigned so far.
+     *
+     * @return The configuration as value indexes, or null if the constraints leave no value for some factor.
+     */
+    private int[] complete(List<Integer> seedTuple, Set<List<Integer>> uncovered, Random random, int t) {
+        int[] config = new int[names.size()];
+        Arrays.fill(config, -1);
+        for (int f = 0; f < names.size(); f++) {
+            config[f] = seedTuple.get(f);
+        }
+        List<Integer> free = new ArrayList<>();
+        for (int f = 0; f < names.size(); f++) {
+            if (config[f] < 0) {
+                free.add(f);
+            }
+        }
+        Collections.shuffle(free, random);
+        for (int f : free) {
+            int bestValue = -1;
+            int bestGain = -1;
+            int ties = 0;
+            for (int v = 0; v < values.get(f).size(); v++) {
+                config[f] = v;
+                if (!allowed(config)) {
+                    continue;
+                }
+                int gain = gain(config, f, uncovered, t);
+                if (gain > bestGain) {
+                    bestValue = v;
+                    bestGain = gain;
+                    ties = 1;
+                } else if (gain == bestGain && random.nextInt(++ties) == 0) {
+                    bestValue = v; // reservoir choice among equally good values
+                }
+            }
+            if (bestValue < 0) {
+                return null;
+            }
+            config[f] = bestValue;
+        }
+        return allowed(config) ? config : null;
+    }
+
+    /**
+     * Finds the first valid configuration containing the seed combination by backtracking over the free factors.
+     *
+     * @return The configuration as value indexes, or null if the constraints exclude every one.
+     */
+    private int[] search(List<Integer> seedTuple) {
+        int[] config = new int[names.size()];
+        for (int f = 0; f < names.size(); f++) {
+            config[f] = seedTuple.get(f);
+        }
+        return search(config, 0) ? config : null;
+    }
+
+    private boolean search(int[] config, int from) {
+        int f = from;
+        while (f < config.length && config[f] >= 0) {
+            f++;
+        }
+        if (f == config.length) {
+            return allowed(config);
+        }
+        for (int v = 0; v < values.get(f).size(); v++) {
+            config[f] = v;
+            if (allowed(config) && search(config, f + 1)) {
+                return true;
+            }
+        }
+        config[f] = -1;
+        return false;
+    }
+
+    /** Uncovered combinations that assigning {@code factor} completes, given the factors assigned so far. */
+    private int gain(int[] config, int factor, Set<List<Integer>> uncovered, int t) {
+        List<Integer> assigned = new ArrayList<>();
+        for (int f = 0; f < config.length; f++) {
+            if (f != factor && config[f] >= 0) {
+                assigned.add(f);
+            }
+        }
+        if (assigned.size() < t - 1) {
+            return 0;
+        }
+        int gain = 0;
+        for (int[] others : combinations(assigned.size(), t - 1)) {
+            Integer[] tuple = new Integer[config.length];
+            Arrays.fill(tuple, -1);
+            tuple[factor] = config[factor];
+            for (int i : others) {
+                tuple[assigned.get(i)] = config[assigned.get(i)];
+            }
+            if (uncovered.contains(List.of(tuple))) {
+                gain++;
+            }
+        }
+        return gain;
+    }
+
+    private List<List<Integer>> covered(int[] config, Set<List<Integer>> uncovered, int t) {
+        List<List<Integer>> covered = new ArrayList<>();
+        for (int[] factors : combinations(config.length, t)) {
+            Integer[] tuple = new Integer[config.length];
+            Arrays.fill(tuple, -1);
+            for (int f : factors) {
+                tuple[f] = config[f];
+            }
+            List<Integer> key = List.of(tuple);
+            if (uncovered.contains(key)) {
+                covered.add(key);
+            }
+        }
+        return covered;
+    }
+
+    /** Adds every value combination of the given factors that the constraints allow on its own. */
+    private void addTuples(int[] factors, int depth, int[] config, Set<List<Integer>> into, List<List<Integer>> order) {
+        if (depth == 0) {
+            Arrays.fill(config, -1);
+        }
+        if (depth == factors.length) {
+            if (allowed(config)) {
+                Integer[] tuple = new Integer[config.length];
+                for (int f = 0; f < config.length; f++) {
+                    tuple[f] = config[f];
+                }
+                List<Integer> key = List.of(tuple);
+                if (into.add(key)) {
+                    order.add(key);
+                }
+            }
+            return;
+        }
+        int f = factors[depth];
+        for (int v = 0; v < values.get(f).size(); v++) {
+            config[f] = v;
+            addTuples(factors, depth + 1, config, into, order);
+        }
+        config[f] = -1;
+    }
+
+    private boolean allowed(int[] config) {
+        if (constraints.isEmpty()) {
+            return true;
+        }
+        Map<String, String> partial = new LinkedHashMap<>();
+        for (int f = 0; f < config.length; f++) {
+            if (config[f] >= 0) {
+                partial.put(names.get(f), values.get(f).get(config[f]));
+            }
+        }
+        return constraints.stream().allMatch(constraint -> constraint.test(partial));
+    }
+
+    private Map<String, String> toMap(int[] config) {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int f = 0; f < config.length; f++) {
+            row.put(names.get(f), values.get(f).get(config[f]));
+        }
+        return row;
+    }
+
+    /** All ways of choosing {@code k} of {@code n} indexes, in lexicographic order. */
+    private static List<int[]> combinations(int n, int k) {
+        List<int[]> result = new ArrayList<>();
+        int[] current = new int[k];
+        for (int i = 0; i < k; i++) {
+            current[i] = i;
+        }
+        while (k <= n) {
+            result.add(current.clone());
+            int i = k - 1;
+            while (i >= 0 && current[i] == n - k + i) {
+                i--;
+            }
+            if (i < 0) {
+                break;
+            }
+            current[i]++;
+            for (int j = i + 1; j < k; j++) {
+                current[j] = current[j - 1] + 1;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,172 @@
+package com.demo.flightbooking.utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link CoveringArrayGenerator}. Coverage is checked against a brute-force enumeration of the
+ * full cartesian product: every t-way combination found in some valid configuration must be in the output.
+ */
+public class CoveringArrayGeneratorTest {
+
+    private static final Map<String, List<String>> FACTORS = new LinkedHashMap<>();
+
+    static {
+        FACTORS.put("origin", List.of("Paris", "Boston", "Portland", "Mexico City"));
+        FACTORS.put("destination", List.of("Rome", "London", "Berlin"));
+        FACTORS.put("cardType", List.of("Visa", "American Express", "Diner's Club"));
+        FACTORS.put("browser", List.of("chrome", "firefox"));
+    }
+
+    @Test(groups = {"unit"})
+    public void coversEveryPair() {
+        List<Map<String, String>> rows = generator(FACTORS, 2, 42).generate();
+
+        assertCoversEveryCombination(FACTORS, 2, c -> true, rows);
+        Assert.assertTrue(rows.size() < 4 * 3 * 3 * 2, "not smaller than the full product: " + rows.size());
+    }
+
+    @Test(groups = {"unit"})
+    public void coversEveryTriple() {
+        List<Map<String, String>> rows = generator(FACTORS, 3, 7).generate();
+
+        assertCoversEveryCombination(FACTORS, 3, c -> true, rows);
+    }
+
+    @Test(groups = {"unit"})
+    public void coversEveryAllowedPairUnderConstraints() {
+        Predicate<Map<String, String>> constraint = c -> !"Paris".equals(c.get("origin")) || !"firefox".equals(c.get("browser"));
+        List<Map<String, String>> rows = generator(FACTORS, 2, 42).constraint(constraint).generate();
+
+        rows.forEach(row -> Assert.assertTrue(constraint.test(row), "violates the constraint: " + row));
+        assertCoversEveryCombination(FACTORS, 2, constraint, rows);
+    }
+
+    @Test(groups = {"unit"})
+    public void coversPairsThatOnlyOneNarrowConfigurationAllows() {
+        // (a1, b1) is only valid together with d7 and e1, which random greedy completion rarely finds
+        Map<String, List<String>> factors = new LinkedHashMap<>();
+        factors.put("a", List.of("a0", "a1"));
+        factors.put("b", List.of("b0", "b1"));
+        factors.put("d", values("d", 30));
+        factors.put("e", values("e", 30));
+        Predicate<Map<String, String>> narrow = c -> !"a1".equals(c.get("a")) || !"b1".equals(c.get("b"))
+                || !c.containsKey("d") || !c.containsKey("e") || ("d7".equals(c.get("d")) && "e1".equals(c.get("e")));
+
+        for (long seed = 1; seed <= 5; seed++) {
+            List<Map<String, String>> rows = generator(factors, 2, seed).constraint(narrow).generate();
+
+            rows.forEach(row -> Assert.assertTrue(narrow.test(row), "violates the constraint: " + row));
+            assertCoversEveryCombination(factors, 2, narrow, rows);
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void leavesOutPairsNoValidConfigurationHas() {
+        // b1 needs c1 when a1 is set, and c0 otherwise when b1 is set: (a1, b1) is allowed on its own but never completable
+        Map<String, List<String>> factors = new LinkedHashMap<>();
+        factors.put("a", List.of("a0", "a1"));
+        factors.put("b", List.of("b0", "b1"));
+        factors.put("c", List.of("c0", "c1"));
+        Predicate<Map<String, String>> impossible = c -> !c.containsKey("c")
+                || !("a1".equals(c.get("a")) && "c0".equals(c.get("c")))
+                && !("b1".equals(c.get("b")) && "c1".equals(c.get("c")));
+
+        List<Map<String, String>> rows = generator(factors, 2, 42).constraint(impossible).generate();
+
+        rows.forEach(row -> Assert.assertFalse("a1".equals(row.get("a")) && "b1".equals(row.get("b")), "impossible row: " + row));
+        assertCoversEveryCombination(factors, 2, impossible, rows);
+    }
+
+    @Test(groups = {"unit"})
+    public void sameSeedGivesSameRows() {
+        Assert.assertEquals(generator(FACTORS, 2, 42).generate(), generator(FACTORS, 2, 42).generate());
+        Assert.assertEquals(generator(FACTORS, 3, 5).generate(), generator(FACTORS, 3, 5).generate());
+    }
+
+    @Test(groups = {"unit"})
+    public void strengthAboveFactorCountGivesTheFullProduct() {
+        Map<String, List<String>> factors = new LinkedHashMap<>();
+        factors.put("a", List.of("a0", "a1"));
+        factors.put("b", List.of("b0", "b1", "b2"));
+
+        List<Map<String, String>> rows = generator(factors, 3, 1).generate();
+
+        Assert.assertEquals(rows.size(), 6);
+        Assert.assertEquals(new HashSet<>(rows).size(), 6);
+    }
+
+    private static CoveringArrayGenerator generator(Map<String, List<String>> factors, int strength, long seed) {
+        CoveringArrayGenerator generator = new CoveringArrayGenerator(strength, seed);
+        factors.forEach(generator::factor);
+        return generator;
+    }
+
+    private static List<String> values(String prefix, int count) {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(prefix + i);
+        }
+        return values;
+    }
+
+    /** Every t-way combination that appears in some valid configuration of the full product appears in a row. */
+    private static void assertCoversEveryCombination(Map<String, List<String>> factors, int t,
+                                                     Predicate<Map<String, String>> constraint,
+                                                     List<Map<String, String>> rows) {
+        List<String> names = new ArrayList<>(factors.keySet());
+        Set<Map<String, String>> required = new HashSet<>();
+        for (Map<String, String> configuration : product(factors, names, 0, new LinkedHashMap<>())) {
+            if (constraint.test(configuration)) {
+                required.addAll(projections(configuration, names, t));
+            }
+        }
+        Set<Map<String, String>> covered = new HashSet<>();
+        rows.forEach(row -> covered.addAll(projections(row, names, t)));
+
+        required.removeAll(covered);
+        Assert.assertTrue(required.isEmpty(), "combinations not covered: " + required);
+    }
+
+    private static List<Map<String, String>> product(Map<String, List<String>> factors, List<String> names, int index,
+                                                     Map<String, String> prefix) {
+        if (index == names.size()) {
+            return List.of(new LinkedHashMap<>(prefix));
+        }
+        List<Map<String, String>> result = new ArrayList<>();
+        for (String value : factors.get(names.get(index))) {
+            prefix.put(names.get(index), value);
+            result.addAll(product(factors, names, index + 1, prefix));
+        }
+        prefix.remove(names.get(index));
+        return result;
+    }
+
+    /** The sub-maps of a configuration on every choice of {@code t} factors. */
+    private static List<Map<String, String>> projections(Map<String, String> configuration, List<String> names, int t) {
+        List<Map<String, String>> result = new ArrayList<>();
+        int n = names.size();
+        int k = Math.min(t, n);
+        for (int mask = 0; mask < 1 << n; mask++) {
+            if (Integer.bitCount(mask) != k) {
+                continue;
+            }
+            Map<String, String> projection = new LinkedHashMap<>();
+            for (int f = 0; f < n; f++) {
+                if ((mask & 1 << f) != 0) {
+                    projection.put(names.get(f), configuration.get(names.get(f)));
+                }
+            }
+            result.add(projection);
+        }
+        return result;
+    }
+}
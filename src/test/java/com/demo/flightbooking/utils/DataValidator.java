@@ -0,0 +1,200 @@
+package com.demo.flightbooking.utils;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.demo.flightbooking.enums.ValidationMode;
+import com.demo.flightbooking.model.Passenger;
+import com.demo.flightbooking.utils.RouteMetadataCache.RouteMetadata;
+
+/**
+ * Checks passenger rows before any browser is launched, so a row that cannot pass does not cost a session.
+ * <p>
+ * Each row is checked against a schema (required fields, card number, well-formed expiry month/year, zip code, age,
+ * card type from {@code data.validation.card.types}) and, when the {@link RouteMetadataCache} holds the
+ * current environment's route options, its origin and destination against the home page's dropdowns.
+ * {@link #preflight()} validates every row of the JSON and CSV files in parallel at suite start and reports
+ * the invalid ones; the data providers then apply {@link #filter(Object[][])}, which with
+ * {@code data.validation.mode=drop} (the default) removes invalid rows, with {@code flag} only logs them,
+ * and with {@code off} does nothing. A card's expiry is not compared with today's date: the stand-in and
+ * demo sites accept any expiry, and a date check would silently drop rows as the calendar moves on.
+ * If dropping would leave a data provider with no rows at all, {@link #filter(Object[][])} fails instead of
+ * letting TestNG skip the test without a trace. Results are memoised per row.
+ */
+public class DataValidator {
+
+    private static final Logger logger = LogManager.getLogger(DataValidator.class);
+
+    private static final ValidationMode MODE = ConfigReader.config().dataValidation().mode();
+    private static final Pattern CARD_NUMBER = Pattern.compile("\\d{12,19}");
+    private static final Pattern MONTH = Pattern.compile("\\d{1,2}");
+    private static final Pattern YEAR = Pattern.compile("\\d{4}");
+    private static final Pattern ZIP_CODE = Pattern.compile("[A-Za-z0-9][A-Za-z0-9 -]{2,9}");
+    private static final List<String> CARD_TYPES = ConfigReader.config().dataValidation().cardTypes();
+
+    private static final Map<Passenger, List<String>> results = new ConcurrentHashMap<>();
+
+    private DataValidator() {
+    }
+
+    /**
+     * Validates every row of the configured JSON and CSV data files in parallel and logs the invalid ones.
+     * Call once per suite, after {@link RouteMetadataCache#refresh()}.
+     *
+     * @return The number of invalid rows found.
+     */
+    public static int preflight() {
+        if (MODE == ValidationMode.OFF) {
+            return 0;
+        }
+        results.clear(); // the route options may have changed since the last suite
+        CompletableFuture<List<Passenger>> json = CompletableFuture.supplyAsync(DataValidator::jsonRows);
+        CompletableFuture<List<Passenger>> csv = CompletableFuture.supplyAsync(DataValidator::csvRows);
+        List<Passenger> rows = new ArrayList<>(json.join());
+        rows.addAll(csv.join());
+
+        long invalid = rows.parallelStream()
+                .filter(passenger -> !validate(passenger).isEmpty())
+                .count();
+        if (invalid == 0) {
+            logger.info("✅ Pre-flight data validation: all {} row(s) valid{}", rows.size(),
+                    RouteMetadataCache.get().isPresent() ? "" : " (route options unknown, not checked)");
+        } else {
+            logger.warn("🚫 Pre-flight data validation: {} of {} row(s) invalid and {}", invalid, rows.size(),
+                    MODE == ValidationMode.DROP ? "will not be run" : "flagged only");
+            rows.stream().filter(p -> !validate(p).isEmpty()).distinct().forEach(p ->
+                    logger.warn("🚫 {} {} ({} → {}): {}", p.firstName(), p.lastName(), p.origin(), p.destination(),
+                            String.join("; ", validate(p))));
+        }
+        return (int) invalid;
+    }
+
+    /**
+     * Applies the validation mode to a data provider's rows. Rows that are not passengers are kept.
+     *
+     * @param rows The rows produced by the data provider.
+     * @return The rows to run.
+     */
+    public static Object[][] filter(Object[][] rows) {
+        if (MODE == ValidationMode.OFF) {
+            return rows;
+        }
+        List<Object[]> kept = new ArrayList<>();
+        List<String> firstProblems = null;
+        for (Object[] row : rows) {
+            List<String> problems = row.length > 0 && row[0] instanceof Passenger passenger ? validate(passenger) : List.of();
+            if (problems.isEmpty() || MODE == ValidationMode.FLAG) {
+                kept.add(row);
+            }
+            if (!problems.isEmpty()) {
+                logger.debug("🚫 Invalid data row ({}): {}", MODE == ValidationMode.DROP ? "dropped" : "flagged", problems);
+                firstProblems = firstProblems == null ? problems : firstProblems;
+            }
+        }
+        if (kept.isEmpty() && rows.length > 0) {
+            throw new IllegalStateException("All " + rows.length + " data row(s) are invalid, so none would run"
+                    + " (data.validation.mode=drop); first row: " + String.join("; ", firstProblems));
+        }
+        return kept.toArray(Object[][]::new);
+    }
+
+    /**
+     * Returns the problems with a row, checking it on first use.
+     *
+     * @param passenger The row.
+     * @return The problems found; empty if the row is valid.
+     */
+    public static List<String> validate(Passenger passenger) {
+        return results.computeIfAbsent(passenger, DataValidator::check);
+    }
+
+    private static List<String> check(Passenger p) {
+        List<String> problems = new ArrayList<>();
+        required(problems, "origin", p.origin());
+        required(problems, "destination", p.destination());
+        required(problems, "firstName", p.firstName());
+        required(problems, "lastName", p.lastName());
+        required(problems, "address", p.address());
+        required(problems, "city", p.city());
+        required(problems, "state", p.state());
+        required(problems, "cardName", p.cardName());
+        required(problems, "gender", p.gender());
+
+        if (p.zipCode() == null || !ZIP_CODE.matcher(p.zipCode()).matches()) {
+            problems.add("zipCode '" + p.zipCode() + "' is malformed");
+        }
+        if (p.cardNumber() == null || !CARD_NUMBER.matcher(p.cardNumber()).matches()) {
+            problems.add("cardNumber must be 12 to 19 digits");
+        }
+        if (p.cardType() == null || (!CARD_TYPES.isEmpty() && !CARD_TYPES.contains(p.cardType()))) {
+            problems.add("cardType '" + p.cardType() + "' is not one of " + CARD_TYPES);
+        }
+        checkExpiry(problems, p.month(), p.year());
+        if (p.age() <= 0 || p.age() > 120) {
+            problems.add("age " + p.age() + " is out of range");
+        }
+
+        RouteMetadataCache.get().ifPresent(routes -> checkRoute(problems, p, routes));
+        return List.copyOf(problems);
+    }
+
+    private static void checkExpiry(List<String> problems, String month, String year) {
+        if (month == null || !MONTH.matcher(month).matches() || Integer.parseInt(month) < 1 || Integer.parseInt(month) > 12) {
+            problems.add("month '" + month + "' is not 1-12");
+        } else if (year == null || !YEAR.matcher(year).matches()) {
+            problems.add("year '" + year + "' is not a 4-digit year");
+        }
+    }
+
+    private static void checkRoute(List<String> problems, Passenger p, RouteMetadata routes) {
+        if (p.origin() != null && !routes.departCities().contains(p.origin())) {
+            problems.add("origin '" + p.origin() + "' is not offered in " + RouteMetadataCache.DEPART);
+        }
+        if (p.destination() != null && !routes.arriveCities().contains(p.destination())) {
+            problems.add("destination '" + p.destination() + "' is not offered in " + RouteMetadataCache.ARRIVE);
+        }
+    }
+
+    private static void required(List<String> problems, String field, String value) {
+        if (value == null || value.isBlank()) {
+            problems.add(field + " is missing");
+        }
+    }
+
+    private static List<Passenger> jsonRows() {
+        try {
+            return Arrays.stream(JsonDataProvider.getPassengerData())
+                    .map(row -> (Passenger) row[0])
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            logger.warn("Pre-flight validation could not read the JSON data: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static List<Passenger> csvRows() {
+        String file = ConfigReader.getProperty("data.file.passengers.csv");
+        InputStream is = file == null ? null : DataValidator.class.getClassLoader().getResourceAsStream(file);
+        if (is == null) {
+            return List.of();
+        }
+        try (Reader reader = new InputStreamReader(is)) {
+            return CsvDataProvider.parse(reader);
+        } catch (Exception e) {
+            logger.warn("Pre-flight validation could not read the CSV data: {}", e.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.demo.flightbooking.utils;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.model.Passenger;
+
+/**
+ * Unit tests for {@link DataValidator}, with the default {@code data.validation.mode=drop}.
+ */
+public class DataValidatorTest {
+
+    private static Passenger passenger(String cardType, String cardNumber, String month, String year, String zipCode, int age) {
+        return new Passenger("Paris", "Rome", "Emily", "Johnson", "456 Oak Avenue", "Metropolis", "MS", zipCode,
+                cardType, cardNumber, month, year, "Emily Johnson", age, "Female");
+    }
+
+    private static Passenger valid() {
+        return passenger("Visa", "4111111111111111", "11", "2030", "54321", 35);
+    }
+
+    @Test(groups = {"unit"})
+    public void acceptsWellFormedRows() {
+        Assert.assertEquals(DataValidator.validate(valid()), List.of());
+        Assert.assertEquals(DataValidator.validate(passenger("American Express", "378282246310005", "1", "2031", "SW1A 1AA", 120)),
+                List.of());
+    }
+
+    @Test(groups = {"unit"})
+    public void acceptsCardsWithAPastExpiry() {
+        // Only the format of the expiry matters; the demo site takes any date
+        Assert.assertEquals(DataValidator.validate(passenger("Visa", "4111111111111111", "01", "2001", "54321", 35)), List.of());
+    }
+
+    @Test(groups = {"unit"})
+    public void rejectsMalformedFields() {
+        Assert.assertEquals(DataValidator.validate(passenger("Visa", "4111111111111111", "13", "2030", "54321", 35)),
+                List.of("month '13' is not 1-12"));
+        Assert.assertEquals(DataValidator.validate(passenger("Visa", "4111111111111111", "11", "30", "54321", 35)),
+                List.of("year '30' is not a 4-digit year"));
+        Assert.assertEquals(DataValidator.validate(passenger("Visa", "4111-1111", "11", "2030", "54321", 35)),
+                List.of("cardNumber must be 12 to 19 digits"));
+        Assert.assertEquals(DataValidator.validate(passenger("Visa", "4111111111111111", "11", "2030", "#1", 35)),
+                List.of("zipCode '#1' is malformed"));
+        Assert.assertEquals(DataValidator.validate(passenger("Visa", "4111111111111111", "11", "2030", "54321", 0)),
+                List.of("age 0 is out of range"));
+        List<String> unknownCard = DataValidator.validate(passenger("Bitcoin", "4111111111111111", "11", "2030", "54321", 35));
+        Assert.assertEquals(unknownCard.size(), 1);
+        Assert.assertTrue(unknownCard.get(0).startsWith("cardType 'Bitcoin' is not one of"), unknownCard.get(0));
+    }
+
+    @Test(groups = {"unit"})
+    public void reportsEveryMissingField() {
+        Passenger blank = new Passenger("Paris", "Rome", "", null, "456 Oak Avenue", "Metropolis", "MS", "54321",
+                "Visa", "4111111111111111", "11", "2030", " ", 35, "Female");
+
+        Assert.assertEquals(DataValidator.validate(blank),
+                List.of("firstName is missing", "lastName is missing", "cardName is missing"));
+    }
+
+    @Test(groups = {"unit"})
+    public void dropsInvalidRowsAndKeepsOtherRows() {
+        Passenger invalid = passenger("Visa", "4111111111111111", "0", "2030", "54321", 35);
+        Object[][] rows = { {valid()}, {invalid}, {"not a passenger"} };
+
+        Object[][] kept = DataValidator.filter(rows);
+
+        Assert.assertEquals(kept.length, 2);
+        Assert.assertEquals(kept[0][0], valid());
+        Assert.assertEquals(kept[1][0], "not a passenger");
+    }
+
+    @Test(groups = {"unit"})
+    public void failsWhenNoRowWouldBeLeft() {
+        Object[][] rows = { {passenger("Visa", "4111111111111111", "0", "2030", "54321", 35)} };
+
+        IllegalStateException e = Assert.expectThrows(IllegalStateException.class, () -> DataValidator.filter(rows));
+        Assert.assertTrue(e.getMessage().contains("month '0' is not 1-12"), e.getMessage());
+        Assert.assertEquals(DataValidator.filter(new Object[0][]).length, 0);
+    }
+}
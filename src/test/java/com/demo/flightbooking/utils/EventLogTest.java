@@ -0,0 +1,82 @@
+package com.demo.flightbooking.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link EventLog}, written through a {@link BinaryEventSink} and read back with
+ * {@link EventLogDecoder}.
+ */
+public class EventLogTest {
+
+    private static List<String> decode(Path file, String prefix) throws Exception {
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        EventLogDecoder.decode(file, prefix, new PrintStream(printed, true, StandardCharsets.UTF_8));
+        return printed.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    @Test(groups = {"unit"})
+    public void eventsRoundTripThroughTheBinaryLog() throws Exception {
+        Path file = Files.createTempDirectory("events").resolve("events.bin");
+        BinaryEventSink sink = new BinaryEventSink(Files.newOutputStream(file));
+        EventLog events = EventLog.forClass(EventLogTest.class, sink);
+        EventLog.Event clicked = events.debug("element.clicked", "Clicked element: {}");
+        EventLog.Event typed = events.debug("element.typed", "Typed {} characters into {}");
+
+        clicked.log("By.id: purchase");
+        typed.log(5L, "By.id: inputName");
+        clicked.log("x".repeat(BinaryEventSink.MAX_ARG_LENGTH + 10));
+        sink.close();
+
+        List<String> lines = decode(file, "");
+        Assert.assertEquals(lines.size(), 3, String.join("\n", lines));
+        Assert.assertTrue(lines.get(0).endsWith("] element.clicked: Clicked element: By.id: purchase"), lines.get(0));
+        Assert.assertTrue(lines.get(1).endsWith("] element.typed: Typed 5 characters into By.id: inputName"), lines.get(1));
+        Assert.assertTrue(lines.get(2).endsWith(": " + "x".repeat(BinaryEventSink.MAX_ARG_LENGTH)), "argument not truncated");
+        Assert.assertTrue(lines.get(0).contains(" [" + Thread.currentThread().threadId() + "] "), lines.get(0));
+
+        Assert.assertEquals(decode(file, "element.typed").size(), 1);
+    }
+
+    @Test(groups = {"unit"})
+    public void sampledEventWritesEveryNthOccurrenceAndEvaluatesOnlyThose() throws Exception {
+        Path file = Files.createTempDirectory("events").resolve("events.bin");
+        BinaryEventSink sink = new BinaryEventSink(Files.newOutputStream(file));
+        EventLog.Event row = EventLog.forClass(EventLogTest.class, sink).debug("table.row", "Row {}: {}").sampled(3);
+        AtomicInteger evaluated = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            int index = i;
+            row.log(index, () -> "price " + evaluated.incrementAndGet() + " for " + index);
+        }
+        sink.close();
+
+        List<String> lines = decode(file, "");
+        Assert.assertEquals(lines.size(), 4, String.join("\n", lines));
+        for (int i = 0; i < lines.size(); i++) {
+            Assert.assertTrue(lines.get(i).endsWith("table.row: Row " + i * 3 + ": price " + (i + 1) + " for " + i * 3),
+                    lines.get(i));
+        }
+        Assert.assertEquals(evaluated.get(), 4, "only sampled occurrences may evaluate their arguments");
+    }
+
+    @Test(groups = {"unit"})
+    public void disabledEventNeverEvaluatesItsArguments() {
+        // No binary sink, and a logger at the root's INFO level (other tests change the framework loggers' level)
+        EventLog.Event event = EventLog.forClass(Object.class, null).debug("element.found", "Found {}");
+        AtomicInteger evaluated = new AtomicInteger();
+
+        event.log(() -> "element " + evaluated.incrementAndGet());
+
+        Assert.assertFalse(event.isEnabled());
+        Assert.assertEquals(evaluated.get(), 0);
+    }
+}
@@ -0,0 +1,89 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.enums.FailureCategory;
+
+/**
+ * Unit tests for {@link FailureClassifier}.
+ */
+public class FailureClassifierTest {
+
+    @Test(groups = {"unit"})
+    public void nullAndUnrecognisedFailuresAreUnknown() {
+        Assert.assertEquals(FailureClassifier.classify(null), FailureCategory.UNKNOWN);
+        Assert.assertEquals(FailureClassifier.classify(new IllegalStateException("boom")), FailureCategory.UNKNOWN);
+        Assert.assertEquals(FailureClassifier.classify(new WebDriverException("something else")), FailureCategory.UNKNOWN);
+    }
+
+    @Test(groups = {"unit"})
+    public void sessionAndNetworkFailuresAreInfra() {
+        Assert.assertEquals(FailureClassifier.classify(new SessionNotCreatedException("no")), FailureCategory.INFRA);
+        Assert.assertEquals(FailureClassifier.classify(new NoSuchSessionException("gone")), FailureCategory.INFRA);
+        Assert.assertEquals(FailureClassifier.classify(new IOException("reset")), FailureCategory.INFRA);
+        Assert.assertEquals(FailureClassifier.classify(new WebDriverException("Connection refused: localhost/127.0.0.1:4444")),
+                FailureCategory.INFRA);
+    }
+
+    @Test(groups = {"unit"})
+    public void wrappedInfraFailureWinsOverTiming() {
+        TimeoutException timeout = new TimeoutException("wait timed out", new WebDriverException("x", new ConnectException("refused")));
+        Assert.assertEquals(FailureClassifier.classify(timeout), FailureCategory.INFRA);
+    }
+
+    @Test(groups = {"unit"})
+    public void waitsAndFlakyElementsAreTiming() {
+        Assert.assertEquals(FailureClassifier.classify(new TimeoutException("timed out")), FailureCategory.TIMING);
+        Assert.assertEquals(FailureClassifier.classify(new StaleElementReferenceException("stale")), FailureCategory.TIMING);
+        Assert.assertEquals(FailureClassifier.classify(new ElementClickInterceptedException("covered")), FailureCategory.TIMING);
+    }
+
+    @Test(groups = {"unit"})
+    public void bareNoSuchElementIsLocator() {
+        Assert.assertEquals(FailureClassifier.classify(new NoSuchElementException("no such element: #purchase")),
+                FailureCategory.LOCATOR);
+        Assert.assertEquals(FailureClassifier.classify(new RuntimeException("step failed", new NoSuchElementException("missing"))),
+                FailureCategory.LOCATOR);
+    }
+
+    @Test(groups = {"unit"})
+    public void noSuchElementBehindWaitTimeoutIsTiming() {
+        // WebDriverWait reports the last exception it ignored as the cause of its TimeoutException
+        TimeoutException timeout = new TimeoutException("Expected condition failed", new NoSuchElementException("missing"));
+        Assert.assertEquals(FailureClassifier.classify(timeout), FailureCategory.TIMING);
+        Assert.assertEquals(FailureClassifier.classify(new RuntimeException("step failed", timeout)), FailureCategory.TIMING);
+    }
+
+    @Test(groups = {"unit"})
+    public void waitTimeoutReportedAsNoSuchElementIsTiming() {
+        // WebDriverUtils.findElement reports a timed-out visibility wait this way
+        NoSuchElementException notVisible = new NoSuchElementException("Element not found or not visible: By.id: purchase",
+                new TimeoutException("Expected condition failed", new NoSuchElementException("missing")));
+        Assert.assertEquals(FailureClassifier.classify(notVisible), FailureCategory.TIMING);
+        Assert.assertEquals(FailureClassifier.classify(new RuntimeException("step failed", notVisible)), FailureCategory.TIMING);
+    }
+
+    @Test(groups = {"unit"})
+    public void assertionFailuresAreAssertion() {
+        Assert.assertEquals(FailureClassifier.classify(new AssertionError("expected [a] but found [b]")), FailureCategory.ASSERTION);
+    }
+
+    @Test(groups = {"unit"})
+    public void locatorsAndAssertionsAreNotRetriedByDefault() {
+        FrameworkConfig config = ConfigReader.config();
+        Assert.assertEquals(config.retryBudgets().get(FailureCategory.LOCATOR).intValue(), 0);
+        Assert.assertEquals(config.retryBudgets().get(FailureCategory.ASSERTION).intValue(), 0);
+        Assert.assertTrue(config.retryBudgets().get(FailureCategory.TIMING) > 0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.demo.flightbooking.enums.BrowserType;
+import com.demo.flightbooking.factory.BrowserContainerProvider;
+
+/**
+ * A {@link BrowserContainerProvider} that needs no Docker daemon, for exercising the
+ * {@link BrowserPool} (scale-up, reuse, idle scale-down) on any machine.
+ * Every "container" is backed by the same existing WebDriver endpoint ({@code browser.pool.fake.url},
+ * e.g. a Selenium standalone server or the Grid); starting and stopping only log and count.
+ * <p>
+ * Enable with: {@code -Dbrowser.pool.enabled=true -Dbrowser.pool.provider=com.demo.flightbooking.utils.FakeContainerProvider}
+ */
+public class FakeContainerProvider implements BrowserContainerProvider {
+
+    private static final Logger logger = LogManager.getLogger(FakeContainerProvider.class);
+
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final URL url;
+
+    public FakeContainerProvider() {
+        String configured = ConfigReader.getProperty("browser.pool.fake.url");
+        try {
+            this.url = URI.create(configured == null ? "http://localhost:4444" : configured.trim()).toURL();
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid browser.pool.fake.url: " + configured, e);
+        }
+    }
+
+    @Override
+    public BrowserContainer start(BrowserType browser) throws IOException {
+        BrowserContainer container = new BrowserContainer("fake-" + started.incrementAndGet(), browser, url);
+        logger.info("🧪 Fake {} container {} started ({} running)", browser, container.id(), running.incrementAndGet());
+        return container;
+    }
+
+    @Override
+    public void stop(BrowserContainer container) {
+        logger.info("🧪 Fake {} container {} stopped ({} running)", container.browser(), container.id(), running.decrementAndGet());
+    }
+
+    /**
+     * @return How many containers have been started so far.
+     */
+    public int startedCount() {
+        return started.get();
+    }
+
+    /**
+     * @return How many containers are currently running.
+     */
+    public int runningCount() {
+        return running.get();
+    }
+}
@@ -0,0 +1,244 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+
+import com.demo.flightbooking.enums.FlakeLane;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Keeps a local, persistent history of test outcomes per test method, data row and browser,
+ * and uses it to score how flaky each one is.
+ * <p>
+ * Every invocation is recorded as P (passed), F (failed) or R (failed and retried).
+ * The flakiness score is the share of consecutive outcomes in the recent window that flip
+ * between pass and fail: a test that always passes or always fails scores 0, one that
+ * alternates scores close to 1. Entries scoring at or above {@code flake.quarantine.threshold}
+ * are quarantined: the data providers drop them from the main run and only a quarantine run
+ * ({@code -Dflake.lane=quarantine}, see the {@code quarantine} Maven profile) executes them.
+ * <p>
+ * The database ({@code flake.db.file}) is read once per run; new outcomes are merged into it
+ * under a file lock when each {@code <test>} finishes, so parallel JVMs do not lose each other's results.
+ */
+public class FlakeTracker {
+
+    private static final Logger logger = LogManager.getLogger(FlakeTracker.class);
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type DB_TYPE = new TypeToken<TreeMap<String, Entry>>() {}.getType();
+
+    private static final FrameworkConfig.Flake CONFIG = ConfigReader.config().flake();
+    private static final Path DB_FILE = CONFIG.dbFile();
+    private static final int WINDOW = CONFIG.window();
+    private static final int MIN_RUNS = CONFIG.minRuns();
+    private static final double THRESHOLD = CONFIG.quarantineThreshold();
+    private static final FlakeLane LANE = CONFIG.lane();
+
+    /** Outcomes as of the start of the run; quarantine decisions are based on this snapshot only. */
+    private static final Map<String, Entry> snapshot = load();
+    /** Outcomes recorded by this JVM that are not yet merged into the database file. */
+    private static final Map<String, StringBuilder> pending = new LinkedHashMap<>();
+
+    /**
+     * Outcome history of one test method, data row and browser combination.
+     */
+    static class Entry {
+        String test;
+        String row;
+        String browser;
+        int passes;
+        int failures;
+        int retries;
+        String history = "";
+        long lastRun;
+
+        double score() {
+            if (history.length() < Math.max(2, MIN_RUNS)) {
+                return 0;
+            }
+            int flips = 0;
+            for (int i = 1; i < history.length(); i++) {
+                if (passed(history.charAt(i)) != passed(history.charAt(i - 1))) {
+                    flips++;
+                }
+            }
+            return (double) flips / (history.length() - 1);
+        }
+
+        private static boolean passed(char outcome) {
+            return outcome == 'P';
+        }
+    }
+
+    private FlakeTracker() {
+    }
+
+    /**
+     * Applies the current lane to a data provider's rows.
+     * TestNG injects the {@link ITestContext} and the test {@link Method} into the data provider.
+     *
+     * @param rows    The rows produced by the data provider.
+     * @param context The test context, used to read the {@code browser} parameter.
+     * @param method  The test method the rows are for.
+     * @return The rows this run should execute.
+     */
+    public static Object[][] filter(Object[][] rows, ITestContext context, Method method) {
+        if (LANE == FlakeLane.ALL) {
+            return rows;
+        }
+        String browser = TestKeys.browser(context);
+        String test = TestKeys.testName(method);
+        List<Object[]> kept = new ArrayList<>();
+        for (Object[] row : rows) {
+            String key = TestKeys.key(test, row, browser);
+            boolean quarantined = isQuarantined(key);
+            if (quarantined == (LANE == FlakeLane.QUARANTINE)) {
+                kept.add(row);
+            } else if (quarantined) {
+                logger.warn("🚧 Quarantined (flakiness {}), skipped in main run: {}",
+                        String.format("%.2f", snapshot.get(key).score()), key);
+            }
+        }
+        if (LANE == FlakeLane.QUARANTINE) {
+            logger.info("🚧 Quarantine run: {} of {} row(s) of {} on {}", kept.size(), rows.length, test, browser);
+        }
+        return kept.toArray(Object[][]::new);
+    }
+
+    /**
+     * Records the outcome of one test invocation.
+     *
+     * @param result  The finished test result.
+     * @param outcome 'P' for passed, 'F' for failed, 'R' for failed and retried.
+     */
+    public static void record(ITestResult result, char outcome) {
+        String key = TestKeys.key(result);
+        synchronized (pending) {
+            pending.computeIfAbsent(key, k -> new StringBuilder()).append(outcome);
+        }
+    }
+
+    /**
+     * Merges the outcomes recorded since the last call into the database file.
+     * The file is locked while it is read and rewritten, and replaced atomically.
+     */
+    public static void save() {
+        Map<String, StringBuilder> outcomes;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            outcomes = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+
+        synchronized (FlakeTracker.class) {
+            try {
+                Files.createDirectories(DB_FILE.toAbsolutePath().getParent());
+                Path lockFile = DB_FILE.resolveSibling(DB_FILE.getFileName() + ".lock");
+                try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    FileLock lock = channel.lock();
+                    try {
+                        Map<String, Entry> db = read();
+                        outcomes.forEach((key, history) -> merge(db, key, history));
+                        Path tmp = Files.createTempFile(DB_FILE.toAbsolutePath().getParent(), "flake-db", ".tmp");
+                        Files.writeString(tmp, GSON.toJson(db));
+                        Files.move(tmp, DB_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        logFlakiest(db);
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException e) {
+                logger.error("❌ Failed to update flake database {}", DB_FILE, e);
+            }
+        }
+    }
+
+    private static void merge(Map<String, Entry> db, String key, CharSequence outcomes) {
+        Entry entry = db.computeIfAbsent(key, k -> {
+            Entry created = new Entry();
+            String[] parts = split(k);
+            created.test = parts[0];
+            created.row = parts[1];
+            created.browser = parts[2];
+            return created;
+        });
+        for (int i = 0; i < outcomes.length(); i++) {
+            switch (outcomes.charAt(i)) {
+                case 'P' -> entry.passes++;
+                case 'F' -> entry.failures++;
+                case 'R' -> entry.retries++;
+                default -> { }
+            }
+        }
+        String history = entry.history + outcomes;
+        entry.history = history.substring(Math.max(0, history.length() - WINDOW));
+        entry.lastRun = System.currentTimeMillis();
+    }
+
+    private static void logFlakiest(Map<String, Entry> db) {
+        db.entrySet().stream()
+                .filter(e -> e.getValue().score() > 0)
+                .sorted(Comparator.comparingDouble((Map.Entry<String, Entry> e) -> e.getValue().score()).reversed())
+                .limit(5)
+                .forEach(e -> logger.info("🎲 Flakiness {} [{}]{}: {}",
+                        String.format("%.2f", e.getValue().score()), e.getValue().history,
+                        e.getValue().score() >= THRESHOLD ? " QUARANTINED" : "", e.getKey()));
+    }
+
+    private static boolean isQuarantined(String key) {
+        Entry entry = snapshot.get(key);
+        return entry != null && entry.score() >= THRESHOLD;
+    }
+
+    private static Map<String, Entry> load() {
+        try {
+            Map<String, Entry> db = read();
+            long quarantined = db.values().stream().filter(e -> e.score() >= THRESHOLD).count();
+            logger.info("🎲 Flake database {} loaded: {} entries, {} quarantined; lane={}",
+                    DB_FILE, db.size(), quarantined, LANE);
+            return db;
+        } catch (IOException e) {
+            logger.warn("Could not read flake database {}; no tests will be quarantined: {}", DB_FILE, e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    private static Map<String, Entry> read() throws IOException {
+        if (!Files.exists(DB_FILE)) {
+            return new TreeMap<>();
+        }
+        try (Reader reader = Files.newBufferedReader(DB_FILE, StandardCharsets.UTF_8)) {
+            Map<String, Entry> db = GSON.fromJson(reader, DB_TYPE);
+            return db != null ? db : new TreeMap<>();
+        }
+    }
+
+    private static String[] split(String key) {
+        int open = key.indexOf('[');
+        int close = key.indexOf("]@");
+        return new String[] { key.substring(0, open), key.substring(open + 1, close), key.substring(close + 2) };
+    }
+}
@@ -2,8 +2,11 @@ package com.demo.flightbooking.utils;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 
+import org.testng.ITestContext;
 import org.testng.annotations.DataProvider;
 
 import com.demo.flightbooking.model.Passenger;
@@ -19,27 +22,42 @@ public class JsonDataProvider {
     // Correct the path to reflect the 'testdata' folder within resources (NO HYPHEN)
 //    private static final String JSON_FILE = "testdata/passengers.json"; // <--- Corrected path
 	private static final String JSON_FILE = ConfigReader.getProperty("data.file.passengers.json");
+    private static final Gson GSON = new Gson();
 
     /**
-     * TestNG DataProvider method that reads passenger data from a JSON file.
-     * It uses Gson to deserialize the JSON array into a list of Passenger objects.
+     * TestNG DataProvider method that reads passenger data from a JSON file
+     * (or generates pairwise rows instead, see {@link PairwiseDataProvider}).
+     * Rows that fail pre-flight validation are dropped (see {@link DataValidator}),
+     * rows quarantined as flaky are routed to the quarantine run (see {@link FlakeTracker}),
+     * and only this shard's rows are kept when the run is sharded (see {@link ShardSelector}).
      *
+     * @param context The test context, injected by TestNG.
+     * @param method  The test method being fed, injected by TestNG.
      * @return A 2D Object array where each inner array contains a single Passenger object.
      */
     @DataProvider(name = "passengerData")
-    public static Object[][] getPassengerData() throws Exception {
-        Gson gson = new Gson();
-        Type type = new TypeToken<Passenger[]>() {}.getType();
+    public static Object[][] getPassengerData(ITestContext context, Method method) throws Exception {
+        Object[][] rows = PairwiseDataProvider.isEnabled()
+                ? PairwiseDataProvider.rows(context)
+                : getPassengerData();
+        return ShardSelector.filter(FlakeTracker.filter(DataValidator.filter(rows), context, method), context, method);
+    }
 
+    /**
+     * Reads all passenger data from the JSON file.
+     * It uses Gson to deserialize the JSON array into a list of Passenger objects.
+     *
+     * @return A 2D Object array where each inner array contains a single Passenger object.
+     */
+    public static Object[][] getPassengerData() throws Exception {
         // Use getResourceAsStream for classpath resources
-        try (InputStream is = JsonDataProvider.class.getClassLoader().getResourceAsStream(JSON_FILE);
-             InputStreamReader reader = new InputStreamReader(is)) {
-            
-            if (is == null) {
-                throw new RuntimeException("JSON file not found on classpath: " + JSON_FILE);
-            }
+        InputStream is = JsonDataProvider.class.getClassLoader().getResourceAsStream(JSON_FILE);
+        if (is == null) {
+            throw new RuntimeException("JSON file not found on classpath: " + JSON_FILE);
+        }
 
-            Passenger[] passengers = gson.fromJson(reader, type);
+        try (InputStreamReader reader = new InputStreamReader(is)) {
+            Passenger[] passengers = parse(reader);
 
             Object[][] data = new Object[passengers.length][1];
             for (int i = 0; i < passengers.length; i++) {
@@ -48,4 +66,16 @@ public class JsonDataProvider {
             return data;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Deserializes a JSON array of passengers.
+     * Kept separate from the DataProvider so the parsing cost can be measured in isolation.
+     *
+     * @param reader A reader over the JSON array content.
+     * @return The parsed Passenger records, in document order.
+     */
+    public static Passenger[] parse(Reader reader) {
+        Type type = new TypeToken<Passenger[]>() {}.getType();
+        return GSON.fromJson(reader, type);
+    }
+}
@@ -0,0 +1,54 @@
+package com.demo.flightbooking.utils;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link MetricsExporter}, scraping a local endpoint the way Prometheus would.
+ */
+public class MetricsExporterTest {
+
+    @Test(groups = {"unit"})
+    public void servesMetricsOverHttp() throws Exception {
+        int port;
+        try (ServerSocket free = new ServerSocket(0)) {
+            port = free.getLocalPort();
+        }
+        MetricsExporter.start(new FrameworkConfig.Metrics(port, "127.0.0.1", null, 15));
+        try {
+            SuiteMetrics.TESTS_PASSED.inc("scrape-test");
+            SuiteMetrics.TESTS_PASSED.inc("scrape-test");
+
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/metrics")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            Assert.assertEquals(response.statusCode(), 200);
+            Assert.assertEquals(response.headers().firstValue("Content-Type").orElse(""),
+                    "text/plain; version=0.0.4; charset=utf-8");
+            Assert.assertTrue(response.body().contains("# TYPE flightbooking_tests_passed_total counter\n"), response.body());
+            Assert.assertTrue(response.body().contains("flightbooking_tests_passed_total{browser=\"scrape-test\"} 2\n"),
+                    response.body());
+        } finally {
+            MetricsExporter.stop();
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void writesFinalSnapshotOnStop() throws Exception {
+        Path file = Files.createTempDirectory("metrics").resolve("suite.prom");
+        MetricsExporter.start(new FrameworkConfig.Metrics(0, "127.0.0.1", file, 60));
+        SuiteMetrics.TESTS_FAILED.inc("dump-test");
+        MetricsExporter.stop();
+
+        Assert.assertTrue(Files.readString(file).contains("flightbooking_tests_failed_total{browser=\"dump-test\"} 1\n"));
+    }
+}
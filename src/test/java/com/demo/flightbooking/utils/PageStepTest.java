@@ -0,0 +1,99 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link PageStep}, with {@code step.retry.maxcount=2} from config.properties.
+ */
+public class PageStepTest {
+
+    /**
+     * A driver for a page whose element only appears after {@code delayMillis}: until then,
+     * {@code findElement} fails as it does with no implicit wait. Keys sent to the element are recorded.
+     */
+    private static WebDriver slowPage(long delayMillis, List<String> typed) {
+        long readyAt = System.currentTimeMillis() + delayMillis;
+        Object field = Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isDisplayed" -> { return true; }
+                        case "sendKeys" -> typed.add(String.join("", (CharSequence[]) args[0]));
+                        case "clear" -> typed.clear();
+                        default -> { }
+                    }
+                    return null;
+                });
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findElement")) {
+                        if (System.currentTimeMillis() < readyAt) {
+                            throw new NoSuchElementException("no such element: " + args[0]);
+                        }
+                        return field;
+                    }
+                    return null;
+                });
+    }
+
+    @Test(groups = {"unit"})
+    public void slowPageIsRetriedInPlace() {
+        List<String> typed = new ArrayList<>();
+        WebDriverUtils utils = new WebDriverUtils(slowPage(1500, typed), 1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // The first attempt's 1 s wait times out before the field appears; the retry finds it
+        PageStep.run("Enter name", () -> {
+            attempts.incrementAndGet();
+            utils.sendKeys(By.id("inputName"), "Emily");
+        });
+
+        Assert.assertEquals(attempts.get(), 2);
+        Assert.assertEquals(typed, List.of("Emily"));
+    }
+
+    @Test(groups = {"unit"})
+    public void timingFailuresBeyondTheBudgetAreRethrown() {
+        AtomicInteger attempts = new AtomicInteger();
+        WebDriverUtils utils = new WebDriverUtils(slowPage(Long.MAX_VALUE / 2, new ArrayList<>()), 1);
+
+        Assert.assertThrows(NoSuchElementException.class, () -> PageStep.run("Enter name", () -> {
+            attempts.incrementAndGet();
+            utils.sendKeys(By.id("inputName"), "Emily");
+        }));
+        Assert.assertEquals(attempts.get(), 1 + ConfigReader.config().stepRetryMaxCount());
+    }
+
+    @Test(groups = {"unit"})
+    public void brokenLocatorIsNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Assert.assertThrows(NoSuchElementException.class, () -> PageStep.run("Enter name", () -> {
+            attempts.incrementAndGet();
+            throw new NoSuchElementException("no such element: #inputName");
+        }));
+        Assert.assertEquals(attempts.get(), 1);
+    }
+
+    @Test(groups = {"unit"})
+    public void stepThatAlreadyTookEffectIsNotRepeated() {
+        AtomicInteger attempts = new AtomicInteger();
+        WebDriverUtils utils = new WebDriverUtils(slowPage(Long.MAX_VALUE / 2, new ArrayList<>()), 1);
+
+        PageStep.run("Enter name", () -> {
+            attempts.incrementAndGet();
+            utils.sendKeys(By.id("inputName"), "Emily");
+        }, () -> true);
+
+        Assert.assertEquals(attempts.get(), 1);
+    }
+}
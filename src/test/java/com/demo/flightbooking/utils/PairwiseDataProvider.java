@@ -0,0 +1,132 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
+import org.testng.annotations.DataProvider;
+
+import com.demo.flightbooking.model.Passenger;
+
+/**
+ * Provides passenger rows that cover every pair (or, with {@code data.pairwise.strength=3}, every triple)
+ * of origin, destination, card type and browser, built by {@link CoveringArrayGenerator} instead of
+ * hand-written rows or the full product.
+ * <p>
+ * Origins and destinations are the cached route options (see {@link RouteMetadataCache}), or the ones
+ * used in the JSON data when the route options are unknown; card types come from
+ * {@code data.validation.card.types}. Browsers come from {@code data.pairwise.browsers}, or by default from the
+ * {@code browser} parameters of the suite's {@code <test>} blocks, so no row is generated for a browser
+ * that no {@code <test>} runs. The remaining fields
+ * are taken from the JSON rows in turn. Each {@code <test>} only runs the rows generated for its own
+ * browser, so the suite as a whole covers the array. The same {@code data.pairwise.seed} always gives the
+ * same rows.
+ * <p>
+ * With {@code data.pairwise.enabled=true}, {@link JsonDataProvider}'s {@code passengerData} serves these
+ * rows instead of the file's.
+ */
+public class PairwiseDataProvider {
+
+    private static final Logger logger = LogManager.getLogger(PairwiseDataProvider.class);
+
+    private PairwiseDataProvider() {
+    }
+
+    /**
+     * @return true if data providers should serve generated rows.
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.config().pairwise().enabled();
+    }
+
+    /**
+     * TestNG DataProvider serving the generated rows, filtered like the file-based providers.
+     *
+     * @param context The test context, injected by TestNG.
+     * @param method  The test method being fed, injected by TestNG.
+     * @return A 2D Object array where each inner array contains a single Passenger object.
+     */
+    @DataProvider(name = "pairwisePassengerData")
+    public static Object[][] getPairwisePassengerData(ITestContext context, Method method) throws Exception {
+        return ShardSelector.filter(FlakeTracker.filter(DataValidator.filter(rows(context)), context, method), context, method);
+    }
+
+    /**
+     * Generates the covering rows for the current {@code <test>}'s browser, over the browsers of its suite.
+     *
+     * @param context The test context.
+     * @return A 2D Object array where each inner array contains a single Passenger object.
+     */
+    public static Object[][] rows(ITestContext context) throws Exception {
+        List<String> browsers = ConfigReader.config().pairwise().browsers();
+        if (browsers.isEmpty()) {
+            browsers = distinct(context.getSuite().getXmlSuite().getTests().stream()
+                    .map(test -> test.getParameter("browser"))
+                    .filter(browser -> browser != null && !browser.isBlank())
+                    .map(browser -> browser.trim().toLowerCase())
+                    .toList());
+        }
+        return rows(TestKeys.browser(context), browsers);
+    }
+
+    /**
+     * Generates the covering rows for one browser.
+     *
+     * @param browser  The {@code <test>}'s browser, or null to get the rows of every browser.
+     * @param browsers The browsers the array covers; empty means chrome only.
+     * @return A 2D Object array where each inner array contains a single Passenger object.
+     */
+    public static Object[][] rows(String browser, List<String> browsers) throws Exception {
+        List<Passenger> templates = Arrays.stream(JsonDataProvider.getPassengerData())
+                .map(row -> (Passenger) row[0])
+                .collect(Collectors.toList());
+        if (templates.isEmpty()) {
+            throw new IllegalStateException("Pairwise generation needs at least one JSON passenger row as a template");
+        }
+
+        List<String> origins = RouteMetadataCache.get().map(RouteMetadataCache.RouteMetadata::departCities)
+                .orElseGet(() -> distinct(templates.stream().map(Passenger::origin).toList()));
+        List<String> destinations = RouteMetadataCache.get().map(RouteMetadataCache.RouteMetadata::arriveCities)
+                .orElseGet(() -> distinct(templates.stream().map(Passenger::destination).toList()));
+        List<String> cardTypes = ConfigReader.config().dataValidation().cardTypes();
+
+        FrameworkConfig.Pairwise config = ConfigReader.config().pairwise();
+        CoveringArrayGenerator generator = new CoveringArrayGenerator(config.strength(), config.seed())
+                .factor("origin", origins)
+                .factor("destination", destinations)
+                .factor("cardType", cardTypes.isEmpty() ? distinct(templates.stream().map(Passenger::cardType).toList()) : cardTypes)
+                .factor("browser", browsers.isEmpty() ? List.of("chrome") : browsers)
+                // A flight needs two different cities
+                .constraint(c -> c.get("origin") == null || !c.get("origin").equals(c.get("destination")));
+        List<Map<String, String>> combinations = generator.generate();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < combinations.size(); i++) {
+            Map<String, String> combination = combinations.get(i);
+            if (browser != null && browsers.contains(browser.toLowerCase())
+                    && !combination.get("browser").equals(browser.toLowerCase())) {
+                continue;
+            }
+            Passenger template = templates.get(i % templates.size());
+            rows.add(new Object[]{new Passenger(combination.get("origin"), combination.get("destination"),
+                    template.firstName(), template.lastName(), template.address(), template.city(), template.state(),
+                    template.zipCode(), combination.get("cardType"), template.cardNumber(), template.month(),
+                    template.year(), template.cardName(), template.age(), template.gender())});
+        }
+        logger.info("🧮 Pairwise data: {} row(s) cover every {}-way combination of origin, destination, cardType and browser"
+                        + " (full product: {}); {} for {}", combinations.size(), generator.strength(),
+                generator.exhaustiveSize(), rows.size(), browser == null ? "all browsers" : browser);
+        return rows.toArray(Object[][]::new);
+    }
+
+    private static List<String> distinct(List<String> values) {
+        return List.copyOf(new LinkedHashSet<>(values));
+    }
+}
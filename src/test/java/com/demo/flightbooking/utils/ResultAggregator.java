@@ -0,0 +1,157 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ITestResult;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Collects the outcome of every test invocation of one suite run and writes the run's result files once,
+ * when the suite finishes.
+ * <p>
+ * One aggregator is attached to each {@link ISuite} by the {@code TestListener}, so nothing is shared
+ * between runs. Test threads only append to a lock-free queue, whatever TestNG's parallel mode; each
+ * invocation carries the attempt number the retry analyzer gave it, and the files are written by the
+ * single thread that finishes the suite:
+ * <ul>
+ *   <li>{@code reports/<suite>-results.json}: every invocation (test, row, browser, attempt, duration,
+ *       status and failure class);</li>
+ *   <li>{@code reports/<suite>-failure-summary.txt}: one line per final failure.</li>
+ * </ul>
+ * Both names carry the shard suffix when the run is sharded (see {@link ShardSelector}).
+ */
+public class ResultAggregator {
+
+    private static final Logger logger = LogManager.getLogger(ResultAggregator.class);
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final String ATTRIBUTE = ResultAggregator.class.getName();
+
+    private final Queue<Outcome> outcomes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean written = new AtomicBoolean();
+
+    /**
+     * Final status of one invocation.
+     */
+    public enum Status {
+        PASSED,
+        FAILED,
+        /** Failed, and a retry was scheduled. */
+        RETRIED,
+        SKIPPED
+    }
+
+    /**
+     * One test invocation, as written to the JSON results file.
+     */
+    static class Outcome {
+        String test;
+        String row;
+        String browser;
+        int attempt;
+        long startMillis;
+        long durationMillis;
+        Status status;
+        String failureCategory;
+        String exception;
+        String message;
+    }
+
+    /**
+     * Attaches a fresh aggregator to a suite. Called once, before any test of the suite runs.
+     */
+    public static void attach(ISuite suite) {
+        suite.setAttribute(ATTRIBUTE, new ResultAggregator());
+    }
+
+    /**
+     * @return The aggregator of the suite, or null if none was attached (the listener is not registered).
+     */
+    public static ResultAggregator of(ISuite suite) {
+        return (ResultAggregator) suite.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * Records one finished invocation. Safe to call from any test thread.
+     *
+     * @param result  The finished test result.
+     * @param status  How it ended.
+     * @param attempt Which attempt of the test item it was (1-based), as counted by the retry analyzer.
+     */
+    public void record(ITestResult result, Status status, int attempt) {
+        String key = TestKeys.key(result);
+        int open = key.indexOf('[');
+        int close = key.indexOf("]@");
+        record(key.substring(0, open), key.substring(open + 1, close), key.substring(close + 2), attempt,
+                result.getStartMillis(), result.getEndMillis(), status, result.getThrowable());
+    }
+
+    void record(String test, String row, String browser, int attempt, long startMillis, long endMillis,
+                Status status, Throwable failure) {
+        Outcome outcome = new Outcome();
+        outcome.test = test;
+        outcome.row = row;
+        outcome.browser = browser;
+        outcome.attempt = attempt;
+        outcome.startMillis = startMillis;
+        outcome.durationMillis = Math.max(0, endMillis - startMillis);
+        outcome.status = status;
+        if (failure != null && status != Status.PASSED) {
+            outcome.failureCategory = FailureClassifier.classify(failure).name();
+            outcome.exception = failure.getClass().getName();
+            outcome.message = failure.getMessage() == null ? "" : failure.getMessage().split("\n")[0];
+        }
+        outcomes.add(outcome);
+    }
+
+    /**
+     * Writes the result files of the suite. Only the first call writes; later calls do nothing.
+     *
+     * @param suiteName The suite name used in the file names (the {@code test.suite} property).
+     */
+    public void write(String suiteName) {
+        write(Paths.get("reports"), suiteName);
+    }
+
+    void write(Path directory, String suiteName) {
+        if (!written.compareAndSet(false, true)) {
+            return;
+        }
+        List<Outcome> all = new ArrayList<>(outcomes);
+        all.sort(Comparator.comparingLong(o -> o.startMillis));
+
+        Path resultsFile = directory.resolve(suiteName + "-results" + ShardSelector.suffix() + ".json");
+        Path summaryFile = directory.resolve(suiteName + "-failure-summary" + ShardSelector.suffix() + ".txt");
+        List<String> failures = all.stream()
+                .filter(o -> o.status == Status.FAILED)
+                .map(o -> "❌ " + o.test + "[" + o.row + "]@" + o.browser + " FAILED (attempt " + o.attempt + ", "
+                        + o.failureCategory + ", " + o.durationMillis + " ms): " + o.message)
+                .toList();
+        try {
+            Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+            Files.writeString(resultsFile, GSON.toJson(all));
+            if (!failures.isEmpty()) {
+                Files.write(summaryFile, failures);
+                logger.info("📄 Failure summary written: {} ({} failure(s))", summaryFile, failures.size());
+            } else {
+                Files.deleteIfExists(summaryFile);
+            }
+            logger.info("📄 {} test result(s) written to {}", all.size(), resultsFile);
+        } catch (IOException e) {
+            logger.error("❌ Failed to write suite results to {}", resultsFile, e);
+        }
+    }
+}
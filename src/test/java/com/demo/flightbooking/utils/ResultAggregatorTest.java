@@ -0,0 +1,91 @@
+package com.demo.flightbooking.utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.gson.Gson;
+
+/**
+ * Unit tests for {@link ResultAggregator}.
+ */
+public class ResultAggregatorTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 250;
+
+    @Test(groups = {"unit"})
+    public void keepsEveryConcurrentlyRecordedInvocation() throws Exception {
+        ResultAggregator aggregator = new ResultAggregator();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        aggregator.record("BookingTest.book", thread + "-" + i, "chrome", 1, i, i + 5,
+                                ResultAggregator.Status.PASSED, null);
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Path directory = Files.createTempDirectory("results");
+        aggregator.write(directory, "unit");
+        ResultAggregator.Outcome[] written = read(directory.resolve("unit-results.json"));
+
+        Assert.assertEquals(written.length, THREADS * PER_THREAD);
+        for (int i = 1; i < written.length; i++) {
+            Assert.assertTrue(written[i - 1].startMillis <= written[i].startMillis, "results are not in start order");
+        }
+        Assert.assertFalse(Files.exists(directory.resolve("unit-failure-summary.txt")), "no failures, so no summary");
+    }
+
+    @Test(groups = {"unit"})
+    public void keepsRecordedAttemptsAndSummarisesFinalFailures() throws Exception {
+        ResultAggregator aggregator = new ResultAggregator();
+        IllegalStateException timeout = new IllegalStateException("slow page\nstack detail");
+        // Two data rows with identical parameters share a row hash, but each is a first attempt
+        aggregator.record("BookingTest.book", "1a2b", "chrome", 1, 100, 200, ResultAggregator.Status.PASSED, null);
+        aggregator.record("BookingTest.book", "1a2b", "chrome", 1, 110, 250, ResultAggregator.Status.RETRIED, timeout);
+        aggregator.record("BookingTest.book", "1a2b", "chrome", 2, 300, 400, ResultAggregator.Status.FAILED, timeout);
+
+        Path directory = Files.createTempDirectory("results");
+        aggregator.write(directory, "unit");
+        aggregator.write(directory.resolve("again"), "unit");
+        ResultAggregator.Outcome[] written = read(directory.resolve("unit-results.json"));
+
+        Assert.assertEquals(written.length, 3);
+        Assert.assertEquals(written[0].attempt, 1);
+        Assert.assertEquals(written[1].attempt, 1);
+        Assert.assertEquals(written[2].attempt, 2);
+        Assert.assertEquals(written[2].durationMillis, 100);
+        Assert.assertNull(written[0].failureCategory);
+        Assert.assertEquals(written[1].message, "slow page");
+        Assert.assertEquals(Files.readAllLines(directory.resolve("unit-failure-summary.txt")),
+                List.of("❌ BookingTest.book[1a2b]@chrome FAILED (attempt 2, UNKNOWN, 100 ms): slow page"));
+        Assert.assertFalse(Files.exists(directory.resolve("again")), "only the first write may write");
+    }
+
+    private static ResultAggregator.Outcome[] read(Path file) throws Exception {
+        return new Gson().fromJson(Files.readString(file), ResultAggregator.Outcome[].class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.demo.flightbooking.utils;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the home page parsing of {@link RouteMetadataCache}.
+ */
+public class RouteMetadataCacheTest {
+
+    @Test(groups = {"unit"})
+    public void readsOptionsOfTheNamedSelectOnly() {
+        String html = """
+                <form action="reserve.php" method="post">
+                  <select name="fromPort" class="form-inline">
+                    <option value="Paris">Paris</option>
+                    <option value="Boston">Boston</option>
+                  </select>
+                  <select name="toPort" class="form-inline">
+                    <option value="Rome">Rome</option>
+                  </select>
+                </form>
+                """;
+
+        Assert.assertEquals(RouteMetadataCache.options(html, RouteMetadataCache.DEPART), List.of("Paris", "Boston"));
+        Assert.assertEquals(RouteMetadataCache.options(html, RouteMetadataCache.ARRIVE), List.of("Rome"));
+    }
+
+    @Test(groups = {"unit"})
+    public void acceptsAnyAttributeQuoting() {
+        String doubleQuoted = "<select name=\"fromPort\"><option>Paris</option></select>";
+        String singleQuoted = "<select class='x' name='fromPort'><option>Paris</option></select>";
+        String unquoted = "<SELECT NAME=fromPort><OPTION selected>Paris</OPTION></SELECT>";
+
+        for (String html : List.of(doubleQuoted, singleQuoted, unquoted)) {
+            Assert.assertEquals(RouteMetadataCache.options(html, "fromPort"), List.of("Paris"), html);
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void doesNotMatchASelectWhoseNameOnlyStartsTheSame() {
+        String html = "<select name=\"fromPortal\"><option>Nowhere</option></select>"
+                + "<select name=\"fromPort\"><option>Paris</option></select>";
+
+        Assert.assertEquals(RouteMetadataCache.options(html, "fromPort"), List.of("Paris"));
+    }
+
+    @Test(groups = {"unit"})
+    public void normalisesWhitespaceMarkupAndEntities() {
+        String html = """
+                <select name="toPort">
+                  <option value="a">
+                      Buenos   Aires
+                  </option>
+                  <option><b>New</b>&nbsp;York</option>
+                  <option>Rock &amp; Roll &quot;City&quot;</option>
+                </select>
+                """;
+
+        Assert.assertEquals(RouteMetadataCache.options(html, "toPort"),
+                List.of("Buenos Aires", "New York", "Rock & Roll \"City\""));
+    }
+
+    @Test(groups = {"unit"})
+    public void emptyOrMissingSelectHasNoOptions() {
+        Assert.assertEquals(RouteMetadataCache.options("<select name=\"fromPort\"></select>", "fromPort"), List.of());
+        Assert.assertEquals(RouteMetadataCache.options("<select name=\"fromPort\">\n  \n</select>", "fromPort"), List.of());
+        Assert.assertEquals(RouteMetadataCache.options("<p>Maintenance</p>", "fromPort"), List.of());
+    }
+}
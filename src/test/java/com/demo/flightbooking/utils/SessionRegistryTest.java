@@ -0,0 +1,63 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link SessionRegistry}, with stand-in drivers that count how often they are quit.
+ */
+public class SessionRegistryTest {
+
+    private static WebDriver counting(AtomicInteger quits) {
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("quit")) {
+                        quits.incrementAndGet();
+                    }
+                    return null;
+                });
+    }
+
+    @Test(groups = {"unit"})
+    public void reapsSessionAbandonedByALiveOwner() {
+        AtomicInteger quits = new AtomicInteger();
+        long id = SessionRegistry.register(counting(quits), "chrome", null);
+
+        // The owner thread (this one) is still alive, so only the abandonment makes the session reapable
+        SessionRegistry.reap();
+        Assert.assertEquals(quits.get(), 0, "a session in use must not be reaped");
+
+        SessionRegistry.abandon(id);
+        SessionRegistry.reap();
+        Assert.assertEquals(quits.get(), 1);
+        Assert.assertFalse(SessionRegistry.unregister(id), "a reaped session is no longer registered");
+    }
+
+    @Test(groups = {"unit"})
+    public void reapsSessionWhoseOwnerThreadEnded() throws Exception {
+        AtomicInteger quits = new AtomicInteger();
+        long[] id = new long[1];
+        Thread owner = new Thread(() -> id[0] = SessionRegistry.register(counting(quits), "chrome", null));
+        owner.start();
+        owner.join();
+
+        SessionRegistry.reap();
+        Assert.assertEquals(quits.get(), 1);
+        Assert.assertFalse(SessionRegistry.unregister(id[0]));
+    }
+
+    @Test(groups = {"unit"})
+    public void quitSessionIsNotReaped() {
+        AtomicInteger quits = new AtomicInteger();
+        long id = SessionRegistry.register(counting(quits), "chrome", null);
+        Assert.assertTrue(SessionRegistry.unregister(id));
+
+        SessionRegistry.abandon(id);
+        SessionRegistry.reap();
+        Assert.assertEquals(quits.get(), 0);
+    }
+}
@@ -0,0 +1,203 @@
+package com.demo.flightbooking.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * Combines the outputs of a sharded run (see {@link ShardSelector}) into one set of results.
+ * <p>
+ * Copy each agent's {@code reports/} folder into its own sub-folder of one input directory, then run
+ * {@code mvn -Pmerge-shards test -Dshards.input=<dir> -Dshards.output=reports/merged}. The merger
+ * walks the input recursively and writes:
+ * <ul>
+ *   <li>one Extent HTML report (plus its JSON archive) per suite and browser, rebuilt from the
+ *       shards' {@code *-extent.json} archives;</li>
+ *   <li>one {@code <suite>-failure-summary.txt} and {@code <suite>-results.json} per suite, concatenated
+ *       from the shards' files (see {@link ResultAggregator});</li>
+ *   <li>{@code metrics.prom}, the shards' {@code *.prom} metric dumps combined series by series
+ *       (counters and histograms summed, gauges at their highest shard's value).</li>
+ * </ul>
+ */
+public class ShardMerger {
+
+    private static final Logger logger = LogManager.getLogger(ShardMerger.class);
+    private static final String SHARD_SUFFIX = "-shard\\d+of\\d+";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private ShardMerger() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardMerger <output dir> <input dir> [<input dir> ...]");
+            System.exit(1);
+        }
+        Path output = Paths.get(args[0]);
+        List<Path> files = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            try (Stream<Path> walk = Files.walk(Paths.get(args[i]))) {
+                walk.filter(Files::isRegularFile)
+                        .filter(p -> !p.toAbsolutePath().startsWith(output.toAbsolutePath()))
+                        .forEach(files::add);
+            }
+        }
+        Files.createDirectories(output);
+
+        mergeExtentReports(files, output);
+        mergeFailureSummaries(files, output);
+        mergeResults(files, output);
+        mergeMetrics(files, output);
+        logger.info("🧩 Merged {} shard file(s) into {}", files.size(), output);
+    }
+
+    /**
+     * Rebuilds one report per suite and browser from all shards' JSON archives.
+     */
+    private static void mergeExtentReports(List<Path> files, Path output) throws IOException {
+        Map<String, List<Path>> groups = new TreeMap<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.endsWith("-extent.json")) {
+                String group = file.getParent().getFileName() + "/" + name.replaceAll(SHARD_SUFFIX, "").replace("-extent.json", "");
+                groups.computeIfAbsent(group, k -> new ArrayList<>()).add(file);
+            }
+        }
+        for (Map.Entry<String, List<Path>> group : groups.entrySet()) {
+            Path base = output.resolve(group.getKey());
+            Files.createDirectories(base.getParent());
+
+            ExtentSparkReporter spark = new ExtentSparkReporter(base + "-report.html");
+            spark.config().setOfflineMode(true);
+            spark.config().setDocumentTitle("Test Report: " + base.getFileName().toString().toUpperCase() + " (merged)");
+            ExtentReports reports = new ExtentReports();
+            reports.attachReporter(new JsonFormatter(base + "-extent.json"), spark);
+            for (Path archive : group.getValue()) {
+                reports.createDomainFromJsonArchive(archive.toString());
+            }
+            reports.setSystemInfo("Shards merged", String.valueOf(group.getValue().size()));
+            reports.flush();
+            logger.info("📄 {} shard report(s) merged into {}-report.html", group.getValue().size(), base);
+        }
+    }
+
+    private static void mergeFailureSummaries(List<Path> files, Path output) throws IOException {
+        Map<String, List<String>> summaries = new TreeMap<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (name.contains("-failure-summary") && name.endsWith(".txt")) {
+                summaries.computeIfAbsent(name.replaceAll(SHARD_SUFFIX, ""), k -> new ArrayList<>())
+                        .addAll(Files.readAllLines(file));
+            }
+        }
+        for (Map.Entry<String, List<String>> summary : summaries.entrySet()) {
+            Files.write(output.resolve(summary.getKey()), summary.getValue());
+            logger.info("📄 {} failure line(s) merged into {}", summary.getValue().size(), summary.getKey());
+        }
+    }
+
+    private static void mergeResults(List<Path> files, Path output) throws IOException {
+        Map<String, JsonArray> results = new TreeMap<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (!name.contains("-results") || !name.endsWith(".json")) {
+                continue;
+            }
+            JsonElement content = JsonParser.parseString(Files.readString(file));
+            if (content.isJsonArray()) { // skips other result files, e.g. the benchmark's
+                results.computeIfAbsent(name.replaceAll(SHARD_SUFFIX, ""), k -> new JsonArray())
+                        .addAll(content.getAsJsonArray());
+            }
+        }
+        for (Map.Entry<String, JsonArray> merged : results.entrySet()) {
+            Files.writeString(output.resolve(merged.getKey()), GSON.toJson(merged.getValue()));
+            logger.info("📄 {} test result(s) merged into {}", merged.getValue().size(), merged.getKey());
+        }
+    }
+
+    private static void mergeMetrics(List<Path> files, Path output) throws IOException {
+        List<List<String>> dumps = new ArrayList<>();
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(".prom")) {
+                dumps.add(Files.readAllLines(file));
+            }
+        }
+        if (dumps.isEmpty()) {
+            return;
+        }
+        Files.writeString(output.resolve("metrics.prom"), mergeMetrics(dumps));
+        logger.info("📡 {} metrics file(s) merged into {}", dumps.size(), output.resolve("metrics.prom"));
+    }
+
+    /**
+     * Combines Prometheus text dumps series by series, according to each metric's {@code # TYPE}:
+     * counters and histograms are summed across shards, gauges (a point-in-time level such as
+     * containers running) take the highest shard's value. HELP/TYPE lines are kept once per metric.
+     *
+     * @param dumps The lines of each shard's dump.
+     * @return The merged dump.
+     */
+    static String mergeMetrics(List<List<String>> dumps) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        Map<String, String> types = new LinkedHashMap<>();
+        Map<String, Map<String, Double>> samples = new LinkedHashMap<>();
+        for (List<String> dump : dumps) {
+            String metric = "";
+            for (String line : dump) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (line.startsWith("#")) {
+                    String[] parts = line.split(" ", 4);
+                    if (parts.length >= 3) {
+                        metric = parts[2];
+                        if (parts[1].equals("TYPE") && parts.length == 4) {
+                            types.put(metric, parts[3].trim());
+                        }
+                        List<String> lines = headers.computeIfAbsent(metric, k -> new ArrayList<>());
+                        if (!lines.contains(line)) {
+                            lines.add(line);
+                        }
+                    }
+                    continue;
+                }
+                int space = line.lastIndexOf(' ');
+                BinaryOperator<Double> combine = "gauge".equals(types.get(metric)) ? Double::max : Double::sum;
+                samples.computeIfAbsent(metric, k -> new LinkedHashMap<>())
+                        .merge(line.substring(0, space), Double.parseDouble(line.substring(space + 1)), combine);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        Set<String> metrics = new LinkedHashSet<>(headers.keySet());
+        metrics.addAll(samples.keySet());
+        for (String metric : metrics) {
+            headers.getOrDefault(metric, List.of()).forEach(line -> sb.append(line).append('\n'));
+            samples.getOrDefault(metric, Map.of()).forEach((series, value) -> sb.append(series).append(' ')
+                    .append(value == Math.rint(value) ? String.valueOf(value.longValue()) : String.valueOf(value))
+                    .append('\n'));
+        }
+        return sb.toString();
+    }
+}
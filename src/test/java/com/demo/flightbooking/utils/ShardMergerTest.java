@@ -0,0 +1,51 @@
+package com.demo.flightbooking.utils;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the metric merging of {@link ShardMerger}.
+ */
+public class ShardMergerTest {
+
+    @Test(groups = {"unit"})
+    public void countersAndHistogramsAreSummedGaugesTakeTheMax() {
+        List<String> first = List.of(
+                "# HELP tests_total Tests finished",
+                "# TYPE tests_total counter",
+                "tests_total{status=\"passed\"} 3",
+                "# TYPE pool_containers gauge",
+                "pool_containers{browser=\"chrome\"} 2",
+                "# TYPE step_seconds histogram",
+                "step_seconds_bucket{le=\"1.0\"} 4",
+                "step_seconds_sum 1.5",
+                "step_seconds_count 4");
+        List<String> second = List.of(
+                "# HELP tests_total Tests finished",
+                "# TYPE tests_total counter",
+                "tests_total{status=\"passed\"} 5",
+                "tests_total{status=\"failed\"} 1",
+                "# TYPE pool_containers gauge",
+                "pool_containers{browser=\"chrome\"} 1",
+                "# TYPE step_seconds histogram",
+                "step_seconds_bucket{le=\"1.0\"} 2",
+                "step_seconds_sum 0.25",
+                "step_seconds_count 2");
+
+        String merged = ShardMerger.mergeMetrics(List.of(first, second));
+
+        Assert.assertEquals(merged, String.join("\n",
+                "# HELP tests_total Tests finished",
+                "# TYPE tests_total counter",
+                "tests_total{status=\"passed\"} 8",
+                "tests_total{status=\"failed\"} 1",
+                "# TYPE pool_containers gauge",
+                "pool_containers{browser=\"chrome\"} 2",
+                "# TYPE step_seconds histogram",
+                "step_seconds_bucket{le=\"1.0\"} 6",
+                "step_seconds_sum 1.75",
+                "step_seconds_count 6") + "\n");
+    }
+}
@@ -0,0 +1,122 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
+
+/**
+ * Splits a run into N deterministic shards, selected with {@code -Dshard=i/N} (1-based, e.g. 2/4).
+ * <p>
+ * Every test item (test method, data row and browser, see {@link TestKeys}) is assigned to exactly one
+ * shard by a CRC32 of its key, so the same item always lands on the same shard, every item runs on
+ * exactly one shard and no coordination between agents is needed. Without the property nothing is filtered.
+ * Shard outputs are tagged with {@link #suffix()} and can be combined with {@link ShardMerger}.
+ */
+public final class ShardSelector {
+
+    private static final Logger logger = LogManager.getLogger(ShardSelector.class);
+    private static final Pattern SHARD = Pattern.compile("\\s*(\\d+)\\s*/\\s*(\\d+)\\s*");
+
+    private static final int INDEX;
+    private static final int COUNT;
+
+    static {
+        String value = ConfigReader.getProperty("shard");
+        if (value == null || value.isBlank()) {
+            INDEX = 1;
+            COUNT = 1;
+        } else {
+            Matcher m = SHARD.matcher(value);
+            if (!m.matches()) {
+                throw new IllegalStateException("shard must look like i/N (e.g. 2/4) but was '" + value + "'");
+            }
+            INDEX = Integer.parseInt(m.group(1));
+            COUNT = Integer.parseInt(m.group(2));
+            if (COUNT < 1 || INDEX < 1 || INDEX > COUNT) {
+                throw new IllegalStateException("shard index must be between 1 and N but was '" + value + "'");
+            }
+            logger.info("🧩 Running shard {} of {}", INDEX, COUNT);
+        }
+    }
+
+    private ShardSelector() {
+    }
+
+    /**
+     * @return true if this run is one shard of several.
+     */
+    public static boolean isSharded() {
+        return COUNT > 1;
+    }
+
+    /**
+     * @return A file name suffix such as "-shard2of4", or "" when not sharded.
+     */
+    public static String suffix() {
+        return isSharded() ? "-shard" + INDEX + "of" + COUNT : "";
+    }
+
+    /**
+     * @return "2/4"-style label for reports, or "1/1" when not sharded.
+     */
+    public static String label() {
+        return INDEX + "/" + COUNT;
+    }
+
+    /**
+     * Keeps only the data provider rows that belong to this shard.
+     *
+     * @param rows    The rows produced by the data provider.
+     * @param context The test context, used to read the {@code browser} parameter.
+     * @param method  The test method the rows are for.
+     * @return The rows this shard should execute.
+     */
+    public static Object[][] filter(Object[][] rows, ITestContext context, Method method) {
+        if (!isSharded()) {
+            return rows;
+        }
+        String browser = TestKeys.browser(context);
+        String test = TestKeys.testName(method);
+        List<Object[]> kept = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (owns(TestKeys.key(test, row, browser))) {
+                kept.add(row);
+            }
+        }
+        logger.info("🧩 Shard {}: {} of {} row(s) of {} on {}", label(), kept.size(), rows.length, test, browser);
+        return kept.toArray(Object[][]::new);
+    }
+
+    /**
+     * Decides by position whether a row of generated data belongs to this shard, for lazy data providers
+     * whose rows cannot all be hashed up front.
+     *
+     * @param index The row's position, from 0.
+     * @return true if this shard should execute the row.
+     */
+    public static boolean ownsRow(long index) {
+        return ownsRow(index, INDEX, COUNT);
+    }
+
+    static boolean ownsRow(long index, int shard, int count) {
+        return index % count == shard - 1;
+    }
+
+    private static boolean owns(String key) {
+        return owns(key, INDEX, COUNT);
+    }
+
+    static boolean owns(String key, int shard, int count) {
+        CRC32 crc = new CRC32();
+        crc.update(key.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue() % count == shard - 1;
+    }
+}
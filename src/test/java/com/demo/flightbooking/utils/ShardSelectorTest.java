@@ -0,0 +1,54 @@
+package com.demo.flightbooking.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link ShardSelector}.
+ */
+public class ShardSelectorTest {
+
+    @Test(groups = {"unit"})
+    public void rowsAreSplitIntoDisjointCompleteShards() {
+        for (int count = 1; count <= 5; count++) {
+            int[] perShard = new int[count];
+            for (long row = 0; row < 1000; row++) {
+                int owners = 0;
+                for (int shard = 1; shard <= count; shard++) {
+                    if (ShardSelector.ownsRow(row, shard, count)) {
+                        owners++;
+                        perShard[shard - 1]++;
+                    }
+                }
+                Assert.assertEquals(owners, 1, "row " + row + " of " + count + " shard(s)");
+            }
+            for (int rows : perShard) {
+                // By position, the shards differ by at most one row
+                Assert.assertTrue(rows == 1000 / count || rows == 1000 / count + 1, "unbalanced shards of " + count);
+            }
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void keysAreSplitIntoDisjointCompleteShards() {
+        int count = 4;
+        for (int i = 0; i < 500; i++) {
+            String key = "BookingTest.bookFlight[" + i + "]@" + (i % 2 == 0 ? "chrome" : "firefox");
+            int owners = 0;
+            for (int shard = 1; shard <= count; shard++) {
+                if (ShardSelector.owns(key, shard, count)) {
+                    owners++;
+                }
+            }
+            Assert.assertEquals(owners, 1, key);
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void unshardedRunOwnsEveryRow() {
+        Assert.assertFalse(ShardSelector.isSharded());
+        for (long row = 0; row < 10; row++) {
+            Assert.assertTrue(ShardSelector.ownsRow(row));
+        }
+    }
+}
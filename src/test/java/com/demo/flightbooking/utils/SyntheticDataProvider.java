@@ -0,0 +1,93 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
+import org.testng.annotations.DataProvider;
+
+import com.demo.flightbooking.model.Passenger;
+
+/**
+ * Provides {@code data.synthetic.count} generated passengers (see {@link SyntheticPassengerGenerator}),
+ * lazily: TestNG pulls one row at a time from the iterator, so no data is held in memory or written to disk.
+ * <p>
+ * Routes are the cached route options (see {@link RouteMetadataCache}), or those of the JSON data when the
+ * route options are unknown; card types come from {@code data.validation.card.types}. The rows are valid by
+ * construction, so they skip pre-flight validation and the flake database; when the run is sharded, each
+ * shard takes every N-th row.
+ */
+public class SyntheticDataProvider {
+
+    private static final Logger logger = LogManager.getLogger(SyntheticDataProvider.class);
+
+    private SyntheticDataProvider() {
+    }
+
+    /**
+     * TestNG DataProvider streaming generated passengers.
+     *
+     * @param context The test context, injected by TestNG.
+     * @param method  The test method being fed, injected by TestNG.
+     * @return A lazy iterator of rows, each containing a single Passenger object.
+     */
+    @DataProvider(name = "syntheticPassengerData")
+    public static Iterator<Object[]> getSyntheticPassengerData(ITestContext context, Method method) throws Exception {
+        long count = ConfigReader.config().synthetic().count();
+        logger.info("🏭 Synthetic data: {} passenger(s) for {} on {}, shard {}",
+                count, TestKeys.testName(method), TestKeys.browser(context), ShardSelector.label());
+        Iterator<Passenger> passengers = generator().iterator(0, count);
+        return new Iterator<>() {
+            private long index = -1;
+            private Passenger next = advance();
+
+            private Passenger advance() {
+                while (passengers.hasNext()) {
+                    Passenger passenger = passengers.next();
+                    if (ShardSelector.ownsRow(++index)) {
+                        return passenger;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Object[] next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Object[] row = {next};
+                next = advance();
+                return row;
+            }
+        };
+    }
+
+    /**
+     * @return A generator configured from config.properties and the known route options.
+     */
+    public static SyntheticPassengerGenerator generator() throws Exception {
+        List<Passenger> samples = Arrays.stream(JsonDataProvider.getPassengerData()).map(row -> (Passenger) row[0]).toList();
+        List<String> origins = RouteMetadataCache.get().map(RouteMetadataCache.RouteMetadata::departCities)
+                .orElseGet(() -> List.copyOf(new LinkedHashSet<>(samples.stream().map(Passenger::origin).toList())));
+        List<String> destinations = RouteMetadataCache.get().map(RouteMetadataCache.RouteMetadata::arriveCities)
+                .orElseGet(() -> List.copyOf(new LinkedHashSet<>(samples.stream().map(Passenger::destination).toList())));
+        List<String> configured = ConfigReader.config().dataValidation().cardTypes();
+        List<String> cardTypes = configured.isEmpty()
+                ? List.copyOf(new LinkedHashSet<>(samples.stream().map(Passenger::cardType).toList()))
+                : configured;
+        FrameworkConfig.Synthetic config = ConfigReader.config().synthetic();
+        return new SyntheticPassengerGenerator(config.seed(), config.baseYear(), origins, destinations, cardTypes);
+    }
+}
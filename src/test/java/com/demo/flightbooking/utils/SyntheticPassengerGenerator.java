@@ -0,0 +1,214 @@
+package com.demo.flightbooking.utils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import com.demo.flightbooking.model.Passenger;
+
+/**
+ * Generates realistic, valid {@link Passenger} records on demand, for volume and load runs that need far more
+ * rows than the data files hold.
+ * <p>
+ * Record {@code i} is a pure function of the seed and {@code i} (a SplitMix64 sequence started from a hash of both),
+ * so nothing is materialised, any range can be produced independently, and a parallel {@link #stream(long)}
+ * splits across threads while yielding exactly the same records as a sequential one. Card numbers pass the
+ * Luhn check and use the issuer prefix and length of their card type; expiry dates lie one to five years
+ * after the given base year, which is fixed rather than the current year so that a seed gives the same records
+ * in every year; city and state always match.
+ */
+public class SyntheticPassengerGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final String[] FEMALE_NAMES = {"Emily", "Maria", "Olivia", "Sophia", "Ava", "Isabella", "Mia",
+            "Charlotte", "Amelia", "Harper", "Evelyn", "Abigail", "Ella", "Grace", "Chloe", "Nora", "Lily", "Zoe"};
+    private static final String[] MALE_NAMES = {"Peter", "James", "Liam", "Noah", "Oliver", "Elijah", "Lucas",
+            "Mason", "Logan", "Ethan", "Aiden", "Jacob", "Daniel", "Henry", "Samuel", "David", "Leo", "Owen"};
+    private static final String[] LAST_NAMES = {"Johnson", "Jones", "Garcia", "Smith", "Brown", "Miller", "Davis",
+            "Wilson", "Anderson", "Taylor", "Thomas", "Moore", "Martin", "Lee", "Clark", "Lewis", "Walker", "Hall",
+            "Young", "King", "Wright", "Lopez", "Hill", "Scott", "Green", "Adams", "Baker", "Nelson", "Carter"};
+    private static final String[] STREETS = {"Main St", "Oak Avenue", "Pine St", "Maple Drive", "Cedar Lane",
+            "Elm St", "Washington Blvd", "Lake Road", "Hillside Ave", "Park Place", "River Road", "Sunset Blvd"};
+    // City and state pairs, kept together so addresses are consistent
+    private static final String[][] CITIES = {{"Boston", "MA"}, {"Philadelphia", "PA"}, {"Portland", "OR"},
+            {"San Diego", "CA"}, {"Austin", "TX"}, {"Denver", "CO"}, {"Chicago", "IL"}, {"Seattle", "WA"},
+            {"Atlanta", "GA"}, {"Phoenix", "AZ"}, {"Columbus", "OH"}, {"Nashville", "TN"}};
+
+    private final long seed;
+    private final List<String> origins;
+    private final List<String> destinations;
+    private final List<String> cardTypes;
+    private final int baseYear;
+
+    /**
+     * @param seed         The seed; the same seed and base year always give the same records.
+     * @param baseYear     The year card expiry dates are counted from.
+     * @param origins      Departure cities to draw from.
+     * @param destinations Arrival cities to draw from.
+     * @param cardTypes    Card types to draw from, e.g. "Visa", "American Express", "Diner's Club".
+     */
+    public SyntheticPassengerGenerator(long seed, int baseYear, List<String> origins, List<String> destinations,
+                                       List<String> cardTypes) {
+        if (origins.isEmpty() || destinations.isEmpty() || cardTypes.isEmpty()) {
+            throw new IllegalArgumentException("Origins, destinations and card types must not be empty");
+        }
+        this.seed = seed;
+        this.baseYear = baseYear;
+        this.origins = List.copyOf(origins);
+        this.destinations = List.copyOf(destinations);
+        this.cardTypes = List.copyOf(cardTypes);
+    }
+
+    /**
+     * Returns record {@code index}.
+     *
+     * @param index The record number, from 0.
+     * @return The passenger.
+     */
+    public Passenger passenger(long index) {
+        Draw draw = new Draw(seed + index * GOLDEN_GAMMA);
+        boolean female = draw.next(2) == 0;
+        String firstName = female ? draw.pick(FEMALE_NAMES) : draw.pick(MALE_NAMES);
+        String lastName = draw.pick(LAST_NAMES);
+        String[] city = CITIES[draw.next(CITIES.length)];
+        String origin = origins.get(draw.next(origins.size()));
+        String destination = destinations.get(draw.next(destinations.size()));
+        if (destination.equals(origin) && destinations.size() > 1) {
+            destination = destinations.get((destinations.indexOf(destination) + 1) % destinations.size());
+        }
+        String cardType = cardTypes.get(draw.next(cardTypes.size()));
+        int month = 1 + draw.next(12);
+
+        return new Passenger(
+                origin,
+                destination,
+                firstName,
+                lastName,
+                (1 + draw.next(9999)) + " " + draw.pick(STREETS),
+                city[0],
+                city[1],
+                String.valueOf(10000 + draw.next(90000)),
+                cardType,
+                cardNumber(cardType, draw),
+                month < 10 ? "0" + month : String.valueOf(month),
+                String.valueOf(baseYear + 1 + draw.next(5)),
+                firstName + " " + lastName,
+                18 + draw.next(63),
+                female ? "Female" : "Male");
+    }
+
+    /**
+     * @param count How many records.
+     * @return Records 0 to {@code count - 1}, generated lazily; may be made parallel.
+     */
+    public Stream<Passenger> stream(long count) {
+        return stream(0, count);
+    }
+
+    /**
+     * @param from The first record number (inclusive).
+     * @param to   The last record number (exclusive).
+     * @return The records in the range, generated lazily; ranges can be handed to different threads.
+     */
+    public Stream<Passenger> stream(long from, long to) {
+        return LongStream.range(from, to).mapToObj(this::passenger);
+    }
+
+    /**
+     * @param from The first record number (inclusive).
+     * @param to   The last record number (exclusive).
+     * @return An iterator over the records in the range, generated as they are requested.
+     */
+    public Iterator<Passenger> iterator(long from, long to) {
+        return new Iterator<>() {
+            private long next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < to;
+            }
+
+            @Override
+            public Passenger next() {
+                if (next >= to) {
+                    throw new NoSuchElementException();
+                }
+                return passenger(next++);
+            }
+        };
+    }
+
+    /**
+     * Builds a card number with the issuer prefix and length of the card type and a valid Luhn check digit.
+     */
+    private static String cardNumber(String cardType, Draw draw) {
+        String type = cardType.toLowerCase();
+        String prefix;
+        int length;
+        if (type.contains("visa")) {
+            prefix = "4";
+            length = 16;
+        } else if (type.contains("american")) {
+            prefix = draw.next(2) == 0 ? "34" : "37";
+            length = 15;
+        } else if (type.contains("diner")) {
+            prefix = "36";
+            length = 14;
+        } else {
+            prefix = "5" + (1 + draw.next(5));
+            length = 16;
+        }
+
+        char[] digits = new char[length];
+        for (int i = 0; i < prefix.length(); i++) {
+            digits[i] = prefix.charAt(i);
+        }
+        for (int i = prefix.length(); i < length - 1; i++) {
+            digits[i] = (char) ('0' + draw.next(10));
+        }
+        // Luhn: double every second digit from the right, counting the check digit as the first
+        int sum = 0;
+        for (int i = length - 2, position = 0; i >= 0; i--, position++) {
+            int d = digits[i] - '0';
+            if (position % 2 == 0) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+        }
+        digits[length - 1] = (char) ('0' + (10 - sum % 10) % 10);
+        return new String(digits);
+    }
+
+    /**
+     * A SplitMix64 sequence for one record.
+     */
+    private static final class Draw {
+        private long state;
+
+        Draw(long start) {
+            // Scrambled, so neighbouring records do not get overlapping sequences
+            this.state = mix(start);
+        }
+
+        /** @return A uniformly distributed int in [0, bound). */
+        int next(int bound) {
+            return (int) ((mix(state += GOLDEN_GAMMA) >>> 33) % bound);
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+
+        String pick(String[] values) {
+            return values[next(values.length)];
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.annotations.Test;
+
+import com.demo.flightbooking.model.Passenger;
+
+/**
+ * Unit tests for {@link SyntheticPassengerGenerator} and the {@link SyntheticDataProvider} built on it.
+ */
+public class SyntheticPassengerGeneratorTest {
+
+    private static final int RECORDS = 2000;
+
+    private static final int BASE_YEAR = 2026;
+
+    private static SyntheticPassengerGenerator generator(long seed) {
+        return generator(seed, BASE_YEAR);
+    }
+
+    private static SyntheticPassengerGenerator generator(long seed, int baseYear) {
+        return new SyntheticPassengerGenerator(seed, baseYear, List.of("Paris", "Boston"), List.of("Rome", "London"),
+                List.of("Visa", "American Express", "Diner's Club", "MasterCard"));
+    }
+
+    @Test(groups = {"unit"})
+    public void cardNumbersPassLuhnAndMatchTheirIssuer() {
+        generator(42).stream(RECORDS).forEach(p -> {
+            String number = p.cardNumber();
+            Assert.assertTrue(number.chars().allMatch(Character::isDigit), number);
+            Assert.assertTrue(luhnValid(number), p.cardType() + " " + number + " fails the Luhn check");
+            switch (p.cardType()) {
+                case "Visa" -> {
+                    Assert.assertEquals(number.length(), 16, number);
+                    Assert.assertTrue(number.startsWith("4"), number);
+                }
+                case "American Express" -> {
+                    Assert.assertEquals(number.length(), 15, number);
+                    Assert.assertTrue(number.startsWith("34") || number.startsWith("37"), number);
+                }
+                case "Diner's Club" -> {
+                    Assert.assertEquals(number.length(), 14, number);
+                    Assert.assertTrue(number.startsWith("36"), number);
+                }
+                default -> {
+                    Assert.assertEquals(number.length(), 16, number);
+                    Assert.assertTrue(number.matches("5[1-5]\\d+"), number);
+                }
+            }
+        });
+    }
+
+    @Test(groups = {"unit"})
+    public void everyCardTypeIsDrawn() {
+        Assert.assertEquals(generator(42).stream(RECORDS).map(Passenger::cardType).distinct().count(), 4);
+    }
+
+    @Test(groups = {"unit"})
+    public void sameRecordsSequentialParallelAndRanged() {
+        SyntheticPassengerGenerator generator = generator(7);
+        List<Passenger> sequential = generator.stream(RECORDS).toList();
+        List<Passenger> parallel = generator.stream(RECORDS).parallel().toList();
+        List<Passenger> ranged = new ArrayList<>(generator.stream(0, 500).toList());
+        ranged.addAll(generator.stream(500, 1300).parallel().toList());
+        generator.iterator(1300, RECORDS).forEachRemaining(ranged::add);
+
+        Assert.assertEquals(parallel, sequential);
+        Assert.assertEquals(ranged, sequential);
+        for (int i : new int[]{0, 1, 999, RECORDS - 1}) {
+            Assert.assertEquals(generator.passenger(i), sequential.get(i));
+            Assert.assertEquals(generator(7).passenger(i), sequential.get(i), "a new generator with the same seed must agree");
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void seedChangesTheRecords() {
+        Assert.assertNotEquals(generator(8).stream(100).toList(), generator(7).stream(100).toList());
+    }
+
+    @Test(groups = {"unit"})
+    public void expiryFollowsTheBaseYearOnly() {
+        generator(5).stream(RECORDS).forEach(p -> {
+            int year = Integer.parseInt(p.year());
+            Assert.assertTrue(year > BASE_YEAR && year <= BASE_YEAR + 5, "year " + year);
+        });
+        // Apart from the expiry year, the base year does not change the records
+        Assert.assertEquals(generator(5, 2030).passenger(17).year(),
+                String.valueOf(Integer.parseInt(generator(5).passenger(17).year()) + 4));
+        Assert.assertEquals(generator(5, 2030).passenger(17).cardNumber(), generator(5).passenger(17).cardNumber());
+    }
+
+    @Test(groups = {"unit"})
+    public void recordsAreConsistent() {
+        generator(3).stream(RECORDS).forEach(p -> {
+            Assert.assertNotEquals(p.destination(), p.origin());
+            Assert.assertEquals(p.cardName(), p.firstName() + " " + p.lastName());
+            Assert.assertTrue(p.age() >= 18 && p.age() <= 80, "age " + p.age());
+        });
+    }
+
+    @Test(groups = {"unit"})
+    public void providerStreamsConfiguredCountOfValidRows(ITestContext context, Method method) throws Exception {
+        int count = ConfigReader.config().synthetic().count();
+        Iterator<Passenger> expected = SyntheticDataProvider.generator().iterator(0, count);
+
+        int rows = 0;
+        for (Iterator<Object[]> it = SyntheticDataProvider.getSyntheticPassengerData(context, method); it.hasNext(); rows++) {
+            Object[] row = it.next();
+            Assert.assertEquals(row.length, 1);
+            Passenger passenger = (Passenger) row[0];
+            Assert.assertEquals(passenger, expected.next());
+            Assert.assertEquals(DataValidator.validate(passenger), List.of(), "row " + rows + " is invalid");
+        }
+        Assert.assertEquals(rows, count, "an unsharded run gets every row");
+    }
+
+    /** Luhn check, from the rightmost digit: every second digit is doubled. */
+    private static boolean luhnValid(String number) {
+        int sum = 0;
+        for (int i = number.length() - 1, position = 0; i >= 0; i--, position++) {
+            int d = number.charAt(i) - '0';
+            if (position % 2 == 1) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+        }
+        return sum % 10 == 0;
+    }
+}
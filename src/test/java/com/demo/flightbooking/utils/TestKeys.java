@@ -0,0 +1,51 @@
+package com.demo.flightbooking.utils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+
+/**
+ * Builds the stable identity of one test item, {@code Class.method[rowHash]@browser}, shared by
+ * the flake database, sharding and the results aggregator. The row hash identifies a data row by
+ * its content, so reordering the data file does not change which item is which.
+ */
+public final class TestKeys {
+
+    private TestKeys() {
+    }
+
+    /**
+     * @param test    The test name as returned by {@link #testName(Method)}.
+     * @param row     The data provider row (may be null or empty for tests without data).
+     * @param browser The browser parameter of the {@code <test>}.
+     * @return The item key.
+     */
+    public static String key(String test, Object[] row, String browser) {
+        return test + "[" + rowId(row) + "]@" + (browser == null ? "default" : browser.toLowerCase());
+    }
+
+    /**
+     * @return The key of a finished (or running) test invocation.
+     */
+    public static String key(ITestResult result) {
+        return key(testName(result.getMethod().getConstructorOrMethod().getMethod()),
+                result.getParameters(), browser(result.getTestContext()));
+    }
+
+    /**
+     * @return A short content hash of a data row, or "-" for tests without data.
+     */
+    public static String rowId(Object[] row) {
+        return row == null || row.length == 0 ? "-" : Integer.toHexString(Arrays.deepToString(row).hashCode());
+    }
+
+    public static String testName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    public static String browser(ITestContext context) {
+        return context.getCurrentXmlTest().getParameter("browser");
+    }
+}
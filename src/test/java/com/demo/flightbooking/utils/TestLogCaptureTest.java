@@ -0,0 +1,75 @@
+package com.demo.flightbooking.utils;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link TestLogCapture}.
+ */
+public class TestLogCaptureTest {
+
+    private static final Logger logger = LogManager.getLogger(TestLogCaptureTest.class);
+    private static final String FRAMEWORK_LOGGER = "com.demo.flightbooking";
+
+    private Level configuredLevel;
+
+    @BeforeClass(alwaysRun = true)
+    public void install() {
+        configuredLevel = LogManager.getLogger(FRAMEWORK_LOGGER).getLevel();
+        TestLogCapture.install();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreLevel() {
+        Configurator.setLevel(FRAMEWORK_LOGGER, configuredLevel);
+    }
+
+    @Test(groups = {"unit"})
+    public void frameworkLoggersDefaultToInfo() {
+        if (System.getProperty("log.level.framework") == null) {
+            Assert.assertEquals(configuredLevel, Level.INFO, "DEBUG events must be off unless -Dlog.level.framework=debug");
+        }
+    }
+
+    @Test(groups = {"unit"})
+    public void capturesDebugTrailOfTest() {
+        Configurator.setLevel(FRAMEWORK_LOGGER, Level.DEBUG);
+        TestLogCapture.begin("capturesDebugTrailOfTest");
+        logger.debug("step one");
+        logger.info("step two");
+        String captured = TestLogCapture.end(true);
+
+        Assert.assertNotNull(captured);
+        Assert.assertTrue(captured.contains("step one") && captured.contains("step two"), captured);
+        Assert.assertFalse(captured.contains("End of captured log"), captured);
+    }
+
+    @Test(groups = {"unit"})
+    public void endReturnsPromptlyWhenFrameworkLevelIsInfo() {
+        Configurator.setLevel(FRAMEWORK_LOGGER, Level.INFO);
+        TestLogCapture.begin("endReturnsPromptlyWhenFrameworkLevelIsInfo");
+        logger.debug("not captured");
+        logger.info("captured");
+        long start = System.nanoTime();
+        String captured = TestLogCapture.end(true);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        Assert.assertNotNull(captured);
+        Assert.assertTrue(captured.contains("captured") && !captured.contains("not captured"), captured);
+        // The end marker must still reach the appender, otherwise end() blocks for the full drain timeout
+        Assert.assertTrue(elapsedMs < 1000, "end() took " + elapsedMs + " ms");
+    }
+
+    @Test(groups = {"unit"})
+    public void discardsCaptureOfPassingTest() {
+        TestLogCapture.begin("discardsCaptureOfPassingTest");
+        logger.info("irrelevant");
+        Assert.assertNull(TestLogCapture.end(false));
+    }
+}